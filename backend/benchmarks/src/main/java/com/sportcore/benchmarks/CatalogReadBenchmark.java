@@ -0,0 +1,55 @@
+package com.sportcore.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import com.sportcore.dto.ProductDto;
+
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+public class CatalogReadBenchmark {
+
+    @Benchmark
+    public ProductDto getProductById(CatalogState state) {
+        return state.productService.getProductById(state.randomProductId(ThreadLocalRandom.current().nextLong()));
+    }
+
+    @Benchmark
+    public List<ProductDto> getRandomProducts(CatalogState state) {
+        return state.productService.getRandomProducts(12);
+    }
+
+    @Benchmark
+    public List<ProductDto> searchProductsByName(CatalogState state) {
+        // Selective term: matches a single synthetic product id
+        long id = state.randomProductId(ThreadLocalRandom.current().nextLong());
+        return state.productService.searchProductsByName(Long.toString(id));
+    }
+
+    @Benchmark
+    public Page<ProductDto> searchProductsRanked(CatalogState state) {
+        return state.productService.searchProducts("whey vanil", PageRequest.of(0, 20));
+    }
+
+    @Benchmark
+    public Page<ProductDto> getProductsPage(CatalogState state) {
+        int pages = state.catalogSize / 20;
+        int page = ThreadLocalRandom.current().nextInt(Math.min(pages, 50));
+        return state.productService.getAllProducts(PageRequest.of(page, 20, Sort.by("price")));
+    }
+}
@@ -0,0 +1,117 @@
+package com.sportcore.benchmarks;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.sportcore.SportCoreApplication;
+import com.sportcore.search.ProductFacetIndex;
+import com.sportcore.search.ProductSearchIndex;
+import com.sportcore.search.ProductSuggester;
+import com.sportcore.service.ProductSampler;
+import com.sportcore.service.ProductService;
+
+@State(Scope.Benchmark)
+public class CatalogState {
+
+    private static final int CATEGORY_COUNT = 20;
+    private static final int BATCH_SIZE = 5_000;
+
+    @Param({"10000", "100000", "1000000"})
+    public int catalogSize;
+
+    ConfigurableApplicationContext context;
+
+    ProductService productService;
+
+    long firstProductId;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(SportCoreApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.main.banner-mode=off",
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.sql.init.mode=never",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.sportcore=WARN",
+                        "--logging.level.org.springframework.web=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+                        // Measure the service and repository path, not the catalog cache
+                        "--app.cache.catalog.maximum-size=0");
+        seed(context.getBean(JdbcTemplate.class));
+
+        context.getBean(ProductSearchIndex.class).rebuild();
+        context.getBean(ProductSuggester.class).rebuild();
+        context.getBean(ProductSampler.class).invalidate();
+        context.getBean(ProductFacetIndex.class).invalidate();
+        productService = context.getBean(ProductService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    long randomProductId(long random) {
+        return firstProductId + Math.floorMod(random, catalogSize);
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        long firstCategoryId = maxId(jdbcTemplate, "categories") + 1;
+        List<Object[]> categories = new ArrayList<>();
+        for (int i = 0; i < CATEGORY_COUNT; i++) {
+            categories.add(new Object[] {firstCategoryId + i, "Benchmark Category " + i, "Synthetic category " + i, now, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO categories (id, name, description, created_at, updated_at) VALUES (?, ?, ?, ?, ?)",
+                categories);
+
+        firstProductId = maxId(jdbcTemplate, "products") + 1;
+        long firstImageId = maxId(jdbcTemplate, "product_images") + 1;
+        List<Object[]> products = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> images = new ArrayList<>(BATCH_SIZE);
+        for (long n = 0; n < catalogSize; n++) {
+            long id = firstProductId + n;
+            products.add(new Object[] {id, SyntheticProducts.name(id), SyntheticProducts.description(id),
+                    SyntheticProducts.price(id), (int) (id % 100),
+                    SyntheticProducts.BRANDS[(int) (id % SyntheticProducts.BRANDS.length)],
+                    SyntheticProducts.FLAVORS[(int) (id / 7 % SyntheticProducts.FLAVORS.length)],
+                    firstCategoryId + id % CATEGORY_COUNT, now, now});
+            images.add(new Object[] {firstImageId + n, id, "https://cdn.sportcore.test/products/" + id + ".jpg",
+                    SyntheticProducts.name(id), true, now, now});
+            if (products.size() == BATCH_SIZE) {
+                flush(jdbcTemplate, products, images);
+            }
+        }
+        flush(jdbcTemplate, products, images);
+    }
+
+    private void flush(JdbcTemplate jdbcTemplate, List<Object[]> products, List<Object[]> images) {
+        jdbcTemplate.batchUpdate("INSERT INTO products (id, name, description, price, stock, brand, flavor, category_id, "
+                + "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", products);
+        jdbcTemplate.batchUpdate("INSERT INTO product_images (id, product_id, url, alt_text, is_primary, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?)", images);
+        products.clear();
+        images.clear();
+    }
+
+    private static long maxId(JdbcTemplate jdbcTemplate, String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        return max != null ? max : 0;
+    }
+}
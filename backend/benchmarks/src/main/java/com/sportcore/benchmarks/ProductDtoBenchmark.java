@@ -0,0 +1,75 @@
+package com.sportcore.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sportcore.dto.ProductDto;
+import com.sportcore.entity.Product;
+import com.sportcore.service.ProductMapper;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductDtoBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    @Param({"1", "4"})
+    public int imagesPerProduct;
+
+    private final ProductMapper productMapper = new ProductMapper();
+
+    private ObjectMapper objectMapper;
+
+    private List<Product> products;
+
+    private PageImpl<ProductDto> page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Same defaults as the ObjectMapper Spring Boot configures for the controllers
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        products = SyntheticProducts.inMemory(pageSize, imagesPerProduct);
+        page = new PageImpl<>(convert(), PageRequest.of(0, pageSize), 100_000);
+    }
+
+    @Benchmark
+    public List<ProductDto> convert() {
+        return products.stream()
+                .map(productMapper::toDto)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] convertAndSerializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(new PageImpl<>(convert(), PageRequest.of(0, pageSize), 100_000));
+    }
+}
@@ -0,0 +1,51 @@
+package com.sportcore.benchmarks;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.sportcore.entity.Category;
+import com.sportcore.entity.Product;
+import com.sportcore.entity.ProductImage;
+
+final class SyntheticProducts {
+
+    static final String[] BRANDS = {"SportCore", "Optimum", "MuscleTech", "Dymatize", "BSN", "Cellucor", "Myprotein", "Isopure"};
+    static final String[] FLAVORS = {"Vanilla", "Chocolate", "Strawberry", "Cookies", "Banana", "Unflavored", "Mango", "Coffee"};
+    static final String[] TYPES = {"Whey Protein", "Casein", "Creatine", "Pre-Workout", "BCAA", "Glutamine", "Multivitamin", "Fat Burner"};
+
+    private SyntheticProducts() {}
+
+    static String name(long id) {
+        return TYPES[(int) (id % TYPES.length)] + " " + FLAVORS[(int) (id / 7 % FLAVORS.length)] + " " + id;
+    }
+
+    static String description(long id) {
+        return "Synthetic benchmark product " + id + " with " + (20 + id % 10)
+                + "g protein per serving. Premium formula for recovery, strength and endurance athletes.";
+    }
+
+    static BigDecimal price(long id) {
+        return BigDecimal.valueOf(999 + (id * 7919) % 12000, 2);
+    }
+
+    static List<Product> inMemory(int count, int imagesPerProduct) {
+        Category category = new Category("Proteins", "Protein supplements");
+        category.setId(1L);
+        List<Product> products = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            Product product = new Product(name(id), description(id), price(id), (int) (id % 100), category);
+            product.setId(id);
+            product.setBrand(BRANDS[(int) (id % BRANDS.length)]);
+            product.setFlavor(FLAVORS[(int) (id / 7 % FLAVORS.length)]);
+            for (int i = 0; i < imagesPerProduct; i++) {
+                ProductImage image = new ProductImage("https://cdn.sportcore.test/products/" + id + "/" + i + ".jpg",
+                        product.getName(), i == 0, product);
+                image.setId(id * 10 + i);
+                product.getImages().add(image);
+            }
+            products.add(product);
+        }
+        return products;
+    }
+}
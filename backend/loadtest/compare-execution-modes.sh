@@ -0,0 +1,46 @@
+#!/usr/bin/env bash
+# Runs the same workload against the backend with platform and with virtual threads under simulated DB latency,
+# then prints the comparison. Virtual mode needs a Java 21 JDK on the PATH.
+set -euo pipefail
+
+DB_LATENCY=${DB_LATENCY:-20ms}
+PRODUCTS=${PRODUCTS:-20000}
+USERS=${USERS:-400}
+RATE=${RATE:-1500}
+DURATION=${DURATION:-60}
+WARMUP=${WARMUP:-20}
+TIMEOUT=${TIMEOUT:-10}
+PORT=${PORT:-8082}
+
+cd "$(dirname "$0")"
+mvn -q -B package
+(cd .. && mvn -q -B -Pjava21 -DskipTests package)
+JAR=$(ls ../target/sportcore-backend-*-exec.jar)
+
+run_mode() {
+  local mode=$1 virtual=$2
+  java -jar "$JAR" \
+    --server.port="$PORT" \
+    --spring.profiles.active=prod \
+    --spring.threads.virtual.enabled="$virtual" \
+    --server.tomcat.threads.max=200 \
+    --spring.datasource.hikari.maximum-pool-size=400 \
+    --spring.datasource.hikari.minimum-idle=400 \
+    --app.loadtest.generate=true \
+    --app.loadtest.products="$PRODUCTS" \
+    --app.loadtest.db-latency="$DB_LATENCY" \
+    --app.cache.catalog.maximum-size=0 > "app-$mode.log" 2>&1 &
+  local pid=$!
+  until grep -q "Generated .* products" "app-$mode.log"; do
+    kill -0 "$pid" || { tail -50 "app-$mode.log"; exit 1; }
+    sleep 1
+  done
+  java -jar target/loadtest.jar --base-url="http://localhost:$PORT" --label="$mode" --users="$USERS" \
+    --rate="$RATE" --warmup="$WARMUP" --duration="$DURATION" --timeout="$TIMEOUT"
+  kill "$pid"
+  wait "$pid" || true
+}
+
+run_mode platform false
+run_mode virtual true
+java -jar target/loadtest.jar compare platform.json virtual.json
@@ -0,0 +1,100 @@
+package com.sportcore.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+// What the driver knows about the catalog under test, discovered through the public API before the run
+public class CatalogSnapshot {
+
+    private static final int SAMPLE_SIZE = 200;
+
+    private final long minProductId;
+    private final long maxProductId;
+    private final List<Long> categoryIds;
+    private final List<ObjectNode> writableProducts;
+    private final List<String> searchTerms;
+
+    private CatalogSnapshot(long minProductId, long maxProductId, List<Long> categoryIds,
+                            List<ObjectNode> writableProducts, List<String> searchTerms) {
+        this.minProductId = minProductId;
+        this.maxProductId = maxProductId;
+        this.categoryIds = categoryIds;
+        this.writableProducts = writableProducts;
+        this.searchTerms = searchTerms;
+    }
+
+    public static CatalogSnapshot discover(HttpClient client, ObjectMapper objectMapper, String baseUrl)
+            throws IOException, InterruptedException {
+        long minId = get(client, objectMapper, baseUrl + "/products?size=1&sort=id,asc").path("content").path(0).path("id").asLong(0);
+        long maxId = get(client, objectMapper, baseUrl + "/products?size=1&sort=id,desc").path("content").path(0).path("id").asLong(0);
+        if (maxId == 0) {
+            throw new IllegalStateException("The catalog at " + baseUrl + " has no products");
+        }
+
+        List<Long> categoryIds = new ArrayList<>();
+        get(client, objectMapper, baseUrl + "/categories").forEach(category -> categoryIds.add(category.path("id").asLong()));
+
+        List<ObjectNode> products = new ArrayList<>();
+        Set<String> terms = new LinkedHashSet<>();
+        for (JsonNode product : get(client, objectMapper, baseUrl + "/products/random?limit=" + SAMPLE_SIZE + "&seed=1")) {
+            ObjectNode writable = (ObjectNode) product.deepCopy();
+            writable.remove("images");
+            products.add(writable);
+            for (String word : product.path("name").asText().split("\\s+")) {
+                if (word.length() >= 3 && Character.isLetter(word.charAt(0))) {
+                    terms.add(word.toLowerCase(Locale.ROOT));
+                }
+            }
+            if (product.hasNonNull("flavor")) {
+                terms.add(product.get("flavor").asText().toLowerCase(Locale.ROOT));
+            }
+        }
+        return new CatalogSnapshot(minId, maxId, categoryIds, products, new ArrayList<>(terms));
+    }
+
+    private static JsonNode get(HttpClient client, ObjectMapper objectMapper, String url)
+            throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(HttpRequest.newBuilder(URI.create(url)).GET().build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + url + " returned " + response.statusCode());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    public long getMinProductId() {
+        return minProductId;
+    }
+
+    public long getMaxProductId() {
+        return maxProductId;
+    }
+
+    public int getProductRange() {
+        return (int) Math.min(Integer.MAX_VALUE, maxProductId - minProductId + 1);
+    }
+
+    public List<Long> getCategoryIds() {
+        return categoryIds;
+    }
+
+    public List<ObjectNode> getWritableProducts() {
+        return writableProducts;
+    }
+
+    public List<String> getSearchTerms() {
+        return searchTerms;
+    }
+}
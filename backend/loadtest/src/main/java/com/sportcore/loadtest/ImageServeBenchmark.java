@@ -0,0 +1,249 @@
+package com.sportcore.loadtest;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.imageio.ImageIO;
+
+import org.HdrHistogram.Histogram;
+
+// Uploads a large image and compares serving it, and its thumbnail, from GET /images/{hash}/{file} (sendfile,
+// in-memory thumbnails) against /loadtest/images/{hash}/{file}, a controller that returns the file as a byte[].
+// The baseline needs the server started with --app.loadtest.buffered-images=true.
+public class ImageServeBenchmark {
+
+    private static final Pattern METRIC_VALUE = Pattern.compile("\"value\":([0-9.Ee+-]+)");
+
+    private String baseUrl = "http://localhost:8082";
+    private long productId = 1;
+    private int connections = 16;
+    private Duration warmup = Duration.ofSeconds(3);
+    private Duration duration = Duration.ofSeconds(10);
+    private int width = 2400;
+    private int height = 1600;
+
+    private HttpClient client;
+
+    private static final class Result {
+
+        private final long requests;
+        private final long bytes;
+        private final long errors;
+        private final double seconds;
+        private final Histogram latencies;
+
+        private Result(long requests, long bytes, long errors, double seconds, Histogram latencies) {
+            this.requests = requests;
+            this.bytes = bytes;
+            this.errors = errors;
+            this.seconds = seconds;
+            this.latencies = latencies;
+        }
+    }
+
+    public static ImageServeBenchmark parse(String[] args) {
+        ImageServeBenchmark test = new ImageServeBenchmark();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got '" + arg + "'");
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (name) {
+                case "base-url" -> test.baseUrl = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                case "product" -> test.productId = Long.parseLong(value);
+                case "connections" -> test.connections = Integer.parseInt(value);
+                case "warmup" -> test.warmup = Duration.ofSeconds(Long.parseLong(value));
+                case "duration" -> test.duration = Duration.ofSeconds(Long.parseLong(value));
+                case "width" -> test.width = Integer.parseInt(value);
+                case "height" -> test.height = Integer.parseInt(value);
+                default -> throw new IllegalArgumentException("Unknown option --" + name);
+            }
+        }
+        return test;
+    }
+
+    // Returns false when a response had the wrong status or length, or the caching/range checks failed
+    public boolean run() throws Exception {
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        HttpResponse<String> upload = client.send(HttpRequest.newBuilder(
+                        URI.create(baseUrl + "/products/" + productId + "/images"))
+                .header("Content-Type", "image/jpeg")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(noiseJpeg()))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        Matcher original = Pattern.compile("\"url\":\"(/images/([0-9a-f]{64})/[^\"]+)\"").matcher(upload.body());
+        if (upload.statusCode() != 201 || !original.find()) {
+            throw new IllegalStateException("Upload returned " + upload.statusCode() + ": " + upload.body());
+        }
+        String hash = original.group(2);
+        String thumbnail = waitForThumbnail(hash);
+        String originalPath = original.group(1);
+
+        boolean ok = checkProtocol(originalPath, hash);
+        boolean baseline = get(baselinePath(originalPath), null).statusCode() == 200;
+        if (!baseline) {
+            System.out.println("Baseline /loadtest/images not found: start the server with --app.loadtest.buffered-images=true");
+        }
+
+        // The client shares the machine in a local run, so throughput says less than the server's cost per request
+        System.out.printf("%n%-14s %-10s %8s %8s %8s %8s %15s %14s%n", "file", "endpoint", "req/s", "MB/s", "p50 ms",
+                "p99 ms", "server CPU ms/req", "server KB/req");
+        for (String path : List.of(thumbnail, originalPath)) {
+            String file = path.substring(path.lastIndexOf('/') + 1);
+            ok &= measure(file, "zero-copy", path);
+            if (baseline) {
+                ok &= measure(file, "byte[]", baselinePath(path));
+            }
+        }
+        System.out.println(ok ? "\nOK: every response was complete" : "\nFAIL: some responses were wrong");
+        return ok;
+    }
+
+    private String waitForThumbnail(String hash) throws Exception {
+        Pattern thumbnail = Pattern.compile("\"thumbnailUrl\":\"(/images/" + hash + "/[^\"]+)\"");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (System.nanoTime() < deadline) {
+            Matcher matcher = thumbnail.matcher(get("/products/" + productId, null).body());
+            if (matcher.find()) {
+                return matcher.group(1);
+            }
+            Thread.sleep(250);
+        }
+        throw new IllegalStateException("Variants for image " + hash + " were not generated within 60 s");
+    }
+
+    private boolean checkProtocol(String path, String hash) throws Exception {
+        HttpResponse<String> full = get(path, null);
+        String eTag = full.headers().firstValue("ETag").orElse("");
+        String cacheControl = full.headers().firstValue("Cache-Control").orElse("");
+        HttpRequest conditional = HttpRequest.newBuilder(URI.create(baseUrl + path)).header("If-None-Match", eTag).build();
+        int notModified = client.send(conditional, HttpResponse.BodyHandlers.discarding()).statusCode();
+        HttpResponse<String> partial = get(path, "bytes=0-99");
+        boolean ok = eTag.contains(hash) && cacheControl.contains("immutable") && notModified == 304
+                && partial.statusCode() == 206 && partial.headers().firstValueAsLong("Content-Length").orElse(-1) == 100;
+        System.out.printf("ETag %s, Cache-Control '%s', If-None-Match -> %d, Range -> %d %s%n", eTag, cacheControl,
+                notModified, partial.statusCode(), partial.headers().firstValue("Content-Range").orElse("-"));
+        return ok;
+    }
+
+    private boolean measure(String file, String endpoint, String path) throws Exception {
+        long expectedLength = get(path, null).headers().firstValueAsLong("Content-Length").orElse(-1);
+        load(path, expectedLength, warmup);
+        double cpus = metric("system.cpu.count");
+        double allocatedBefore = metric("jvm.gc.memory.allocated");
+        List<Double> cpuUsage = new ArrayList<>();
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> {
+            try {
+                cpuUsage.add(metric("process.cpu.usage"));
+            } catch (Exception e) {
+                // a missed sample only widens the average
+            }
+        }, 250, 250, TimeUnit.MILLISECONDS);
+        Result result = load(path, expectedLength, duration);
+        sampler.shutdown();
+        sampler.awaitTermination(5, TimeUnit.SECONDS);
+        double allocated = metric("jvm.gc.memory.allocated") - allocatedBefore;
+        double cpuSeconds = cpuUsage.stream().mapToDouble(Double::doubleValue).average().orElse(0) * cpus * result.seconds;
+        long requests = Math.max(1, result.requests);
+        System.out.printf("%-14s %-10s %8.0f %8.1f %8.2f %8.2f %15.2f %14.1f%n", file, endpoint,
+                result.requests / result.seconds, result.bytes / result.seconds / (1024 * 1024),
+                result.latencies.getValueAtPercentile(50) / 1_000_000.0,
+                result.latencies.getValueAtPercentile(99) / 1_000_000.0,
+                cpuSeconds * 1000 / requests, allocated / requests / 1024);
+        return result.errors == 0;
+    }
+
+    private Result load(String path, long expectedLength, Duration length) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(connections);
+        long started = System.nanoTime();
+        long deadline = started + length.toNanos();
+        List<Future<long[]>> futures = new ArrayList<>();
+        Histogram latencies = new Histogram(TimeUnit.MINUTES.toNanos(1), 3);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path)).build();
+        for (int i = 0; i < connections; i++) {
+            futures.add(executor.submit(() -> {
+                long[] counts = new long[3];
+                Histogram own = new Histogram(TimeUnit.MINUTES.toNanos(1), 3);
+                while (System.nanoTime() < deadline) {
+                    long sent = System.nanoTime();
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    own.recordValue(Math.min(System.nanoTime() - sent, own.getHighestTrackableValue()));
+                    long received = response.headers().firstValueAsLong("Content-Length").orElse(-1);
+                    if (response.statusCode() != 200 || received != expectedLength) {
+                        counts[2]++;
+                    }
+                    counts[0]++;
+                    counts[1] += Math.max(0, received);
+                }
+                synchronized (latencies) {
+                    latencies.add(own);
+                }
+                return counts;
+            }));
+        }
+        long requests = 0;
+        long bytes = 0;
+        long errors = 0;
+        for (Future<long[]> future : futures) {
+            long[] counts = future.get();
+            requests += counts[0];
+            bytes += counts[1];
+            errors += counts[2];
+        }
+        executor.shutdown();
+        return new Result(requests, bytes, errors, (System.nanoTime() - started) / 1_000_000_000.0, latencies);
+    }
+
+    // Server-side figures from the actuator: process.cpu.usage is a recent average sampled during the run, and
+    // jvm.gc.memory.allocated only advances at each young collection
+    private double metric(String name) throws Exception {
+        Matcher matcher = METRIC_VALUE.matcher(get("/actuator/metrics/" + name, null).body());
+        return matcher.find() ? Double.parseDouble(matcher.group(1)) : 0;
+    }
+
+    private static String baselinePath(String path) {
+        return "/loadtest" + path;
+    }
+
+    private HttpResponse<String> get(String path, String range) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30));
+        if (range != null) {
+            request.header("Range", range);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    // Random pixels barely compress, so the original stays in the megabytes like a camera upload
+    private byte[] noiseJpeg() throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random();
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, random.nextInt(0x1000000));
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpg", out);
+        return out.toByteArray();
+    }
+}
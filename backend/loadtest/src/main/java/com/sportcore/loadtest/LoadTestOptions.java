@@ -0,0 +1,121 @@
+package com.sportcore.loadtest;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+public class LoadTestOptions {
+
+    private String baseUrl = "http://localhost:8082";
+    private String label = "run";
+    private String output;
+    private int users = 16;
+    private double rate;
+    private Duration duration = Duration.ofSeconds(60);
+    private Duration warmup = Duration.ofSeconds(15);
+    private Duration timeout = Duration.ofSeconds(10);
+    private double zipfExponent = 1.0;
+    private long seed = 42;
+    private Map<Operation, Integer> mix = defaultMix();
+
+    public static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got '" + arg + "'");
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (name) {
+                case "base-url" -> options.baseUrl = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                case "label" -> options.label = value;
+                case "out" -> options.output = value;
+                case "users" -> options.users = Integer.parseInt(value);
+                case "rate" -> options.rate = Double.parseDouble(value);
+                case "duration" -> options.duration = Duration.ofSeconds(Long.parseLong(value));
+                case "warmup" -> options.warmup = Duration.ofSeconds(Long.parseLong(value));
+                case "timeout" -> options.timeout = Duration.ofSeconds(Long.parseLong(value));
+                case "zipf" -> options.zipfExponent = Double.parseDouble(value);
+                case "seed" -> options.seed = Long.parseLong(value);
+                case "mix" -> options.mix = parseMix(value);
+                default -> throw new IllegalArgumentException("Unknown option --" + name);
+            }
+        }
+        if (options.users < 1) {
+            throw new IllegalArgumentException("--users must be at least 1");
+        }
+        return options;
+    }
+
+    // Format: detail=50,search=20,admin-write=0 (operations left out keep their default weight)
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = defaultMix();
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry '" + entry + "'");
+            }
+            mix.put(Operation.fromKey(parts[0]), Integer.parseInt(parts[1].trim()));
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("The operation mix needs at least one positive weight");
+        }
+        return mix;
+    }
+
+    private static Map<Operation, Integer> defaultMix() {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            mix.put(operation, operation.getDefaultWeight());
+        }
+        return mix;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public String getOutput() {
+        return output != null ? output : label + ".json";
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public double getRate() {
+        return rate;
+    }
+
+    public boolean isOpenModel() {
+        return rate > 0;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public Duration getWarmup() {
+        return warmup;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public double getZipfExponent() {
+        return zipfExponent;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public Map<Operation, Integer> getMix() {
+        return mix;
+    }
+}
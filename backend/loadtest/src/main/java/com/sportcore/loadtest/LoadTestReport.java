@@ -0,0 +1,138 @@
+package com.sportcore.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+public class LoadTestReport {
+
+    public static final String TOTAL = "total";
+
+    private String label;
+    private String baseUrl;
+    private String startedAt;
+    private String model;
+    private int users;
+    private double targetRate;
+    private double durationSeconds;
+    private List<OperationStats> operations = new ArrayList<>();
+
+    public void print(PrintStream out) {
+        out.printf("%n%s  (%s, %d users%s, %.0f s)%n", label, model, users,
+                targetRate > 0 ? String.format(", %.0f ops/s target", targetRate) : "", durationSeconds);
+        out.printf("%-12s %10s %8s %10s %9s %9s %9s %9s %9s%n",
+                "operation", "count", "errors", "ops/s", "p50 ms", "p90 ms", "p99 ms", "p999 ms", "max ms");
+        for (OperationStats stats : operations) {
+            out.printf("%-12s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", stats.getOperation(), stats.getCount(),
+                    stats.getErrors(), stats.getThroughput(), stats.getP50Ms(), stats.getP90Ms(), stats.getP99Ms(),
+                    stats.getP999Ms(), stats.getMaxMs());
+        }
+    }
+
+    public void write(File file, ObjectMapper objectMapper) throws IOException {
+        objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file, this);
+    }
+
+    public static LoadTestReport read(File file, ObjectMapper objectMapper) throws IOException {
+        return objectMapper.readValue(file, LoadTestReport.class);
+    }
+
+    // Prints candidate against baseline; positive deltas on latency are regressions
+    public static void compare(LoadTestReport baseline, LoadTestReport candidate, PrintStream out) {
+        Map<String, OperationStats> before = baseline.operations.stream()
+                .collect(Collectors.toMap(OperationStats::getOperation, Function.identity()));
+        out.printf("%n%s -> %s%n", baseline.label, candidate.label);
+        out.printf("%-12s %24s %24s %24s %24s%n", "operation", "ops/s", "p50 ms", "p99 ms", "p999 ms");
+        for (OperationStats after : candidate.operations) {
+            OperationStats previous = before.get(after.getOperation());
+            if (previous == null) {
+                continue;
+            }
+            out.printf("%-12s %24s %24s %24s %24s%n", after.getOperation(),
+                    delta(previous, after, OperationStats::getThroughput),
+                    delta(previous, after, OperationStats::getP50Ms),
+                    delta(previous, after, OperationStats::getP99Ms),
+                    delta(previous, after, OperationStats::getP999Ms));
+        }
+    }
+
+    private static String delta(OperationStats before, OperationStats after, ToDoubleFunction<OperationStats> metric) {
+        double from = metric.applyAsDouble(before);
+        double to = metric.applyAsDouble(after);
+        String change = from > 0 ? String.format("%+.1f%%", (to - from) * 100 / from) : "n/a";
+        return String.format("%.2f -> %.2f (%s)", from, to, change);
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public void setBaseUrl(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public String getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(String startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public String getModel() {
+        return model;
+    }
+
+    public void setModel(String model) {
+        this.model = model;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public void setUsers(int users) {
+        this.users = users;
+    }
+
+    public double getTargetRate() {
+        return targetRate;
+    }
+
+    public void setTargetRate(double targetRate) {
+        this.targetRate = targetRate;
+    }
+
+    public double getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public void setDurationSeconds(double durationSeconds) {
+        this.durationSeconds = durationSeconds;
+    }
+
+    public List<OperationStats> getOperations() {
+        return operations;
+    }
+
+    public void setOperations(List<OperationStats> operations) {
+        this.operations = operations;
+    }
+}
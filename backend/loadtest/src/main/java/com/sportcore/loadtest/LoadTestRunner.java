@@ -0,0 +1,61 @@
+package com.sportcore.loadtest;
+
+import java.io.File;
+import java.net.http.HttpClient;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class LoadTestRunner {
+
+    public static void main(String[] args) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        if (args.length > 0 && "compare".equals(args[0])) {
+            if (args.length != 3) {
+                System.err.println("Usage: compare <baseline.json> <candidate.json>");
+                System.exit(2);
+            }
+            LoadTestReport.compare(LoadTestReport.read(new File(args[1]), objectMapper),
+                    LoadTestReport.read(new File(args[2]), objectMapper), System.out);
+            return;
+        }
+        if (args.length > 0 && "stock".equals(args[0])) {
+            boolean consistent = StockStressTest.parse(Arrays.copyOfRange(args, 1, args.length)).run();
+            System.exit(consistent ? 0 : 1);
+        }
+        if (args.length > 0 && "orders".equals(args[0])) {
+            boolean consistent = OrderStressTest.parse(Arrays.copyOfRange(args, 1, args.length)).run();
+            System.exit(consistent ? 0 : 1);
+        }
+        if (args.length > 0 && "images".equals(args[0])) {
+            boolean ok = ImageServeBenchmark.parse(Arrays.copyOfRange(args, 1, args.length)).run();
+            System.exit(ok ? 0 : 1);
+        }
+        if (args.length > 0 && "stream".equals(args[0])) {
+            boolean complete = StreamStressTest.parse(Arrays.copyOfRange(args, 1, args.length)).run();
+            System.exit(complete ? 0 : 1);
+        }
+
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(options.getTimeout())
+                .executor(Executors.newFixedThreadPool(Math.max(2, options.getUsers() / 4)))
+                .build();
+
+        CatalogSnapshot catalog = CatalogSnapshot.discover(client, objectMapper, options.getBaseUrl());
+        System.out.printf("Catalog: products %d..%d, %d categories, %d search terms%n", catalog.getMinProductId(),
+                catalog.getMaxProductId(), catalog.getCategoryIds().size(), catalog.getSearchTerms().size());
+        System.out.printf("Running %s model with %d users: %d s warmup + %d s measured%n",
+                options.isOpenModel() ? "open" : "closed", options.getUsers(),
+                options.getWarmup().toSeconds(), options.getDuration().toSeconds());
+
+        LoadTestReport report = new WorkloadDriver(options, catalog, client, objectMapper).run();
+        report.print(System.out);
+        File output = new File(options.getOutput());
+        report.write(output, objectMapper);
+        System.out.println("\nReport written to " + output.getAbsolutePath());
+        System.exit(0);
+    }
+}
@@ -0,0 +1,35 @@
+package com.sportcore.loadtest;
+
+public enum Operation {
+
+    // Home page: random featured products plus the category menu
+    HOME(20),
+    LISTING(20),
+    DETAIL(35),
+    SEARCH(10),
+    SUGGEST(10),
+    ADMIN_WRITE(5);
+
+    private final int defaultWeight;
+
+    Operation(int defaultWeight) {
+        this.defaultWeight = defaultWeight;
+    }
+
+    public int getDefaultWeight() {
+        return defaultWeight;
+    }
+
+    public String key() {
+        return name().toLowerCase().replace('_', '-');
+    }
+
+    public static Operation fromKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key().equalsIgnoreCase(key.trim())) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation '" + key + "'");
+    }
+}
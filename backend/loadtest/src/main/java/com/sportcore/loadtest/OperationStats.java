@@ -0,0 +1,121 @@
+package com.sportcore.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+public class OperationStats {
+
+    private String operation;
+    private long count;
+    private long errors;
+    private double throughput;
+    private double meanMs;
+    private double p50Ms;
+    private double p90Ms;
+    private double p99Ms;
+    private double p999Ms;
+    private double maxMs;
+
+    public OperationStats() {
+    }
+
+    public static OperationStats from(String operation, Histogram histogram, long errors, double seconds) {
+        OperationStats stats = new OperationStats();
+        stats.operation = operation;
+        stats.count = histogram.getTotalCount();
+        stats.errors = errors;
+        stats.throughput = seconds > 0 ? stats.count / seconds : 0;
+        if (stats.count > 0) {
+            stats.meanMs = histogram.getMean() / 1_000_000.0;
+            stats.p50Ms = millis(histogram, 50);
+            stats.p90Ms = millis(histogram, 90);
+            stats.p99Ms = millis(histogram, 99);
+            stats.p999Ms = millis(histogram, 99.9);
+            stats.maxMs = histogram.getMaxValue() / 1_000_000.0;
+        }
+        return stats;
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1_000_000.0;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public void setOperation(String operation) {
+        this.operation = operation;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public void setErrors(long errors) {
+        this.errors = errors;
+    }
+
+    public double getThroughput() {
+        return throughput;
+    }
+
+    public void setThroughput(double throughput) {
+        this.throughput = throughput;
+    }
+
+    public double getMeanMs() {
+        return meanMs;
+    }
+
+    public void setMeanMs(double meanMs) {
+        this.meanMs = meanMs;
+    }
+
+    public double getP50Ms() {
+        return p50Ms;
+    }
+
+    public void setP50Ms(double p50Ms) {
+        this.p50Ms = p50Ms;
+    }
+
+    public double getP90Ms() {
+        return p90Ms;
+    }
+
+    public void setP90Ms(double p90Ms) {
+        this.p90Ms = p90Ms;
+    }
+
+    public double getP99Ms() {
+        return p99Ms;
+    }
+
+    public void setP99Ms(double p99Ms) {
+        this.p99Ms = p99Ms;
+    }
+
+    public double getP999Ms() {
+        return p999Ms;
+    }
+
+    public void setP999Ms(double p999Ms) {
+        this.p999Ms = p999Ms;
+    }
+
+    public double getMaxMs() {
+        return maxMs;
+    }
+
+    public void setMaxMs(double maxMs) {
+        this.maxMs = maxMs;
+    }
+}
@@ -0,0 +1,259 @@
+package com.sportcore.loadtest;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.HdrHistogram.Histogram;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+// Places orders concurrently until the products sell out or time runs out, resending some with the same
+// idempotency key, then checks that every unit that left stock belongs to exactly one placed order
+public class OrderStressTest {
+
+    private static final BigDecimal FREE_SHIPPING_THRESHOLD = new BigDecimal("50");
+    private static final BigDecimal SHIPPING_FEE = new BigDecimal("9.99");
+    private static final BigDecimal TAX_RATE = new BigDecimal("0.08");
+
+    private String baseUrl = "http://localhost:8082";
+    private long[] productIds = {1, 2, 3};
+    private int stock = 2_000;
+    private int users = 32;
+    private double retryRate = 0.1;
+    private Duration duration = Duration.ofSeconds(60);
+    private long seed = 42;
+    private boolean hot;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Long, BigDecimal> prices = new HashMap<>();
+    private HttpClient client;
+
+    public static OrderStressTest parse(String[] args) {
+        OrderStressTest test = new OrderStressTest();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got '" + arg + "'");
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (name) {
+                case "base-url" -> test.baseUrl = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                case "products" -> test.productIds = Arrays.stream(value.split(",")).mapToLong(id -> Long.parseLong(id.trim())).toArray();
+                case "stock" -> test.stock = Integer.parseInt(value);
+                case "users" -> test.users = Integer.parseInt(value);
+                case "retry-rate" -> test.retryRate = Double.parseDouble(value);
+                case "duration" -> test.duration = Duration.ofSeconds(Long.parseLong(value));
+                case "seed" -> test.seed = Long.parseLong(value);
+                case "hot" -> test.hot = Boolean.parseBoolean(value);
+                default -> throw new IllegalArgumentException("Unknown option --" + name);
+            }
+        }
+        return test;
+    }
+
+    // Returns false when stock was oversold, lost, or a retried key produced a second order
+    public boolean run() throws Exception {
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newFixedThreadPool(Math.max(2, users / 4)))
+                .build();
+
+        ArrayNode patches = objectMapper.createArrayNode();
+        for (long productId : productIds) {
+            send("DELETE", "/admin/stock/hot/" + productId, null, 204);
+            patches.addObject().put("id", productId).put("stock", stock);
+        }
+        send("PATCH", "/products/batch", objectMapper.createObjectNode().set("products", patches).toString(), 200);
+        for (long productId : productIds) {
+            if (hot) {
+                send("PUT", "/admin/stock/hot/" + productId, null, 200);
+            }
+            prices.put(productId, objectMapper.readTree(send("GET", "/products/" + productId, null, 200)).path("price").decimalValue());
+        }
+        JsonNode batchesBefore = metric("sportcore.orders.batch.size");
+        System.out.printf("Products %s with stock %d each (%s), %d users, %.0f%% of orders resent with the same key%n",
+                Arrays.toString(productIds), stock, hot ? "hot counters" : "database", users, retryRate * 100);
+
+        Map<Long, Long> unitsByOrder = new ConcurrentHashMap<>();
+        Set<String> placedKeys = ConcurrentHashMap.newKeySet();
+        AtomicLong placed = new AtomicLong();
+        AtomicLong replayed = new AtomicLong();
+        AtomicLong duplicates = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        AtomicBoolean soldOut = new AtomicBoolean();
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService workers = Executors.newFixedThreadPool(users);
+        List<Future<Histogram>> futures = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            Random random = new Random(seed + i);
+            futures.add(workers.submit(() -> {
+                Histogram latencies = new Histogram(TimeUnit.MINUTES.toNanos(1), 3);
+                while (!soldOut.get() && System.nanoTime() < deadline) {
+                    String key = UUID.randomUUID().toString();
+                    ObjectNode order = newOrder(random);
+                    // A resent order goes out alongside the first request, like a client retrying on a timeout
+                    int attempts = random.nextDouble() < retryRate ? 2 : 1;
+                    long started = System.nanoTime();
+                    List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+                    for (int attempt = 0; attempt < attempts; attempt++) {
+                        responses.add(client.sendAsync(request("POST", "/orders", order.toString(), key),
+                                HttpResponse.BodyHandlers.ofString()));
+                    }
+                    for (CompletableFuture<HttpResponse<String>> pending : responses) {
+                        HttpResponse<String> response;
+                        try {
+                            response = pending.join();
+                        } catch (CompletionException e) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        latencies.recordValue(Math.min(System.nanoTime() - started, latencies.getHighestTrackableValue()));
+                        int status = response.statusCode();
+                        if (status == 201 || status == 200) {
+                            JsonNode body = objectMapper.readTree(response.body());
+                            long units = 0;
+                            for (JsonNode item : body.path("items")) {
+                                units += item.path("quantity").asLong();
+                            }
+                            if (unitsByOrder.putIfAbsent(body.path("id").asLong(), units) == null) {
+                                placed.incrementAndGet();
+                                if (!placedKeys.add(key)) {
+                                    duplicates.incrementAndGet();
+                                }
+                            } else {
+                                replayed.incrementAndGet();
+                            }
+                        } else if (status == 409) {
+                            rejected.incrementAndGet();
+                            soldOut.compareAndSet(false, rejected.get() > users);
+                        } else {
+                            errors.incrementAndGet();
+                        }
+                    }
+                }
+                return latencies;
+            }));
+        }
+        Histogram latencies = new Histogram(TimeUnit.MINUTES.toNanos(1), 3);
+        for (Future<Histogram> future : futures) {
+            latencies.add(future.get());
+        }
+        workers.shutdown();
+        double seconds = Math.min(duration.toNanos(), System.nanoTime() - (deadline - duration.toNanos())) / 1_000_000_000.0;
+
+        long remaining = 0;
+        for (long productId : productIds) {
+            if (hot) {
+                send("DELETE", "/admin/stock/hot/" + productId, null, 204);
+            }
+            remaining += objectMapper.readTree(send("GET", "/products/" + productId, null, 200)).path("stock").asLong();
+        }
+        long sold = (long) stock * productIds.length - remaining;
+        long ordered = unitsByOrder.values().stream().mapToLong(Long::longValue).sum();
+        JsonNode batchesAfter = metric("sportcore.orders.batch.size");
+        double batches = statistic(batchesAfter, "COUNT") - statistic(batchesBefore, "COUNT");
+        double batchedOrders = statistic(batchesAfter, "TOTAL") - statistic(batchesBefore, "TOTAL");
+
+        System.out.printf("Placed %d orders in %.2f s (%.0f orders/s), %d retries replayed, %d rejected, %d errors%n",
+                placed.get(), seconds, placed.get() / seconds, replayed.get(), rejected.get(), errors.get());
+        System.out.printf("Latency p50 %.1f ms, p99 %.1f ms, max %.1f ms%n", latencies.getValueAtPercentile(50) / 1e6,
+                latencies.getValueAtPercentile(99) / 1e6, latencies.getMaxValue() / 1e6);
+        if (batches > 0) {
+            System.out.printf("Group commit: %.0f batches, %.1f orders per batch on average%n", batches, batchedOrders / batches);
+        }
+        System.out.printf("Units ordered %d, units gone from stock %d, remaining %d%n", ordered, sold, remaining);
+
+        boolean consistent = ordered == sold && remaining >= 0 && duplicates.get() == 0;
+        System.out.println(consistent ? "OK: every unit sold belongs to exactly one order"
+                : "FAIL: " + (duplicates.get() > 0 ? duplicates.get() + " keys placed twice" : "ordered " + ordered + " but sold " + sold));
+        return consistent;
+    }
+
+    // One or two lines of 1-3 units, with prices and totals computed the way the checkout page does
+    private ObjectNode newOrder(Random random) {
+        ObjectNode order = objectMapper.createObjectNode();
+        ArrayNode items = order.putArray("items");
+        BigDecimal subtotal = BigDecimal.ZERO;
+        int lines = 1 + random.nextInt(Math.min(2, productIds.length));
+        int first = random.nextInt(productIds.length);
+        for (int line = 0; line < lines; line++) {
+            long productId = productIds[(first + line) % productIds.length];
+            int quantity = 1 + random.nextInt(3);
+            BigDecimal price = prices.get(productId);
+            items.addObject().put("productId", productId).put("quantity", quantity).put("price", price);
+            subtotal = subtotal.add(price.multiply(BigDecimal.valueOf(quantity)));
+        }
+        BigDecimal shipping = subtotal.compareTo(FREE_SHIPPING_THRESHOLD) >= 0 ? BigDecimal.ZERO : SHIPPING_FEE;
+        BigDecimal tax = subtotal.multiply(TAX_RATE).setScale(2, RoundingMode.HALF_UP);
+        order.put("subtotal", subtotal).put("shipping", shipping).put("tax", tax).put("total", subtotal.add(shipping).add(tax));
+
+        ObjectNode address = order.putObject("shippingAddress");
+        address.put("firstName", "Load").put("lastName", "Test").put("email", "load@example.com").put("phone", "600000000")
+                .put("address", "Calle Mayor 1").put("city", "Madrid").put("state", "M").put("zipCode", "28001").put("country", "ES");
+        order.putObject("paymentInfo").put("cardNumber", "4111111111111111").put("expiryDate", "12/30").put("cvv", "123")
+                .put("cardholderName", "Load Test");
+        return order;
+    }
+
+    private JsonNode metric(String name) throws Exception {
+        HttpResponse<String> response = client.send(request("GET", "/actuator/metrics/" + name, null, null),
+                HttpResponse.BodyHandlers.ofString());
+        return response.statusCode() == 200 ? objectMapper.readTree(response.body()) : objectMapper.createObjectNode();
+    }
+
+    private static double statistic(JsonNode metric, String statistic) {
+        for (JsonNode measurement : metric.path("measurements")) {
+            if (statistic.equals(measurement.path("statistic").asText())) {
+                return measurement.path("value").asDouble();
+            }
+        }
+        return 0;
+    }
+
+    private String send(String method, String path, String body, int expectedStatus) throws Exception {
+        HttpResponse<String> response = client.send(request(method, path, body, null), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != expectedStatus) {
+            throw new IllegalStateException(method + " " + path + " returned " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+
+    private HttpRequest request(String method, String path, String body, String idempotencyKey) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .method(method, body != null ? HttpRequest.BodyPublishers.ofString(body) : HttpRequest.BodyPublishers.noBody());
+        if (idempotencyKey != null) {
+            builder.header("Idempotency-Key", idempotencyKey);
+        }
+        return builder.build();
+    }
+}
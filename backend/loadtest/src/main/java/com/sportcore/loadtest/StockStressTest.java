@@ -0,0 +1,138 @@
+package com.sportcore.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Sells out one product with concurrent reservations and checks that exactly its stock was handed out
+public class StockStressTest {
+
+    private String baseUrl = "http://localhost:8082";
+    private long productId = 1;
+    private int stock = 10_000;
+    private int quantity = 1;
+    private int users = 64;
+    private boolean hot;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private HttpClient client;
+
+    public static StockStressTest parse(String[] args) {
+        StockStressTest test = new StockStressTest();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got '" + arg + "'");
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (name) {
+                case "base-url" -> test.baseUrl = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                case "product" -> test.productId = Long.parseLong(value);
+                case "stock" -> test.stock = Integer.parseInt(value);
+                case "quantity" -> test.quantity = Integer.parseInt(value);
+                case "users" -> test.users = Integer.parseInt(value);
+                case "hot" -> test.hot = Boolean.parseBoolean(value);
+                default -> throw new IllegalArgumentException("Unknown option --" + name);
+            }
+        }
+        if (test.stock % test.quantity != 0) {
+            throw new IllegalArgumentException("--stock must be a multiple of --quantity");
+        }
+        return test;
+    }
+
+    // Returns false when the product was oversold or units went missing
+    public boolean run() throws Exception {
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newFixedThreadPool(Math.max(2, users / 4)))
+                .build();
+
+        // Disabling first returns whatever an earlier counter still held, so the stock set next is the whole supply
+        send("DELETE", "/admin/stock/hot/" + productId, null, 204);
+        send("PATCH", "/products/batch", "{\"products\":[{\"id\":" + productId + ",\"stock\":" + stock + "}]}", 200);
+        if (hot) {
+            send("PUT", "/admin/stock/hot/" + productId, null, 200);
+        }
+        System.out.printf("Product %d: stock %d, %d users reserving %d at a time (%s)%n", productId, stock, users, quantity,
+                hot ? "hot counter" : "database");
+
+        AtomicBoolean soldOut = new AtomicBoolean();
+        AtomicLong reserved = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        String body = "{\"productId\":" + productId + ",\"quantity\":" + quantity + "}";
+        ExecutorService workers = Executors.newFixedThreadPool(users);
+        long started = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            futures.add(workers.submit(() -> {
+                while (!soldOut.get()) {
+                    try {
+                        int status = client.send(request("POST", "/stock/reservations", body),
+                                HttpResponse.BodyHandlers.discarding()).statusCode();
+                        if (status == 201) {
+                            reserved.incrementAndGet();
+                        } else if (status == 409) {
+                            rejected.incrementAndGet();
+                            soldOut.set(true);
+                        } else {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+        workers.shutdown();
+
+        if (hot) {
+            send("DELETE", "/admin/stock/hot/" + productId, null, 204);
+        }
+        int remaining = objectMapper.readTree(send("GET", "/products/" + productId, null, 200)).path("stock").asInt(-1);
+
+        long sold = reserved.get() * quantity;
+        System.out.printf("Reserved %d units in %d holds over %.2f s (%.0f reservations/s), %d rejected, %d errors%n",
+                sold, reserved.get(), seconds, reserved.get() / seconds, rejected.get(), errors.get());
+        System.out.printf("Remaining stock %d, expected %d%n", remaining, stock - sold);
+        boolean consistent = sold == stock && remaining == 0;
+        System.out.println(consistent ? "OK: sold out exactly, nothing oversold"
+                : "FAIL: " + (sold > stock ? "oversold by " + (sold - stock) : (stock - sold) + " units never sold"));
+        return consistent;
+    }
+
+    private String send(String method, String path, String body, int expectedStatus) throws Exception {
+        HttpResponse<String> response = client.send(request(method, path, body), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != expectedStatus) {
+            throw new IllegalStateException(method + " " + path + " returned " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+
+    private HttpRequest request(String method, String path, String body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .method(method, body != null ? HttpRequest.BodyPublishers.ofString(body) : HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+}
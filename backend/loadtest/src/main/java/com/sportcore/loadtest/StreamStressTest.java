@@ -0,0 +1,178 @@
+package com.sportcore.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Opens many connections to the live feed (GET /products/stream), changes one product's stock at a fixed
+// pace and measures how long each change takes to reach every subscriber
+public class StreamStressTest {
+
+    private static final Pattern STOCK = Pattern.compile("\"id\":(\\d+)[^}]*\"stock\":(\\d+)");
+
+    private String baseUrl = "http://localhost:8082";
+    private int connections = 2000;
+    private long productId = 1;
+    private String filter = "product";
+    private int updates = 20;
+    private long intervalMs = 500;
+
+    private HttpClient client;
+
+    // Sent time per stock value; each update sets a stock value no other update uses
+    private final Map<Integer, Long> sentAt = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Long> latenciesMicros = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger connected = new AtomicInteger();
+    private final AtomicInteger closed = new AtomicInteger();
+    private final AtomicLong delivered = new AtomicLong();
+
+    public static StreamStressTest parse(String[] args) {
+        StreamStressTest test = new StreamStressTest();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got '" + arg + "'");
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (name) {
+                case "base-url" -> test.baseUrl = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                case "connections" -> test.connections = Integer.parseInt(value);
+                case "product" -> test.productId = Long.parseLong(value);
+                case "filter" -> test.filter = value;
+                case "updates" -> test.updates = Integer.parseInt(value);
+                case "interval-ms" -> test.intervalMs = Long.parseLong(value);
+                default -> throw new IllegalArgumentException("Unknown option --" + name);
+            }
+        }
+        if (!List.of("product", "category", "all").contains(test.filter)) {
+            throw new IllegalArgumentException("--filter must be product, category or all");
+        }
+        return test;
+    }
+
+    // Returns false when a subscriber missed an update or lost its connection
+    public boolean run() throws Exception {
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .executor(Executors.newFixedThreadPool(4))
+                .build();
+
+        String product = send("GET", "/products/" + productId, null);
+        Matcher category = Pattern.compile("\"categoryId\":(\\d+)").matcher(product);
+        String query = switch (filter) {
+            case "product" -> "?ids=" + productId;
+            case "category" -> "?categoryId=" + (category.find() ? category.group(1) : "0");
+            default -> "";
+        };
+        int baseStock = 100_000;
+        send("PATCH", "/products/batch", "{\"products\":[{\"id\":" + productId + ",\"stock\":" + baseStock + "}]}");
+        Thread.sleep(1000);
+
+        long connectStarted = System.nanoTime();
+        List<CompletableFuture<HttpResponse<Void>>> streams = new ArrayList<>(connections);
+        for (int i = 0; i < connections; i++) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/products/stream" + query))
+                    .header("Accept", "text/event-stream")
+                    .build();
+            streams.add(client.sendAsync(request, HttpResponse.BodyHandlers.fromLineSubscriber(new FeedReader())));
+        }
+        while (connected.get() + closed.get() < connections
+                && System.nanoTime() - connectStarted < TimeUnit.SECONDS.toNanos(120)) {
+            Thread.sleep(100);
+        }
+        System.out.printf("%d of %d subscribers (%s filter) connected in %.1f s%n", connected.get(), connections, filter,
+                (System.nanoTime() - connectStarted) / 1_000_000_000.0);
+
+        for (int i = 1; i <= updates; i++) {
+            int stock = baseStock + i;
+            sentAt.put(stock, System.nanoTime());
+            send("PATCH", "/products/batch", "{\"products\":[{\"id\":" + productId + ",\"stock\":" + stock + "}]}");
+            Thread.sleep(intervalMs);
+        }
+        Thread.sleep(2000);
+
+        long expected = (long) connected.get() * updates;
+        long[] sorted = latenciesMicros.stream().mapToLong(Long::longValue).sorted().toArray();
+        System.out.printf("Delivered %d of %d deltas, %d subscribers disconnected%n", delivered.get(), expected, closed.get());
+        if (sorted.length > 0) {
+            System.out.printf("Update-to-client latency p50 %.1f ms, p99 %.1f ms, max %.1f ms%n", percentile(sorted, 0.50),
+                    percentile(sorted, 0.99), sorted[sorted.length - 1] / 1000.0);
+        }
+        boolean complete = delivered.get() == expected && closed.get() == 0;
+        System.out.println(complete ? "OK: every subscriber got every update" : "FAIL: updates or subscribers were lost");
+        streams.forEach(stream -> stream.cancel(true));
+        return complete;
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)] / 1000.0;
+    }
+
+    private final class FeedReader implements Flow.Subscriber<String> {
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            connected.incrementAndGet();
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (!line.startsWith("data: ")) {
+                return;
+            }
+            long now = System.nanoTime();
+            Matcher matcher = STOCK.matcher(line);
+            while (matcher.find()) {
+                if (Long.parseLong(matcher.group(1)) != productId) {
+                    continue;
+                }
+                Long sent = sentAt.get(Integer.parseInt(matcher.group(2)));
+                if (sent != null) {
+                    delivered.incrementAndGet();
+                    latenciesMicros.add((now - sent) / 1000);
+                }
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            closed.incrementAndGet();
+        }
+
+        @Override
+        public void onComplete() {
+            closed.incrementAndGet();
+        }
+    }
+
+    private String send(String method, String path, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .method(method, body != null ? HttpRequest.BodyPublishers.ofString(body) : HttpRequest.BodyPublishers.noBody())
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(method + " " + path + " returned " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+}
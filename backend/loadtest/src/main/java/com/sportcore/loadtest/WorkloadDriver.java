@@ -0,0 +1,245 @@
+package com.sportcore.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.Histogram;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+public class WorkloadDriver {
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(5);
+    private static final int PAGE_SIZE = 20;
+    private static final int LISTING_PAGES = 50;
+
+    private final LoadTestOptions options;
+    private final CatalogSnapshot catalog;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper;
+    private final ZipfSampler productPopularity;
+    private final ZipfSampler pagePopularity;
+    private final ZipfSampler termPopularity;
+    private final Operation[] schedule;
+
+    public WorkloadDriver(LoadTestOptions options, CatalogSnapshot catalog, HttpClient client, ObjectMapper objectMapper) {
+        this.options = options;
+        this.catalog = catalog;
+        this.client = client;
+        this.objectMapper = objectMapper;
+        this.productPopularity = new ZipfSampler(catalog.getProductRange(), options.getZipfExponent());
+        this.pagePopularity = new ZipfSampler(LISTING_PAGES, options.getZipfExponent());
+        this.termPopularity = new ZipfSampler(catalog.getSearchTerms().size(), options.getZipfExponent());
+        this.schedule = buildSchedule(options.getMix());
+    }
+
+    public LoadTestReport run() throws Exception {
+        ExecutorService workers = Executors.newFixedThreadPool(options.getUsers());
+        long start = System.nanoTime();
+        long measureFrom = start + options.getWarmup().toNanos();
+        long end = measureFrom + options.getDuration().toNanos();
+        Instant startedAt = Instant.now();
+
+        List<Future<Worker>> futures = new ArrayList<>();
+        for (int i = 0; i < options.getUsers(); i++) {
+            Worker worker = new Worker(i, start, measureFrom, end);
+            futures.add(workers.submit(() -> {
+                worker.run();
+                return worker;
+            }));
+        }
+
+        Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+        Map<Operation, Long> errors = new EnumMap<>(Operation.class);
+        Histogram total = newHistogram();
+        long totalErrors = 0;
+        for (Future<Worker> future : futures) {
+            Worker worker = future.get();
+            for (Operation operation : Operation.values()) {
+                latencies.computeIfAbsent(operation, o -> newHistogram()).add(worker.latencies.get(operation));
+                errors.merge(operation, worker.errors[operation.ordinal()], Long::sum);
+                totalErrors += worker.errors[operation.ordinal()];
+            }
+            total.add(worker.total);
+        }
+        workers.shutdown();
+
+        double seconds = options.getDuration().toNanos() / 1_000_000_000.0;
+        LoadTestReport report = new LoadTestReport();
+        report.setLabel(options.getLabel());
+        report.setBaseUrl(options.getBaseUrl());
+        report.setStartedAt(startedAt.toString());
+        report.setModel(options.isOpenModel() ? "open" : "closed");
+        report.setUsers(options.getUsers());
+        report.setTargetRate(options.getRate());
+        report.setDurationSeconds(seconds);
+        for (Operation operation : Operation.values()) {
+            if (options.getMix().getOrDefault(operation, 0) > 0) {
+                report.getOperations().add(OperationStats.from(operation.key(), latencies.get(operation),
+                        errors.get(operation), seconds));
+            }
+        }
+        report.getOperations().add(OperationStats.from(LoadTestReport.TOTAL, total, totalErrors, seconds));
+        return report;
+    }
+
+    private static Operation[] buildSchedule(Map<Operation, Integer> mix) {
+        List<Operation> slots = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                slots.add(operation);
+            }
+        });
+        return slots.toArray(new Operation[0]);
+    }
+
+    private static Histogram newHistogram() {
+        return new Histogram(HIGHEST_TRACKABLE_NANOS, 3);
+    }
+
+    private class Worker {
+
+        private final Random random;
+        private final long start;
+        private final long measureFrom;
+        private final long end;
+        private final Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+        private final long[] errors = new long[Operation.values().length];
+        private final Histogram total = newHistogram();
+
+        Worker(int index, long start, long measureFrom, long end) {
+            this.random = new Random(options.getSeed() + index);
+            this.start = start;
+            this.measureFrom = measureFrom;
+            this.end = end;
+            for (Operation operation : Operation.values()) {
+                latencies.put(operation, newHistogram());
+            }
+        }
+
+        void run() {
+            // Open model: every worker owns an evenly staggered slice of the target rate
+            long interval = options.isOpenModel() ? (long) (options.getUsers() * 1_000_000_000.0 / options.getRate()) : 0;
+            long intended = start + (interval > 0 ? interval * random.nextInt(1000) / 1000 : 0);
+            while (true) {
+                long now = System.nanoTime();
+                if (interval > 0) {
+                    if (intended > now) {
+                        LockSupport.parkNanos(intended - now);
+                    }
+                } else {
+                    intended = now;
+                }
+                if (intended >= end) {
+                    return;
+                }
+
+                Operation operation = schedule[random.nextInt(schedule.length)];
+                boolean ok = execute(operation);
+                // Measured from the intended start, so a stalled server cannot hide queued requests
+                long latency = Math.min(System.nanoTime() - intended, HIGHEST_TRACKABLE_NANOS);
+                if (intended >= measureFrom) {
+                    latencies.get(operation).recordValue(latency);
+                    total.recordValue(latency);
+                    if (!ok) {
+                        errors[operation.ordinal()]++;
+                    }
+                }
+                intended += interval;
+            }
+        }
+
+        private boolean execute(Operation operation) {
+            try {
+                return switch (operation) {
+                    case HOME -> get("/products/random?limit=12") && get("/categories");
+                    case LISTING -> listing();
+                    case DETAIL -> get("/products/" + popularProductId());
+                    case SEARCH -> get("/products/search?q=" + encode(term()) + "&size=" + PAGE_SIZE);
+                    case SUGGEST -> {
+                        String term = term();
+                        yield get("/products/suggest?q=" + encode(term.substring(0, Math.min(term.length(), 2 + random.nextInt(3)))));
+                    }
+                    case ADMIN_WRITE -> adminWrite();
+                };
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } catch (Exception e) {
+                return false;
+            }
+        }
+
+        private boolean listing() throws Exception {
+            int page = pagePopularity.next(random);
+            if (!catalog.getCategoryIds().isEmpty() && random.nextBoolean()) {
+                long categoryId = catalog.getCategoryIds().get(random.nextInt(catalog.getCategoryIds().size()));
+                return get("/products/query?categoryId=" + categoryId + "&page=" + page + "&size=" + PAGE_SIZE);
+            }
+            return get("/products?page=" + page + "&size=" + PAGE_SIZE);
+        }
+
+        private boolean adminWrite() throws Exception {
+            List<ObjectNode> products = catalog.getWritableProducts();
+            if (products.isEmpty()) {
+                return false;
+            }
+            // PUT is only accepted against the current version, so read the product the way an admin screen would
+            long id = products.get(random.nextInt(products.size())).path("id").asLong();
+            HttpResponse<byte[]> read = client.send(request("/products/" + id).GET().build(),
+                    HttpResponse.BodyHandlers.ofByteArray());
+            if (!isSuccess(read)) {
+                return false;
+            }
+            ObjectNode product = (ObjectNode) objectMapper.readTree(read.body());
+            product.remove("images");
+            product.put("stock", random.nextInt(500));
+            HttpRequest request = request("/products/" + id)
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(product)))
+                    .build();
+            return isSuccess(client.send(request, HttpResponse.BodyHandlers.discarding()));
+        }
+
+        private long popularProductId() {
+            return catalog.getMinProductId() + productPopularity.next(random);
+        }
+
+        private String term() {
+            List<String> terms = catalog.getSearchTerms();
+            return terms.isEmpty() ? "protein" : terms.get(termPopularity.next(random));
+        }
+
+        private boolean get(String path) throws Exception {
+            return isSuccess(client.send(request(path).GET().build(), HttpResponse.BodyHandlers.discarding()));
+        }
+
+        private HttpRequest.Builder request(String path) {
+            return HttpRequest.newBuilder(URI.create(options.getBaseUrl() + path)).timeout(options.getTimeout());
+        }
+
+        private boolean isSuccess(HttpResponse<?> response) {
+            return response.statusCode() >= 200 && response.statusCode() < 300;
+        }
+
+        private String encode(String value) {
+            return URLEncoder.encode(value, StandardCharsets.UTF_8);
+        }
+    }
+}
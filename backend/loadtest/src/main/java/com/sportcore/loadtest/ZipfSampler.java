@@ -0,0 +1,28 @@
+package com.sportcore.loadtest;
+
+import java.util.Arrays;
+import java.util.Random;
+
+// Samples ranks in [0, size) with probability proportional to 1 / (rank + 1)^exponent
+public class ZipfSampler {
+
+    private final double[] cumulative;
+
+    public ZipfSampler(int size, double exponent) {
+        cumulative = new double[Math.max(1, size)];
+        double total = 0;
+        for (int rank = 0; rank < cumulative.length; rank++) {
+            total += 1.0 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = total;
+        }
+        for (int rank = 0; rank < cumulative.length; rank++) {
+            cumulative[rank] /= total;
+        }
+    }
+
+    public int next(Random random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulative.length - 1);
+    }
+}
@@ -0,0 +1,45 @@
+package com.sportcore.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String PRODUCTS = "products";
+    public static final String ALL_PRODUCTS = "allProducts";
+    public static final String PRODUCTS_BY_CATEGORY = "productsByCategory";
+    public static final String CATEGORIES = "categories";
+    public static final String ALL_CATEGORIES = "allCategories";
+
+    public static final List<String> CATALOG_CACHES =
+            List.of(PRODUCTS, ALL_PRODUCTS, PRODUCTS_BY_CATEGORY, CATEGORIES, ALL_CATEGORIES);
+
+    @Value("${app.cache.catalog.maximum-size:10000}")
+    private long maximumSize;
+
+    @Value("${app.cache.catalog.ttl:10m}")
+    private Duration ttl;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats());
+        cacheManager.setCacheNames(CATALOG_CACHES);
+        cacheManager.setAllowNullValues(false);
+        return cacheManager;
+    }
+}
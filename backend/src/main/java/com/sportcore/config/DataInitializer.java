@@ -12,6 +12,7 @@ import com.sportcore.entity.Product;
 import com.sportcore.entity.ProductImage;
 import com.sportcore.repository.CategoryRepository;
 import com.sportcore.repository.ProductRepository;
+import com.sportcore.service.IdSequences;
 
 @Component
 public class DataInitializer implements CommandLineRunner {
@@ -22,8 +23,16 @@ public class DataInitializer implements CommandLineRunner {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private IdSequences idSequences;
+
     @Override
     public void run(String... args) throws Exception {
+        // data-with-images.sql inserts explicit ids; start the id sequences after them
+        for (String table : new String[] {"categories", "products", "product_images", "users"}) {
+            idSequences.moveAfterExistingRows(table);
+        }
+
         if (categoryRepository.count() == 0) {
             Category proteins = new Category("Proteins", "High-quality protein supplements for muscle building and recovery");
             Category creatine = new Category("Creatine", "Creatine supplements for enhanced strength and power");
@@ -0,0 +1,36 @@
+package com.sportcore.config;
+
+import java.util.function.Supplier;
+
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Read-only transactions go to the replica unless the caller needs to read its own just-committed writes
+public final class DataSourceRouting {
+
+    public enum Target {
+        PRIMARY,
+        REPLICA
+    }
+
+    private static final ThreadLocal<Boolean> PRIMARY_FORCED = new ThreadLocal<>();
+
+    private DataSourceRouting() {
+    }
+
+    public static <T> T onPrimary(Supplier<T> work) {
+        if (Boolean.TRUE.equals(PRIMARY_FORCED.get())) {
+            return work.get();
+        }
+        PRIMARY_FORCED.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            PRIMARY_FORCED.remove();
+        }
+    }
+
+    static Target currentTarget(boolean replicaAvailable) {
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        return readOnly && replicaAvailable && !Boolean.TRUE.equals(PRIMARY_FORCED.get()) ? Target.REPLICA : Target.PRIMARY;
+    }
+}
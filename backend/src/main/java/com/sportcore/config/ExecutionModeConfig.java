@@ -0,0 +1,32 @@
+package com.sportcore.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// With spring.threads.virtual.enabled=true on Java 21+, Boot runs Tomcat requests and the @Async executor on virtual threads
+@Configuration
+@EnableAsync
+@EnableScheduling
+public class ExecutionModeConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ExecutionModeConfig.class);
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsRequested;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void logExecutionMode() {
+        int feature = Runtime.version().feature();
+        if (virtualThreadsRequested && feature < 21) {
+            log.warn("Virtual threads requested but running on Java {}; requests use the platform thread pool", feature);
+        } else {
+            log.info("Request execution mode: {} threads (Java {})", virtualThreadsRequested ? "virtual" : "platform", feature);
+        }
+    }
+}
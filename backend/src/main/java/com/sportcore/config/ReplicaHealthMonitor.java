@@ -0,0 +1,91 @@
+package com.sportcore.config;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// The primary stamps a heartbeat row; reading it back from the replica gives the replication lag.
+// A replica that is down or further behind than max-lag stops receiving reads until it catches up.
+public class ReplicaHealthMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaHealthMonitor.class);
+
+    private static final String HEARTBEAT_TABLE = "replica_heartbeat";
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final Duration maxLag;
+
+    private volatile boolean available;
+    private volatile long lagMillis = -1;
+    private boolean heartbeatTableReady;
+
+    public ReplicaHealthMonitor(DataSource primary, DataSource replica, Duration maxLag, MeterRegistry meterRegistry) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.maxLag = maxLag;
+        Gauge.builder("sportcore.datasource.replica.available", this, monitor -> monitor.available ? 1 : 0)
+                .description("Whether read-only transactions are currently routed to the replica")
+                .register(meterRegistry);
+        Gauge.builder("sportcore.datasource.replica.lag", this, monitor -> monitor.lagMillis)
+                .description("Replication lag seen through the heartbeat row, -1 when unknown")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.check-interval-ms:1000}")
+    public void check() {
+        boolean healthy;
+        try {
+            if (maxLag.isZero() || maxLag.isNegative()) {
+                replica.queryForObject("SELECT 1", Integer.class);
+                lagMillis = -1;
+                healthy = true;
+            } else {
+                beat();
+                Timestamp lastBeat = replica.queryForObject("SELECT beat_at FROM " + HEARTBEAT_TABLE + " WHERE id = 1",
+                        Timestamp.class);
+                lagMillis = lastBeat != null ? Math.max(0, Duration.between(lastBeat.toInstant(), Instant.now()).toMillis()) : -1;
+                healthy = lagMillis >= 0 && lagMillis <= maxLag.toMillis();
+            }
+        } catch (RuntimeException e) {
+            lagMillis = -1;
+            healthy = false;
+            if (available) {
+                log.warn("Replica check failed: {}", e.getMessage());
+            }
+        }
+
+        if (healthy && !available) {
+            log.info("Replica enabled for reads (lag {} ms, max {} ms)", lagMillis, maxLag.toMillis());
+        } else if (!healthy && available) {
+            log.warn("Replica disabled for reads, falling back to primary (lag {} ms, max {} ms)", lagMillis, maxLag.toMillis());
+        }
+        available = healthy;
+    }
+
+    private void beat() {
+        if (!heartbeatTableReady) {
+            primary.execute("CREATE TABLE IF NOT EXISTS " + HEARTBEAT_TABLE + " (id INT PRIMARY KEY, beat_at TIMESTAMP NOT NULL)");
+            heartbeatTableReady = true;
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        if (primary.update("UPDATE " + HEARTBEAT_TABLE + " SET beat_at = ? WHERE id = 1", now) == 0) {
+            primary.update("INSERT INTO " + HEARTBEAT_TABLE + " (id, beat_at) VALUES (1, ?)", now);
+        }
+    }
+}
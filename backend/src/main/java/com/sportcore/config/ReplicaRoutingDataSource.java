@@ -0,0 +1,17 @@
+package com.sportcore.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final ReplicaHealthMonitor replicaHealth;
+
+    public ReplicaRoutingDataSource(ReplicaHealthMonitor replicaHealth) {
+        this.replicaHealth = replicaHealth;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return DataSourceRouting.currentTarget(replicaHealth.isAvailable());
+    }
+}
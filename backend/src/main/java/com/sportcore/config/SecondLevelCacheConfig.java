@@ -0,0 +1,74 @@
+package com.sportcore.config;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String CATEGORY = "category";
+    public static final String CATEGORY_PRODUCTS = "category.products";
+    public static final String PRODUCT = "product";
+    public static final String PRODUCT_IMAGES = "product.images";
+    public static final String PRODUCT_IMAGE = "productImage";
+    public static final String QUERY_RESULTS = "default-query-results-region";
+    public static final String UPDATE_TIMESTAMPS = "default-update-timestamps-region";
+
+    public static final List<String> REGIONS =
+            List.of(CATEGORY, CATEGORY_PRODUCTS, PRODUCT, PRODUCT_IMAGES, PRODUCT_IMAGE, QUERY_RESULTS);
+
+    @Autowired
+    private Environment environment;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager() {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+        long defaultMaximumSize = environment.getProperty("app.cache.l2.maximum-size", Long.class, 10_000L);
+        Duration defaultTtl = environment.getProperty("app.cache.l2.ttl", Duration.class, Duration.ofHours(1));
+        for (String region : REGIONS) {
+            String prefix = "app.cache.l2.regions." + region;
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(environment.getProperty(prefix + ".maximum-size", Long.class, defaultMaximumSize)));
+            configuration.setExpireAfterWrite(OptionalLong.of(
+                    environment.getProperty(prefix + ".ttl", Duration.class, defaultTtl).toNanos()));
+            createIfMissing(cacheManager, region, configuration);
+        }
+        // Timestamps guard query-cache staleness, so they stay unbounded and never expire
+        createIfMissing(cacheManager, UPDATE_TIMESTAMPS, new CaffeineConfiguration<>());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(AvailableSettings.AUTO_EVICT_COLLECTION_CACHE, true);
+            properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "create-warn");
+        };
+    }
+
+    private static void createIfMissing(CacheManager cacheManager, String region,
+                                        CaffeineConfiguration<Object, Object> configuration) {
+        if (cacheManager.getCache(region) == null) {
+            cacheManager.createCache(region, configuration);
+        }
+    }
+}
@@ -2,8 +2,11 @@ package com.sportcore.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 
 @Configuration
@@ -14,9 +17,21 @@ public class SecurityConfig {
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
             .csrf(csrf -> csrf.disable())
+            // Preflights are answered from the controllers' @CrossOrigin before authentication
+            .cors(Customizer.withDefaults())
             .authorizeHttpRequests(authz -> authz
+                // Orders carry addresses and card digits and belong to whoever placed them; placing or reading
+                // one takes a signed-in account
+                .requestMatchers("/orders/**").authenticated()
                 .anyRequest().permitAll()
-            );
+            )
+            .httpBasic(Customizer.withDefaults());
         return http.build();
     }
+
+    // Stored passwords carry their scheme as a prefix, e.g. {bcrypt}
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        return PasswordEncoderFactories.createDelegatingPasswordEncoder();
+    }
 }
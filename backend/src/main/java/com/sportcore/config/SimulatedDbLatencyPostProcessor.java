@@ -0,0 +1,84 @@
+package com.sportcore.config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.util.DriverDataSource;
+
+// Load-test aid: adds a fixed delay to every JDBC execute so the embedded database behaves like a remote one.
+// The delay goes on the physical connections Hikari opens, not around the pool, so the bean stays a
+// HikariDataSource and pool metrics, pool metadata and the SQL tracking proxy see it as usual.
+@Component
+@ConditionalOnExpression("'${app.loadtest.db-latency:0ms}' != '0ms'")
+public class SimulatedDbLatencyPostProcessor implements BeanPostProcessor, Ordered {
+
+    private final Duration latency;
+
+    public SimulatedDbLatencyPostProcessor(Environment environment) {
+        this.latency = environment.getProperty("app.loadtest.db-latency", Duration.class, Duration.ZERO);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    // Runs before the pool starts (on its first getConnection), while its configuration can still change
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof HikariDataSource pool) || latency.isZero() || pool.getDataSource() != null
+                || pool.getJdbcUrl() == null) {
+            return bean;
+        }
+        DataSource driver = new DriverDataSource(pool.getJdbcUrl(), pool.getDriverClassName(),
+                pool.getDataSourceProperties(), pool.getUsername(), pool.getPassword());
+        pool.setDataSource(proxy(DataSource.class, driver, (target, method, args) -> {
+            Object result = invoke(driver, method, args);
+            return result instanceof Connection connection ? connection(connection) : result;
+        }));
+        return bean;
+    }
+
+    private Connection connection(Connection connection) {
+        return proxy(Connection.class, connection, (target, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof Statement statement) {
+                Class<?> type = method.getReturnType();
+                return proxy(type, statement, (proxy, statementMethod, statementArgs) -> {
+                    if (statementMethod.getName().startsWith("execute")) {
+                        Thread.sleep(latency.toMillis(), latency.toNanosPart() % 1_000_000);
+                    }
+                    return invoke(statement, statementMethod, statementArgs);
+                });
+            }
+            return result;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Object target, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(SimulatedDbLatencyPostProcessor.class.getClassLoader(), new Class<?>[] {type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.sportcore.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.sportcore.service.SyntheticCatalogGenerator;
+
+@Component
+@Order(100)
+@ConditionalOnProperty(name = "app.loadtest.generate", havingValue = "true")
+public class SyntheticCatalogInitializer implements CommandLineRunner {
+
+    @Autowired
+    private SyntheticCatalogGenerator syntheticCatalogGenerator;
+
+    @Value("${app.loadtest.categories:50}")
+    private int categories;
+
+    @Value("${app.loadtest.products:100000}")
+    private int products;
+
+    @Value("${app.loadtest.images-per-product:3}")
+    private int imagesPerProduct;
+
+    @Value("${app.loadtest.seed:42}")
+    private long seed;
+
+    @Override
+    public void run(String... args) {
+        syntheticCatalogGenerator.generate(categories, products, imagesPerProduct, seed);
+    }
+}
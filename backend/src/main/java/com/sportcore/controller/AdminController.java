@@ -0,0 +1,111 @@
+package com.sportcore.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.sportcore.dto.CacheStatsDto;
+import com.sportcore.dto.HotStockDto;
+import com.sportcore.dto.OutboxStatsDto;
+import com.sportcore.dto.SqlViolationDto;
+import com.sportcore.dto.SuggestionStatsDto;
+import com.sportcore.metrics.SqlViolationLog;
+import com.sportcore.outbox.OutboxRelay;
+import com.sportcore.search.ProductSuggester;
+import com.sportcore.service.CatalogCacheService;
+import com.sportcore.service.HotStockCounters;
+
+@RestController
+@RequestMapping("/admin")
+@CrossOrigin(originPatterns = {"http://localhost:*", "http://127.0.0.1:*"})
+public class AdminController {
+
+    @Autowired
+    private CatalogCacheService catalogCacheService;
+
+    @Autowired
+    private ProductSuggester productSuggester;
+
+    @Autowired
+    private SqlViolationLog sqlViolationLog;
+
+    @Autowired
+    private HotStockCounters hotStockCounters;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @GetMapping("/cache")
+    public ResponseEntity<List<CacheStatsDto>> getCacheStats() {
+        return ResponseEntity.ok(catalogCacheService.getStats());
+    }
+
+    @GetMapping("/cache/l2")
+    public ResponseEntity<List<CacheStatsDto>> getSecondLevelCacheStats() {
+        return ResponseEntity.ok(catalogCacheService.getSecondLevelStats());
+    }
+
+    @PostMapping("/cache/warm")
+    public ResponseEntity<List<CacheStatsDto>> warmCache() {
+        catalogCacheService.warm();
+        return ResponseEntity.ok(catalogCacheService.getStats());
+    }
+
+    @DeleteMapping("/cache")
+    public ResponseEntity<Void> clearCache() {
+        catalogCacheService.clearAll();
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<SuggestionStatsDto> getSuggestionStats() {
+        return ResponseEntity.ok(productSuggester.getStats());
+    }
+
+    @GetMapping("/sql/violations")
+    public ResponseEntity<List<SqlViolationDto>> getSqlViolations() {
+        return ResponseEntity.ok(sqlViolationLog.getRecent());
+    }
+
+    @DeleteMapping("/sql/violations")
+    public ResponseEntity<Void> clearSqlViolations() {
+        sqlViolationLog.clear();
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/stock/hot")
+    public ResponseEntity<List<HotStockDto>> getHotStockCounters() {
+        return ResponseEntity.ok(hotStockCounters.getCounters());
+    }
+
+    @PutMapping("/stock/hot/{productId}")
+    public ResponseEntity<HotStockDto> enableHotStock(@PathVariable Long productId) {
+        return ResponseEntity.ok(hotStockCounters.enable(productId));
+    }
+
+    @DeleteMapping("/stock/hot/{productId}")
+    public ResponseEntity<Void> disableHotStock(@PathVariable Long productId) {
+        hotStockCounters.disable(productId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/outbox")
+    public ResponseEntity<OutboxStatsDto> getOutboxStats() {
+        return ResponseEntity.ok(outboxRelay.getStats());
+    }
+
+    @PostMapping("/outbox/dead/requeue")
+    public ResponseEntity<Map<String, Integer>> requeueDeadOutboxMessages() {
+        return ResponseEntity.ok(Map.of("requeued", outboxRelay.requeueDead()));
+    }
+}
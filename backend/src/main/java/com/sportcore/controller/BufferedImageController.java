@@ -0,0 +1,37 @@
+package com.sportcore.controller;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.sportcore.service.ImageStore;
+
+// Load-test aid: the same files read into a byte[] per request, as the baseline for the images benchmark
+@RestController
+@RequestMapping("/loadtest/images")
+@ConditionalOnProperty(name = "app.loadtest.buffered-images", havingValue = "true")
+public class BufferedImageController {
+
+    @Autowired
+    private ImageStore imageStore;
+
+    @GetMapping("/{hash}/{fileName}")
+    public ResponseEntity<byte[]> getImage(@PathVariable String hash, @PathVariable String fileName) throws IOException {
+        Path file = imageStore.resolve(hash, fileName).filter(Files::isRegularFile).orElse(null);
+        if (file == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(imageStore.contentType(fileName)))
+                .body(Files.readAllBytes(file));
+    }
+}
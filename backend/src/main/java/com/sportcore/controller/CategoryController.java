@@ -1,5 +1,6 @@
 package com.sportcore.controller;
 
+import java.time.Instant;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,8 +15,12 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.sportcore.dto.BatchIdsDto;
+import com.sportcore.dto.BatchResultDto;
 import com.sportcore.dto.CategoryDto;
+import com.sportcore.service.CatalogBatchService;
 import com.sportcore.service.CategoryService;
 
 import jakarta.validation.Valid;
@@ -28,16 +33,22 @@ public class CategoryController {
     @Autowired
     private CategoryService categoryService;
 
+    @Autowired
+    private CatalogBatchService catalogBatchService;
+
+    @Autowired
+    private HttpCacheSupport httpCacheSupport;
+
     @GetMapping
-    public ResponseEntity<List<CategoryDto>> getAllCategories() {
-        List<CategoryDto> categories = categoryService.getAllCategories();
-        return ResponseEntity.ok(categories);
+    public ResponseEntity<List<CategoryDto>> getAllCategories(WebRequest request) {
+        return httpCacheSupport.catalog(request, HttpCacheSupport.CATEGORIES, () -> categoryService.getAllCategories());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<CategoryDto> getCategoryById(@PathVariable Long id) {
-        CategoryDto category = categoryService.getCategoryById(id);
-        return ResponseEntity.ok(category);
+    public ResponseEntity<CategoryDto> getCategoryById(@PathVariable Long id, WebRequest request) {
+        Instant lastModified = categoryService.getCategoryLastModified(id);
+        return httpCacheSupport.entity(request, HttpCacheSupport.CATEGORIES, "category", id, lastModified,
+                () -> categoryService.getCategoryById(id));
     }
 
     @PostMapping
@@ -52,6 +63,11 @@ public class CategoryController {
         return ResponseEntity.ok(updatedCategory);
     }
 
+    @DeleteMapping("/batch")
+    public ResponseEntity<BatchResultDto> deleteCategories(@Valid @RequestBody BatchIdsDto batch) {
+        return ResponseEntity.ok(catalogBatchService.deleteCategories(batch.getIds()));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteCategory(@PathVariable Long id) {
         categoryService.deleteCategory(id);
@@ -0,0 +1,63 @@
+package com.sportcore.controller;
+
+import java.time.Instant;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import com.sportcore.service.CatalogVersion;
+
+// Answers If-None-Match / If-Modified-Since before the body is built, so a 304 costs no DTO work
+@Component
+public class HttpCacheSupport {
+
+    public static final String PRODUCT_DETAIL = "product-detail";
+    public static final String PRODUCT_LIST = "product-list";
+    public static final String SEARCH = "search";
+    public static final String CATEGORIES = "categories";
+
+    private static final String DEFAULT_POLICY = "no-cache";
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    public <T> ResponseEntity<T> catalog(WebRequest request, String endpoint, Supplier<T> body) {
+        return conditional(request, endpoint, catalogVersion.getTag(), catalogVersion.getLastModified(), body);
+    }
+
+    public <T> ResponseEntity<T> entity(WebRequest request, String endpoint, String type, Long id, Instant lastModified,
+                                        Supplier<T> body) {
+        String tag = type + "-" + id + "-" + lastModified.getEpochSecond() + "." + lastModified.getNano();
+        return conditional(request, endpoint, tag, lastModified, body);
+    }
+
+    private <T> ResponseEntity<T> conditional(WebRequest request, String endpoint, String tag, Instant lastModified,
+                                              Supplier<T> body) {
+        // Weak: gzip changes the bytes, and Tomcat refuses to compress responses carrying a strong ETag
+        String eTag = "W/\"" + tag + "\"";
+        String cacheControl = environment.getProperty("app.http.cache-control." + endpoint, DEFAULT_POLICY);
+        if (request.checkNotModified(eTag, lastModified.toEpochMilli())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .lastModified(lastModified)
+                    .header(HttpHeaders.CACHE_CONTROL, cacheControl)
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .lastModified(lastModified)
+                .header(HttpHeaders.CACHE_CONTROL, cacheControl)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(body.get());
+    }
+}
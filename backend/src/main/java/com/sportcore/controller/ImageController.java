@@ -0,0 +1,30 @@
+package com.sportcore.controller;
+
+import java.io.IOException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.sportcore.service.ImageFileServer;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+@RestController
+@RequestMapping("/images")
+@CrossOrigin(originPatterns = {"http://localhost:*", "http://127.0.0.1:*"})
+public class ImageController {
+
+    @Autowired
+    private ImageFileServer imageFileServer;
+
+    @GetMapping("/{hash}/{fileName}")
+    public void getImage(@PathVariable String hash, @PathVariable String fileName, HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
+        imageFileServer.serve(hash, fileName, request, response);
+    }
+}
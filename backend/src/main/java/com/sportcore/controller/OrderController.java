@@ -0,0 +1,69 @@
+package com.sportcore.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.sportcore.dto.CreateOrderRequestDto;
+import com.sportcore.dto.OrderDto;
+import com.sportcore.exception.BadRequestException;
+import com.sportcore.service.AccountPrincipal;
+import com.sportcore.service.OrderPlacement;
+import com.sportcore.service.OrderService;
+
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/orders")
+@CrossOrigin(originPatterns = {"http://localhost:*", "http://127.0.0.1:*"}, exposedHeaders = OrderController.REPLAYED_HEADER)
+public class OrderController {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 100;
+
+    @Autowired
+    private OrderService orderService;
+
+    @PostMapping
+    // The order belongs to the signed-in caller
+    public ResponseEntity<OrderDto> createOrder(@Valid @RequestBody CreateOrderRequestDto request,
+                                                @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+                                                @AuthenticationPrincipal AccountPrincipal caller) {
+        if (idempotencyKey != null && (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH)) {
+            throw new BadRequestException(IDEMPOTENCY_KEY_HEADER + " must be 1 to " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+        }
+        OrderPlacement placement = orderService.placeOrder(request, caller.getUserId(), idempotencyKey);
+        if (placement.isReplayed()) {
+            return ResponseEntity.ok().header(REPLAYED_HEADER, "true").body(placement.getOrder());
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(placement.getOrder());
+    }
+
+    // Customers only see their own orders; admins see everyone's
+    @GetMapping("/{id}")
+    public ResponseEntity<OrderDto> getOrderById(@PathVariable Long id, @AuthenticationPrincipal AccountPrincipal caller) {
+        return ResponseEntity.ok(orderService.getOrderById(id, caller.isAdmin() ? null : caller.getUserId()));
+    }
+
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<List<OrderDto>> getOrdersByUser(@PathVariable Long userId, @AuthenticationPrincipal AccountPrincipal caller) {
+        if (!caller.isAdmin() && !userId.equals(caller.getUserId())) {
+            throw new AccessDeniedException("Orders of user " + userId + " belong to another account");
+        }
+        return ResponseEntity.ok(orderService.getOrdersByUser(userId));
+    }
+}
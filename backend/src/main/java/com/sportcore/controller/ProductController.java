@@ -1,26 +1,56 @@
 package com.sportcore.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.sportcore.dto.BatchIdsDto;
+import com.sportcore.dto.BatchResultDto;
+import com.sportcore.dto.BulkImportResultDto;
+import com.sportcore.dto.CursorPage;
+import com.sportcore.dto.PriceAdjustmentDto;
+import com.sportcore.dto.ProductBatchUpdateDto;
 import com.sportcore.dto.ProductDto;
+import com.sportcore.dto.ProductFilter;
+import com.sportcore.dto.ProductImageDto;
+import com.sportcore.dto.ProductQueryResultDto;
+import com.sportcore.dto.SuggestionDto;
+import com.sportcore.search.ProductSuggester;
+import com.sportcore.service.CatalogBatchService;
+import com.sportcore.service.ProductExportService;
+import com.sportcore.service.ProductImageService;
+import com.sportcore.service.ProductImportReader;
+import com.sportcore.service.ProductImportService;
+import com.sportcore.service.ProductPopularity;
 import com.sportcore.service.ProductService;
+import com.sportcore.service.ProductStreamHub;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 @RestController
@@ -31,40 +61,119 @@ public class ProductController {
     @Autowired
     private ProductService productService;
 
+    @Autowired
+    private ProductExportService productExportService;
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private CatalogBatchService catalogBatchService;
+
+    @Autowired
+    private ProductSuggester productSuggester;
+
+    @Autowired
+    private ProductPopularity productPopularity;
+
+    @Autowired
+    private HttpCacheSupport httpCacheSupport;
+
+    @Autowired
+    private ProductStreamHub productStreamHub;
+
+    @Autowired
+    private ProductImageService productImageService;
+
     @GetMapping
-    public ResponseEntity<Page<ProductDto>> getAllProducts(Pageable pageable) {
-        Page<ProductDto> products = productService.getAllProducts(pageable);
-        return ResponseEntity.ok(products);
+    public ResponseEntity<Page<ProductDto>> getAllProducts(Pageable pageable, WebRequest request) {
+        return httpCacheSupport.catalog(request, HttpCacheSupport.PRODUCT_LIST, () -> productService.getAllProducts(pageable));
+    }
+
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPage<ProductDto>> getProductsByCursor(@RequestParam(required = false) String after,
+                                                                      @RequestParam(defaultValue = "createdAt") String sort,
+                                                                      @RequestParam(defaultValue = "asc") String direction,
+                                                                      @RequestParam(defaultValue = "20") int size,
+                                                                      WebRequest request) {
+        return httpCacheSupport.catalog(request, HttpCacheSupport.PRODUCT_LIST,
+                () -> productService.getProductsAfter(after, sort, direction, size));
     }
 
     @GetMapping("/all")
-    public ResponseEntity<List<ProductDto>> getAllProductsList() {
-        List<ProductDto> products = productService.getAllProducts();
-        return ResponseEntity.ok(products);
+    public ResponseEntity<List<ProductDto>> getAllProductsList(WebRequest request) {
+        return httpCacheSupport.catalog(request, HttpCacheSupport.PRODUCT_LIST, () -> productService.getAllProducts());
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportProducts(@RequestParam(defaultValue = "ndjson") String format) {
+        ProductExportService.Format exportFormat = "json".equalsIgnoreCase(format)
+                ? ProductExportService.Format.JSON
+                : ProductExportService.Format.NDJSON;
+        StreamingResponseBody body = outputStream -> productExportService.exportProducts(outputStream, exportFormat);
+        return ResponseEntity.ok()
+                .contentType(exportFormat == ProductExportService.Format.JSON ? MediaType.APPLICATION_JSON : MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    // Server-Sent Events with price and stock deltas for the given ids, a category, or the whole catalog
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public void streamProductChanges(@RequestParam(required = false) List<Long> ids,
+                                     @RequestParam(required = false) Long categoryId,
+                                     HttpServletRequest request, HttpServletResponse response) throws IOException {
+        productStreamHub.subscribe(ids, categoryId, request, response);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ProductDto> getProductById(@PathVariable Long id) {
-        ProductDto product = productService.getProductById(id);
-        return ResponseEntity.ok(product);
+    public ResponseEntity<ProductDto> getProductById(@PathVariable Long id, WebRequest request) {
+        Instant lastModified = productService.getProductLastModified(id);
+        productPopularity.recordView(id);
+        return httpCacheSupport.entity(request, HttpCacheSupport.PRODUCT_DETAIL, "product", id, lastModified,
+                () -> productService.getProductById(id));
     }
 
     @GetMapping("/random")
-    public ResponseEntity<List<ProductDto>> getRandomProducts(@RequestParam(defaultValue = "10") int limit) {
-        List<ProductDto> products = productService.getRandomProducts(limit);
-        return ResponseEntity.ok(products);
+    public ResponseEntity<List<ProductDto>> getRandomProducts(@RequestParam(defaultValue = "10") int limit,
+                                                              @RequestParam(required = false) Long categoryId,
+                                                              @RequestParam(required = false) Long seed,
+                                                              WebRequest request) {
+        if (seed == null) {
+            // Unseeded samples differ on every call, so there is nothing to validate against
+            List<ProductDto> products = productService.getRandomProducts(limit, categoryId, null);
+            return ResponseEntity.ok(products);
+        }
+        return httpCacheSupport.catalog(request, HttpCacheSupport.PRODUCT_LIST,
+                () -> productService.getRandomProducts(limit, categoryId, seed));
     }
 
     @GetMapping("/category/{categoryId}")
-    public ResponseEntity<List<ProductDto>> getProductsByCategory(@PathVariable Long categoryId) {
-        List<ProductDto> products = productService.getProductsByCategory(categoryId);
-        return ResponseEntity.ok(products);
+    public ResponseEntity<List<ProductDto>> getProductsByCategory(@PathVariable Long categoryId, WebRequest request) {
+        return httpCacheSupport.catalog(request, HttpCacheSupport.PRODUCT_LIST,
+                () -> productService.getProductsByCategory(categoryId));
+    }
+
+    @GetMapping("/query")
+    public ResponseEntity<ProductQueryResultDto> queryProducts(ProductFilter filter, Pageable pageable, WebRequest request) {
+        return httpCacheSupport.catalog(request, HttpCacheSupport.SEARCH, () -> productService.queryProducts(filter, pageable));
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<SuggestionDto>> suggestProducts(@RequestParam String q,
+                                                               @RequestParam(defaultValue = "8") int limit,
+                                                               WebRequest request) {
+        return httpCacheSupport.catalog(request, HttpCacheSupport.SEARCH,
+                () -> productSuggester.suggest(q, Math.min(limit, 50)));
+    }
+
+    @GetMapping(value = "/search", params = "name")
+    public ResponseEntity<List<ProductDto>> searchProducts(@RequestParam String name, WebRequest request) {
+        return httpCacheSupport.catalog(request, HttpCacheSupport.SEARCH, () -> productService.searchProductsByName(name));
     }
 
-    @GetMapping("/search")
-    public ResponseEntity<List<ProductDto>> searchProducts(@RequestParam String name) {
-        List<ProductDto> products = productService.searchProductsByName(name);
-        return ResponseEntity.ok(products);
+    @GetMapping(value = "/search", params = "q")
+    public ResponseEntity<Page<ProductDto>> searchProductsRanked(@RequestParam String q, Pageable pageable,
+                                                                 WebRequest request) {
+        return httpCacheSupport.catalog(request, HttpCacheSupport.SEARCH, () -> productService.searchProducts(q, pageable));
     }
 
     @PostMapping
@@ -73,6 +182,49 @@ public class ProductController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdProduct);
     }
 
+    @PostMapping(value = "/{id}/images", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ProductImageDto> uploadImage(@PathVariable Long id, @RequestParam MultipartFile file,
+                                                       @RequestParam(required = false) String altText,
+                                                       @RequestParam(defaultValue = "false") boolean primary) throws IOException {
+        try (InputStream content = file.getInputStream()) {
+            ProductImageDto image = productImageService.uploadImage(id, content, altText, primary);
+            return ResponseEntity.status(HttpStatus.CREATED).body(image);
+        }
+    }
+
+    // Same upload with the image as the request body, copied into the store as it arrives
+    @PostMapping(value = "/{id}/images", consumes = "image/*")
+    public ResponseEntity<ProductImageDto> uploadImageBody(@PathVariable Long id, InputStream body,
+                                                           @RequestParam(required = false) String altText,
+                                                           @RequestParam(defaultValue = "false") boolean primary) throws IOException {
+        ProductImageDto image = productImageService.uploadImage(id, body, altText, primary);
+        return ResponseEntity.status(HttpStatus.CREATED).body(image);
+    }
+
+    @PostMapping(value = "/bulk", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkImportResultDto> importProducts(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                              InputStream body) throws IOException {
+        ProductImportReader.Format format = MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)
+                ? ProductImportReader.Format.NDJSON
+                : ProductImportReader.Format.CSV;
+        return ResponseEntity.ok(productImportService.importProducts(body, format));
+    }
+
+    @PatchMapping("/batch")
+    public ResponseEntity<BatchResultDto> updateProducts(@Valid @RequestBody ProductBatchUpdateDto batch) {
+        return ResponseEntity.ok(catalogBatchService.updateProducts(batch.getProducts()));
+    }
+
+    @DeleteMapping("/batch")
+    public ResponseEntity<BatchResultDto> deleteProducts(@Valid @RequestBody BatchIdsDto batch) {
+        return ResponseEntity.ok(catalogBatchService.deleteProducts(batch.getIds()));
+    }
+
+    @PostMapping("/batch/price-adjustment")
+    public ResponseEntity<BatchResultDto> adjustPrices(@Valid @RequestBody PriceAdjustmentDto adjustment) {
+        return ResponseEntity.ok(catalogBatchService.adjustPrices(adjustment));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ProductDto> updateProduct(@PathVariable Long id, @Valid @RequestBody ProductDto productDto) {
         ProductDto updatedProduct = productService.updateProduct(id, productDto);
@@ -0,0 +1,96 @@
+package com.sportcore.controller;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+// Applies ?fields=id,name,images.url to catalog responses; page envelopes keep their metadata and trim only the items
+@ControllerAdvice(assignableTypes = {ProductController.class, CategoryController.class})
+public class SparseFieldsetAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String FIELDS_PARAMETER = "fields";
+
+    private static final String PAGE_CONTENT = "content";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return AbstractJackson2HttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body == null || !(request instanceof ServletServerHttpRequest servletRequest)) {
+            return body;
+        }
+        String fields = servletRequest.getServletRequest().getParameter(FIELDS_PARAMETER);
+        if (fields == null || fields.isBlank()) {
+            return body;
+        }
+
+        Map<String, Object> selection = parse(fields);
+        JsonNode tree = objectMapper.valueToTree(body);
+        if (tree instanceof ObjectNode envelope && envelope.get(PAGE_CONTENT) instanceof ArrayNode content) {
+            select(content, selection);
+        } else {
+            select(tree, selection);
+        }
+        return tree;
+    }
+
+    // "id,images.url,images.altText" -> {id={}, images={url={}, altText={}}}; an empty map keeps the whole value
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> parse(String fields) {
+        Map<String, Object> selection = new LinkedHashMap<>();
+        for (String field : fields.split(",")) {
+            Map<String, Object> level = selection;
+            for (String part : field.trim().split("\\.")) {
+                if (!part.isEmpty()) {
+                    level = (Map<String, Object>) level.computeIfAbsent(part, key -> new LinkedHashMap<String, Object>());
+                }
+            }
+        }
+        return selection;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void select(JsonNode node, Map<String, Object> selection) {
+        if (selection.isEmpty()) {
+            return;
+        }
+        if (node instanceof ArrayNode array) {
+            array.forEach(element -> select(element, selection));
+        } else if (node instanceof ObjectNode object) {
+            Iterator<Map.Entry<String, JsonNode>> fields = object.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                Object nested = selection.get(field.getKey());
+                if (nested == null) {
+                    fields.remove();
+                } else {
+                    select(field.getValue(), (Map<String, Object>) nested);
+                }
+            }
+        }
+    }
+}
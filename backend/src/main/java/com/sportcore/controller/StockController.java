@@ -0,0 +1,50 @@
+package com.sportcore.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.sportcore.dto.StockReservationDto;
+import com.sportcore.dto.StockReservationRequestDto;
+import com.sportcore.service.StockReservationService;
+
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/stock")
+@CrossOrigin(originPatterns = {"http://localhost:*", "http://127.0.0.1:*"})
+public class StockController {
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    @PostMapping("/reservations")
+    public ResponseEntity<StockReservationDto> reserve(@Valid @RequestBody StockReservationRequestDto request) {
+        StockReservationDto reservation = stockReservationService.reserve(request.getProductId(), request.getQuantity());
+        return ResponseEntity.status(HttpStatus.CREATED).body(reservation);
+    }
+
+    @GetMapping("/reservations/{id}")
+    public ResponseEntity<StockReservationDto> getReservation(@PathVariable Long id) {
+        return ResponseEntity.ok(stockReservationService.getReservation(id));
+    }
+
+    @PostMapping("/reservations/{id}/confirm")
+    public ResponseEntity<StockReservationDto> confirm(@PathVariable Long id) {
+        return ResponseEntity.ok(stockReservationService.confirm(id));
+    }
+
+    @DeleteMapping("/reservations/{id}")
+    public ResponseEntity<Void> release(@PathVariable Long id) {
+        stockReservationService.release(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,22 @@
+package com.sportcore.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+
+public class BatchIdsDto {
+
+    @NotEmpty(message = "At least one id is required")
+    private List<Long> ids = new ArrayList<>();
+
+    public BatchIdsDto() {}
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+}
@@ -0,0 +1,63 @@
+package com.sportcore.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BatchResultDto {
+
+    private int requested;
+
+    private int affected;
+
+    private List<Long> notFound = new ArrayList<>();
+
+    // Rows left unchanged because they were modified after the version the caller sent
+    private List<Long> conflicts = new ArrayList<>();
+
+    public BatchResultDto() {}
+
+    public BatchResultDto(int requested, int affected, List<Long> notFound) {
+        this.requested = requested;
+        this.affected = affected;
+        this.notFound = notFound;
+    }
+
+    public BatchResultDto(int requested, int affected, List<Long> notFound, List<Long> conflicts) {
+        this.requested = requested;
+        this.affected = affected;
+        this.notFound = notFound;
+        this.conflicts = conflicts;
+    }
+
+    public int getRequested() {
+        return requested;
+    }
+
+    public void setRequested(int requested) {
+        this.requested = requested;
+    }
+
+    public int getAffected() {
+        return affected;
+    }
+
+    public void setAffected(int affected) {
+        this.affected = affected;
+    }
+
+    public List<Long> getNotFound() {
+        return notFound;
+    }
+
+    public void setNotFound(List<Long> notFound) {
+        this.notFound = notFound;
+    }
+
+    public List<Long> getConflicts() {
+        return conflicts;
+    }
+
+    public void setConflicts(List<Long> conflicts) {
+        this.conflicts = conflicts;
+    }
+}
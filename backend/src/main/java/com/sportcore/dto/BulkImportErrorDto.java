@@ -0,0 +1,42 @@
+package com.sportcore.dto;
+
+public class BulkImportErrorDto {
+
+    private long line;
+
+    private String name;
+
+    private String message;
+
+    public BulkImportErrorDto() {}
+
+    public BulkImportErrorDto(long line, String name, String message) {
+        this.line = line;
+        this.name = name;
+        this.message = message;
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    public void setLine(long line) {
+        this.line = line;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,69 @@
+package com.sportcore.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkImportResultDto {
+
+    private long received;
+
+    private long imported;
+
+    private long failed;
+
+    private long durationMs;
+
+    private boolean errorsTruncated;
+
+    private List<BulkImportErrorDto> errors = new ArrayList<>();
+
+    public BulkImportResultDto() {}
+
+    public long getReceived() {
+        return received;
+    }
+
+    public void setReceived(long received) {
+        this.received = received;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public void setImported(long imported) {
+        this.imported = imported;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+
+    public boolean isErrorsTruncated() {
+        return errorsTruncated;
+    }
+
+    public void setErrorsTruncated(boolean errorsTruncated) {
+        this.errorsTruncated = errorsTruncated;
+    }
+
+    public List<BulkImportErrorDto> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<BulkImportErrorDto> errors) {
+        this.errors = errors;
+    }
+}
@@ -0,0 +1,96 @@
+package com.sportcore.dto;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+public class CreateOrderRequestDto {
+
+    @Valid
+    @NotEmpty(message = "At least one item is required")
+    @Size(max = 100, message = "An order must not exceed 100 items")
+    private List<OrderItemDto> items = new ArrayList<>();
+
+    @Valid
+    @NotNull(message = "Shipping address is required")
+    private ShippingAddressDto shippingAddress;
+
+    @Valid
+    @NotNull(message = "Payment info is required")
+    private PaymentInfoDto paymentInfo;
+
+    @NotNull(message = "Subtotal is required")
+    private BigDecimal subtotal;
+
+    @NotNull(message = "Shipping is required")
+    private BigDecimal shipping;
+
+    @NotNull(message = "Tax is required")
+    private BigDecimal tax;
+
+    @NotNull(message = "Total is required")
+    private BigDecimal total;
+
+    public CreateOrderRequestDto() {}
+
+    public List<OrderItemDto> getItems() {
+        return items;
+    }
+
+    public void setItems(List<OrderItemDto> items) {
+        this.items = items;
+    }
+
+    public ShippingAddressDto getShippingAddress() {
+        return shippingAddress;
+    }
+
+    public void setShippingAddress(ShippingAddressDto shippingAddress) {
+        this.shippingAddress = shippingAddress;
+    }
+
+    public PaymentInfoDto getPaymentInfo() {
+        return paymentInfo;
+    }
+
+    public void setPaymentInfo(PaymentInfoDto paymentInfo) {
+        this.paymentInfo = paymentInfo;
+    }
+
+    public BigDecimal getSubtotal() {
+        return subtotal;
+    }
+
+    public void setSubtotal(BigDecimal subtotal) {
+        this.subtotal = subtotal;
+    }
+
+    public BigDecimal getShipping() {
+        return shipping;
+    }
+
+    public void setShipping(BigDecimal shipping) {
+        this.shipping = shipping;
+    }
+
+    public BigDecimal getTax() {
+        return tax;
+    }
+
+    public void setTax(BigDecimal tax) {
+        this.tax = tax;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+}
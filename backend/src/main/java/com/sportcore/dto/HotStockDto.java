@@ -0,0 +1,53 @@
+package com.sportcore.dto;
+
+public class HotStockDto {
+
+    private Long productId;
+
+    private int heldUnits;
+
+    private long reservations;
+
+    private long databaseClaims;
+
+    public HotStockDto() {}
+
+    public HotStockDto(Long productId, int heldUnits, long reservations, long databaseClaims) {
+        this.productId = productId;
+        this.heldUnits = heldUnits;
+        this.reservations = reservations;
+        this.databaseClaims = databaseClaims;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public int getHeldUnits() {
+        return heldUnits;
+    }
+
+    public void setHeldUnits(int heldUnits) {
+        this.heldUnits = heldUnits;
+    }
+
+    public long getReservations() {
+        return reservations;
+    }
+
+    public void setReservations(long reservations) {
+        this.reservations = reservations;
+    }
+
+    public long getDatabaseClaims() {
+        return databaseClaims;
+    }
+
+    public void setDatabaseClaims(long databaseClaims) {
+        this.databaseClaims = databaseClaims;
+    }
+}
@@ -0,0 +1,80 @@
+package com.sportcore.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public class OutboxStatsDto {
+
+    private long pending;
+
+    private long published;
+
+    private long dead;
+
+    private Long oldestPendingAgeMs;
+
+    private List<String> consumers;
+
+    // Deliveries each consumer is retrying or gave up on
+    private Map<String, Long> failing;
+
+    public OutboxStatsDto() {}
+
+    public OutboxStatsDto(long pending, long published, long dead, Long oldestPendingAgeMs, List<String> consumers,
+                          Map<String, Long> failing) {
+        this.pending = pending;
+        this.published = published;
+        this.dead = dead;
+        this.oldestPendingAgeMs = oldestPendingAgeMs;
+        this.consumers = consumers;
+        this.failing = failing;
+    }
+
+    public long getPending() {
+        return pending;
+    }
+
+    public void setPending(long pending) {
+        this.pending = pending;
+    }
+
+    public long getPublished() {
+        return published;
+    }
+
+    public void setPublished(long published) {
+        this.published = published;
+    }
+
+    public long getDead() {
+        return dead;
+    }
+
+    public void setDead(long dead) {
+        this.dead = dead;
+    }
+
+    public Long getOldestPendingAgeMs() {
+        return oldestPendingAgeMs;
+    }
+
+    public void setOldestPendingAgeMs(Long oldestPendingAgeMs) {
+        this.oldestPendingAgeMs = oldestPendingAgeMs;
+    }
+
+    public List<String> getConsumers() {
+        return consumers;
+    }
+
+    public void setConsumers(List<String> consumers) {
+        this.consumers = consumers;
+    }
+
+    public Map<String, Long> getFailing() {
+        return failing;
+    }
+
+    public void setFailing(Map<String, Long> failing) {
+        this.failing = failing;
+    }
+}
@@ -0,0 +1,69 @@
+package com.sportcore.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+
+public class PaymentInfoDto {
+
+    @NotBlank(message = "Card number is required")
+    // Digits in any grouping, e.g. "4242 4242 4242 4242"; the count is of digits, not characters
+    @Pattern(regexp = "(?:[0-9] ?){13,19}", message = "Card number must have 13 to 19 digits")
+    private String cardNumber;
+
+    @NotBlank(message = "Expiry date is required")
+    @Pattern(regexp = "(0[1-9]|1[0-2])/[0-9]{2}", message = "Expiry date must be MM/YY")
+    private String expiryDate;
+
+    @NotBlank(message = "CVV is required")
+    @Pattern(regexp = "[0-9]{3,4}", message = "CVV must have 3 or 4 digits")
+    private String cvv;
+
+    @NotBlank(message = "Cardholder name is required")
+    private String cardholderName;
+
+    @Valid
+    private ShippingAddressDto billingAddress;
+
+    public PaymentInfoDto() {}
+
+    public String getCardNumber() {
+        return cardNumber;
+    }
+
+    public void setCardNumber(String cardNumber) {
+        this.cardNumber = cardNumber;
+    }
+
+    public String getExpiryDate() {
+        return expiryDate;
+    }
+
+    public void setExpiryDate(String expiryDate) {
+        this.expiryDate = expiryDate;
+    }
+
+    public String getCvv() {
+        return cvv;
+    }
+
+    public void setCvv(String cvv) {
+        this.cvv = cvv;
+    }
+
+    public String getCardholderName() {
+        return cardholderName;
+    }
+
+    public void setCardholderName(String cardholderName) {
+        this.cardholderName = cardholderName;
+    }
+
+    public ShippingAddressDto getBillingAddress() {
+        return billingAddress;
+    }
+
+    public void setBillingAddress(ShippingAddressDto billingAddress) {
+        this.billingAddress = billingAddress;
+    }
+}
@@ -0,0 +1,45 @@
+package com.sportcore.dto;
+
+import java.math.BigDecimal;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+
+public class PriceAdjustmentDto {
+
+    private Long categoryId;
+
+    private String brand;
+
+    @NotNull(message = "Percent is required")
+    @DecimalMin(value = "-99", message = "Percent must be at least -99")
+    @DecimalMax(value = "1000", message = "Percent must not exceed 1000")
+    private BigDecimal percent;
+
+    public PriceAdjustmentDto() {}
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public String getBrand() {
+        return brand;
+    }
+
+    public void setBrand(String brand) {
+        this.brand = brand;
+    }
+
+    public BigDecimal getPercent() {
+        return percent;
+    }
+
+    public void setPercent(BigDecimal percent) {
+        this.percent = percent;
+    }
+}
@@ -0,0 +1,24 @@
+package com.sportcore.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+public class ProductBatchUpdateDto {
+
+    @Valid
+    @NotEmpty(message = "At least one product is required")
+    private List<ProductPatchDto> products = new ArrayList<>();
+
+    public ProductBatchUpdateDto() {}
+
+    public List<ProductPatchDto> getProducts() {
+        return products;
+    }
+
+    public void setProducts(List<ProductPatchDto> products) {
+        this.products = products;
+    }
+}
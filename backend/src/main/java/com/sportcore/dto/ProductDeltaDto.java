@@ -0,0 +1,70 @@
+package com.sportcore.dto;
+
+import java.math.BigDecimal;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// One product's change on the live feed: only the fields that changed since the last event are set
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProductDeltaDto {
+
+    private Long id;
+
+    private BigDecimal price;
+
+    private Integer stock;
+
+    private Long categoryId;
+
+    private Boolean deleted;
+
+    public ProductDeltaDto() {}
+
+    public ProductDeltaDto(Long id, BigDecimal price, Integer stock, Long categoryId, Boolean deleted) {
+        this.id = id;
+        this.price = price;
+        this.stock = stock;
+        this.categoryId = categoryId;
+        this.deleted = deleted;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+
+    public Integer getStock() {
+        return stock;
+    }
+
+    public void setStock(Integer stock) {
+        this.stock = stock;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public Boolean getDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(Boolean deleted) {
+        this.deleted = deleted;
+    }
+}
@@ -3,6 +3,8 @@ package com.sportcore.dto;
 import java.math.BigDecimal;
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.Min;
@@ -40,6 +42,11 @@ public class ProductDto {
 
     private List<ProductImageDto> images;
 
+    // Optimistic-lock version from the last read; a PUT must send it back so it cannot overwrite a newer
+    // state, such as stock taken by reservations since the client read the product
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long version;
+
     public ProductDto() {}
 
     public ProductDto(String name, String description, BigDecimal price, Integer stock, Long categoryId) {
@@ -50,6 +57,20 @@ public class ProductDto {
         this.categoryId = categoryId;
     }
 
+    public ProductDto(Long id, String name, String description, BigDecimal price, Integer stock, Long categoryId,
+                      String brand, String flavor) {
+        this(name, description, price, stock, categoryId);
+        this.id = id;
+        this.brand = brand;
+        this.flavor = flavor;
+    }
+
+    public ProductDto(Long id, String name, String description, BigDecimal price, Integer stock, Long categoryId,
+                      String brand, String flavor, Long version) {
+        this(id, name, description, price, stock, categoryId, brand, flavor);
+        this.version = version;
+    }
+
     public Long getId() {
         return id;
     }
@@ -121,4 +142,12 @@ public class ProductDto {
     public void setImages(List<ProductImageDto> images) {
         this.images = images;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
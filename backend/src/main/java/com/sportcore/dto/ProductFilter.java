@@ -0,0 +1,69 @@
+package com.sportcore.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public class ProductFilter {
+
+    private List<String> brand;
+
+    private List<String> flavor;
+
+    private List<Long> categoryId;
+
+    private BigDecimal minPrice;
+
+    private BigDecimal maxPrice;
+
+    private Boolean inStock;
+
+    public ProductFilter() {}
+
+    public List<String> getBrand() {
+        return brand;
+    }
+
+    public void setBrand(List<String> brand) {
+        this.brand = brand;
+    }
+
+    public List<String> getFlavor() {
+        return flavor;
+    }
+
+    public void setFlavor(List<String> flavor) {
+        this.flavor = flavor;
+    }
+
+    public List<Long> getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(List<Long> categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public BigDecimal getMinPrice() {
+        return minPrice;
+    }
+
+    public void setMinPrice(BigDecimal minPrice) {
+        this.minPrice = minPrice;
+    }
+
+    public BigDecimal getMaxPrice() {
+        return maxPrice;
+    }
+
+    public void setMaxPrice(BigDecimal maxPrice) {
+        this.maxPrice = maxPrice;
+    }
+
+    public Boolean getInStock() {
+        return inStock;
+    }
+
+    public void setInStock(Boolean inStock) {
+        this.inStock = inStock;
+    }
+}
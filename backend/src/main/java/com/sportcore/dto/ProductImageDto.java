@@ -18,6 +18,13 @@ public class ProductImageDto {
 
     private Long productId;
 
+    // Resized copies of uploaded images; null until they are generated, and always null for external urls
+    private String thumbnailUrl;
+
+    private String cardUrl;
+
+    private String detailUrl;
+
     public ProductImageDto() {}
 
     public ProductImageDto(String url, String altText, Boolean isPrimary) {
@@ -26,6 +33,20 @@ public class ProductImageDto {
         this.isPrimary = isPrimary;
     }
 
+    public ProductImageDto(Long id, String url, String altText, Boolean isPrimary, Long productId) {
+        this(url, altText, isPrimary);
+        this.id = id;
+        this.productId = productId;
+    }
+
+    public ProductImageDto(Long id, String url, String altText, Boolean isPrimary, Long productId,
+                           String thumbnailUrl, String cardUrl, String detailUrl) {
+        this(id, url, altText, isPrimary, productId);
+        this.thumbnailUrl = thumbnailUrl;
+        this.cardUrl = cardUrl;
+        this.detailUrl = detailUrl;
+    }
+
     public Long getId() {
         return id;
     }
@@ -65,4 +86,28 @@ public class ProductImageDto {
     public void setProductId(Long productId) {
         this.productId = productId;
     }
+
+    public String getThumbnailUrl() {
+        return thumbnailUrl;
+    }
+
+    public void setThumbnailUrl(String thumbnailUrl) {
+        this.thumbnailUrl = thumbnailUrl;
+    }
+
+    public String getCardUrl() {
+        return cardUrl;
+    }
+
+    public void setCardUrl(String cardUrl) {
+        this.cardUrl = cardUrl;
+    }
+
+    public String getDetailUrl() {
+        return detailUrl;
+    }
+
+    public void setDetailUrl(String detailUrl) {
+        this.detailUrl = detailUrl;
+    }
 }
@@ -0,0 +1,104 @@
+package com.sportcore.dto;
+
+import java.math.BigDecimal;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+// Partial update for the batch endpoint: null fields are left unchanged. Names are not patchable in
+// batches because their uniqueness needs the per-item check. A stock value replaces the current count, so it
+// needs the version it was read at; other fields may carry one to guard against concurrent edits.
+public class ProductPatchDto {
+
+    @NotNull(message = "Product id is required")
+    private Long id;
+
+    @Size(max = 2000, message = "Description must not exceed 2000 characters")
+    private String description;
+
+    @DecimalMin(value = "0.0", inclusive = false, message = "Price must be greater than 0")
+    @Digits(integer = 10, fraction = 2, message = "Price must have at most 10 integer digits and 2 decimal places")
+    private BigDecimal price;
+
+    @Min(value = 0, message = "Stock cannot be negative")
+    private Integer stock;
+
+    private Long categoryId;
+
+    @Size(max = 100, message = "Brand name must not exceed 100 characters")
+    private String brand;
+
+    @Size(max = 100, message = "Flavor must not exceed 100 characters")
+    private String flavor;
+
+    private Long version;
+
+    public ProductPatchDto() {}
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+
+    public Integer getStock() {
+        return stock;
+    }
+
+    public void setStock(Integer stock) {
+        this.stock = stock;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public String getBrand() {
+        return brand;
+    }
+
+    public void setBrand(String brand) {
+        this.brand = brand;
+    }
+
+    public String getFlavor() {
+        return flavor;
+    }
+
+    public void setFlavor(String flavor) {
+        this.flavor = flavor;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
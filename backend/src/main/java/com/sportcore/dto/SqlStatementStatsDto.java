@@ -0,0 +1,46 @@
+package com.sportcore.dto;
+
+public class SqlStatementStatsDto {
+
+    private String fingerprint;
+
+    private int count;
+
+    private double totalMs;
+
+    private double maxMs;
+
+    public SqlStatementStatsDto() {}
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public void setFingerprint(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+
+    public double getTotalMs() {
+        return totalMs;
+    }
+
+    public void setTotalMs(double totalMs) {
+        this.totalMs = totalMs;
+    }
+
+    public double getMaxMs() {
+        return maxMs;
+    }
+
+    public void setMaxMs(double maxMs) {
+        this.maxMs = maxMs;
+    }
+}
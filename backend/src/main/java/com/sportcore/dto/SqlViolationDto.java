@@ -0,0 +1,109 @@
+package com.sportcore.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+public class SqlViolationDto {
+
+    private Instant timestamp;
+
+    private String method;
+
+    private String uri;
+
+    private int status;
+
+    private int statements;
+
+    private long rows;
+
+    private double dbTimeMs;
+
+    private double requestTimeMs;
+
+    private List<String> reasons;
+
+    private List<SqlStatementStatsDto> topStatements;
+
+    public SqlViolationDto() {}
+
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(Instant timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public void setMethod(String method) {
+        this.method = method;
+    }
+
+    public String getUri() {
+        return uri;
+    }
+
+    public void setUri(String uri) {
+        this.uri = uri;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public void setStatements(int statements) {
+        this.statements = statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public void setRows(long rows) {
+        this.rows = rows;
+    }
+
+    public double getDbTimeMs() {
+        return dbTimeMs;
+    }
+
+    public void setDbTimeMs(double dbTimeMs) {
+        this.dbTimeMs = dbTimeMs;
+    }
+
+    public double getRequestTimeMs() {
+        return requestTimeMs;
+    }
+
+    public void setRequestTimeMs(double requestTimeMs) {
+        this.requestTimeMs = requestTimeMs;
+    }
+
+    public List<String> getReasons() {
+        return reasons;
+    }
+
+    public void setReasons(List<String> reasons) {
+        this.reasons = reasons;
+    }
+
+    public List<SqlStatementStatsDto> getTopStatements() {
+        return topStatements;
+    }
+
+    public void setTopStatements(List<SqlStatementStatsDto> topStatements) {
+        this.topStatements = topStatements;
+    }
+}
@@ -0,0 +1,70 @@
+package com.sportcore.dto;
+
+import java.time.LocalDateTime;
+
+import com.sportcore.entity.ReservationStatus;
+
+public class StockReservationDto {
+
+    private Long id;
+
+    private Long productId;
+
+    private Integer quantity;
+
+    private ReservationStatus status;
+
+    private LocalDateTime expiresAt;
+
+    private LocalDateTime createdAt;
+
+    public StockReservationDto() {}
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public Integer getQuantity() {
+        return quantity;
+    }
+
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+
+    public ReservationStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ReservationStatus status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,53 @@
+package com.sportcore.dto;
+
+public class SuggestionDto {
+
+    private String text;
+
+    private String type;
+
+    private Long productId;
+
+    private long weight;
+
+    public SuggestionDto() {}
+
+    public SuggestionDto(String text, String type, Long productId, long weight) {
+        this.text = text;
+        this.type = type;
+        this.productId = productId;
+        this.weight = weight;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public long getWeight() {
+        return weight;
+    }
+
+    public void setWeight(long weight) {
+        this.weight = weight;
+    }
+}
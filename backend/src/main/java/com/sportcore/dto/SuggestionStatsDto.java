@@ -0,0 +1,53 @@
+package com.sportcore.dto;
+
+public class SuggestionStatsDto {
+
+    private int suggestions;
+
+    private int keys;
+
+    private int nodes;
+
+    private long estimatedBytes;
+
+    public SuggestionStatsDto() {}
+
+    public SuggestionStatsDto(int suggestions, int keys, int nodes, long estimatedBytes) {
+        this.suggestions = suggestions;
+        this.keys = keys;
+        this.nodes = nodes;
+        this.estimatedBytes = estimatedBytes;
+    }
+
+    public int getSuggestions() {
+        return suggestions;
+    }
+
+    public void setSuggestions(int suggestions) {
+        this.suggestions = suggestions;
+    }
+
+    public int getKeys() {
+        return keys;
+    }
+
+    public void setKeys(int keys) {
+        this.keys = keys;
+    }
+
+    public int getNodes() {
+        return nodes;
+    }
+
+    public void setNodes(int nodes) {
+        this.nodes = nodes;
+    }
+
+    public long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    public void setEstimatedBytes(long estimatedBytes) {
+        this.estimatedBytes = estimatedBytes;
+    }
+}
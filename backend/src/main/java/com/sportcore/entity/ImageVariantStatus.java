@@ -0,0 +1,8 @@
+package com.sportcore.entity;
+
+public enum ImageVariantStatus {
+    PENDING,
+    READY,
+    // The upload was stored but could not be decoded or resized; views fall back to the original
+    FAILED
+}
@@ -0,0 +1,8 @@
+package com.sportcore.entity;
+
+public enum OrderStatus {
+    PLACED,
+    SHIPPED,
+    DELIVERED,
+    CANCELLED
+}
@@ -0,0 +1,8 @@
+package com.sportcore.entity;
+
+public enum OutboxStatus {
+    PENDING,
+    PUBLISHED,
+    // A consumer gave up after app.outbox.relay.max-attempts; its later messages of the aggregate go on without it
+    DEAD
+}
@@ -1,8 +1,17 @@
 package com.sportcore.entity;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import com.sportcore.config.SecondLevelCacheConfig;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -10,7 +19,11 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
 @Entity
-@Table(name = "product_images")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.PRODUCT_IMAGE)
+@Table(name = "product_images", indexes = {
+        @Index(name = "idx_product_images_content_hash", columnList = "content_hash")
+})
 public class ProductImage extends BaseEntity {
 
     @NotBlank(message = "Image URL is required")
@@ -29,6 +42,29 @@ public class ProductImage extends BaseEntity {
     @JoinColumn(name = "product_id", nullable = false)
     private Product product;
 
+    // Uploaded images only; images that point at an external url leave these empty
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Column(name = "width")
+    private Integer width;
+
+    @Column(name = "height")
+    private Integer height;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "variant_status", length = 20)
+    private ImageVariantStatus variantStatus;
+
+    @Column(name = "thumbnail_url", length = 500)
+    private String thumbnailUrl;
+
+    @Column(name = "card_url", length = 500)
+    private String cardUrl;
+
+    @Column(name = "detail_url", length = 500)
+    private String detailUrl;
+
     public ProductImage() {}
 
     public ProductImage(String url, String altText, Boolean isPrimary, Product product) {
@@ -69,4 +105,60 @@ public class ProductImage extends BaseEntity {
     public void setProduct(Product product) {
         this.product = product;
     }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public Integer getWidth() {
+        return width;
+    }
+
+    public void setWidth(Integer width) {
+        this.width = width;
+    }
+
+    public Integer getHeight() {
+        return height;
+    }
+
+    public void setHeight(Integer height) {
+        this.height = height;
+    }
+
+    public ImageVariantStatus getVariantStatus() {
+        return variantStatus;
+    }
+
+    public void setVariantStatus(ImageVariantStatus variantStatus) {
+        this.variantStatus = variantStatus;
+    }
+
+    public String getThumbnailUrl() {
+        return thumbnailUrl;
+    }
+
+    public void setThumbnailUrl(String thumbnailUrl) {
+        this.thumbnailUrl = thumbnailUrl;
+    }
+
+    public String getCardUrl() {
+        return cardUrl;
+    }
+
+    public void setCardUrl(String cardUrl) {
+        this.cardUrl = cardUrl;
+    }
+
+    public String getDetailUrl() {
+        return detailUrl;
+    }
+
+    public void setDetailUrl(String detailUrl) {
+        this.detailUrl = detailUrl;
+    }
 }
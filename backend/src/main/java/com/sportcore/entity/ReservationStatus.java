@@ -0,0 +1,8 @@
+package com.sportcore.entity;
+
+public enum ReservationStatus {
+    HELD,
+    CONFIRMED,
+    RELEASED,
+    EXPIRED
+}
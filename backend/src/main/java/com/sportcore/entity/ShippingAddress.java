@@ -0,0 +1,109 @@
+package com.sportcore.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+@Embeddable
+public class ShippingAddress {
+
+    @Column(name = "shipping_first_name", nullable = false, length = 50)
+    private String firstName;
+
+    @Column(name = "shipping_last_name", nullable = false, length = 50)
+    private String lastName;
+
+    @Column(name = "shipping_email", nullable = false, length = 100)
+    private String email;
+
+    @Column(name = "shipping_phone", length = 20)
+    private String phone;
+
+    @Column(name = "shipping_address", nullable = false, length = 200)
+    private String address;
+
+    @Column(name = "shipping_city", nullable = false, length = 100)
+    private String city;
+
+    @Column(name = "shipping_state", length = 100)
+    private String state;
+
+    @Column(name = "shipping_zip_code", nullable = false, length = 20)
+    private String zipCode;
+
+    @Column(name = "shipping_country", nullable = false, length = 100)
+    private String country;
+
+    public ShippingAddress() {}
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public void setFirstName(String firstName) {
+        this.firstName = firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public void setLastName(String lastName) {
+        this.lastName = lastName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public String getPhone() {
+        return phone;
+    }
+
+    public void setPhone(String phone) {
+        this.phone = phone;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public void setAddress(String address) {
+        this.address = address;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public void setCity(String city) {
+        this.city = city;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public String getZipCode() {
+        return zipCode;
+    }
+
+    public void setZipCode(String zipCode) {
+        this.zipCode = zipCode;
+    }
+
+    public String getCountry() {
+        return country;
+    }
+
+    public void setCountry(String country) {
+        this.country = country;
+    }
+}
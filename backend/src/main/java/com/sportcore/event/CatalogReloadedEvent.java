@@ -0,0 +1,14 @@
+package com.sportcore.event;
+
+public class CatalogReloadedEvent {
+
+    private final String source;
+
+    public CatalogReloadedEvent(String source) {
+        this.source = source;
+    }
+
+    public String getSource() {
+        return source;
+    }
+}
@@ -0,0 +1,21 @@
+package com.sportcore.event;
+
+public class CategoryChangedEvent {
+
+    private final Long categoryId;
+
+    private final ChangeType changeType;
+
+    public CategoryChangedEvent(Long categoryId, ChangeType changeType) {
+        this.categoryId = categoryId;
+        this.changeType = changeType;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+}
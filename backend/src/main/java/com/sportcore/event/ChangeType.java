@@ -0,0 +1,7 @@
+package com.sportcore.event;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
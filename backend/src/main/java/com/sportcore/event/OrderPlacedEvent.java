@@ -0,0 +1,37 @@
+package com.sportcore.event;
+
+import java.math.BigDecimal;
+
+public class OrderPlacedEvent {
+
+    private final Long orderId;
+
+    private final String orderNumber;
+
+    private final Long userId;
+
+    private final BigDecimal total;
+
+    public OrderPlacedEvent(Long orderId, String orderNumber, Long userId, BigDecimal total) {
+        this.orderId = orderId;
+        this.orderNumber = orderNumber;
+        this.userId = userId;
+        this.total = total;
+    }
+
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    public String getOrderNumber() {
+        return orderNumber;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+}
@@ -0,0 +1,28 @@
+package com.sportcore.event;
+
+public class ProductChangedEvent {
+
+    private final Long productId;
+
+    private final Long categoryId;
+
+    private final ChangeType changeType;
+
+    public ProductChangedEvent(Long productId, Long categoryId, ChangeType changeType) {
+        this.productId = productId;
+        this.categoryId = categoryId;
+        this.changeType = changeType;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+}
@@ -0,0 +1,30 @@
+package com.sportcore.event;
+
+public class StockChangedEvent {
+
+    private final Long productId;
+
+    private final int stock;
+
+    // True when the product went in or out of stock: the facet index keeps only that bit, and the outbox only
+    // relays these so a sale does not write a message per order
+    private final boolean availabilityChanged;
+
+    public StockChangedEvent(Long productId, int stock, boolean availabilityChanged) {
+        this.productId = productId;
+        this.stock = stock;
+        this.availabilityChanged = availabilityChanged;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public int getStock() {
+        return stock;
+    }
+
+    public boolean isAvailabilityChanged() {
+        return availabilityChanged;
+    }
+}
@@ -0,0 +1,173 @@
+package com.sportcore.metrics;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.sportcore.dto.SqlViolationDto;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(name = "app.sql.tracking.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_HEADER = "X-Sql-Statements";
+    public static final String ROWS_HEADER = "X-Sql-Rows";
+    public static final String TIME_HEADER = "X-Sql-Time-Ms";
+
+    private static final Logger log = LoggerFactory.getLogger(SqlBudgetFilter.class);
+
+    private static final int TOP_STATEMENTS = 10;
+
+    @Autowired
+    private SqlViolationLog violationLog;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.sql.budget.max-statements:10}")
+    private int maxStatements;
+
+    @Value("${app.sql.budget.max-db-time:200ms}")
+    private Duration maxDbTime;
+
+    @Value("${app.sql.budget.slow-statement:100ms}")
+    private Duration slowStatement;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SqlRequestStats stats = SqlTracker.begin();
+        long start = System.nanoTime();
+        StatsHeaderResponse wrapper = new StatsHeaderResponse(response, stats);
+        try {
+            filterChain.doFilter(request, wrapper);
+        } finally {
+            SqlTracker.end();
+            wrapper.writeHeaders();
+            record(request, response, stats, System.nanoTime() - start);
+        }
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, SqlRequestStats stats, long requestNanos) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder("sportcore.http.sql.statements")
+                .description("JDBC statements executed per HTTP request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+
+        List<String> reasons = new ArrayList<>();
+        if (stats.getStatements() > maxStatements) {
+            reasons.add(stats.getStatements() + " statements exceed the budget of " + maxStatements);
+        }
+        if (stats.getDbNanos() > maxDbTime.toNanos()) {
+            reasons.add(millis(stats.getDbNanos()) + " ms of database time exceed " + maxDbTime.toMillis() + " ms");
+        }
+        if (stats.getSlowestNanos() > slowStatement.toNanos()) {
+            reasons.add("slowest statement took " + millis(stats.getSlowestNanos()) + " ms, over " + slowStatement.toMillis() + " ms");
+        }
+
+        if (reasons.isEmpty()) {
+            if (log.isDebugEnabled() && stats.getStatements() > 0) {
+                log.debug("{} {} sqlStatements={} sqlRows={} sqlTimeMs={}", request.getMethod(), request.getRequestURI(),
+                        stats.getStatements(), stats.getRows(), millis(stats.getDbNanos()));
+            }
+            return;
+        }
+
+        SqlViolationDto violation = new SqlViolationDto();
+        violation.setTimestamp(Instant.now());
+        violation.setMethod(request.getMethod());
+        violation.setUri(request.getRequestURI());
+        violation.setStatus(response.getStatus());
+        violation.setStatements(stats.getStatements());
+        violation.setRows(stats.getRows());
+        violation.setDbTimeMs(millis(stats.getDbNanos()));
+        violation.setRequestTimeMs(millis(requestNanos));
+        violation.setReasons(reasons);
+        violation.setTopStatements(SqlFingerprints.top(stats, TOP_STATEMENTS));
+        violationLog.add(violation);
+
+        Counter.builder("sportcore.http.sql.budget.exceeded")
+                .description("HTTP requests over the SQL statement or time budget")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .increment();
+        log.warn("SQL budget exceeded on {} {}: {} sqlStatements={} sqlRows={} sqlTimeMs={}", request.getMethod(),
+                request.getRequestURI(), String.join("; ", reasons), stats.getStatements(), stats.getRows(),
+                millis(stats.getDbNanos()));
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+    // Headers must go out before the body commits the response, so they are added on first access to the body
+    private static class StatsHeaderResponse extends HttpServletResponseWrapper {
+
+        private final SqlRequestStats stats;
+        private boolean headersWritten;
+
+        StatsHeaderResponse(HttpServletResponse response, SqlRequestStats stats) {
+            super(response);
+            this.stats = stats;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        void writeHeaders() {
+            if (headersWritten || isCommitted()) {
+                return;
+            }
+            headersWritten = true;
+            setHeader(STATEMENTS_HEADER, String.valueOf(stats.getStatements()));
+            setHeader(ROWS_HEADER, String.valueOf(stats.getRows()));
+            setHeader(TIME_HEADER, String.valueOf(millis(stats.getDbNanos())));
+        }
+    }
+}
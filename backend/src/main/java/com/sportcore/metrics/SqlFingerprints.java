@@ -0,0 +1,51 @@
+package com.sportcore.metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import com.sportcore.dto.SqlStatementStatsDto;
+
+// Reduces SQL to its shape so the same query with different literals or IN-list sizes groups together
+final class SqlFingerprints {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private SqlFingerprints() {
+    }
+
+    static String of(String sql) {
+        String fingerprint = STRING_LITERAL.matcher(sql).replaceAll("?");
+        fingerprint = NUMBER_LITERAL.matcher(fingerprint).replaceAll("?");
+        fingerprint = WHITESPACE.matcher(fingerprint).replaceAll(" ");
+        fingerprint = IN_LIST.matcher(fingerprint).replaceAll("(?...)");
+        return fingerprint.trim().toLowerCase(Locale.ROOT);
+    }
+
+    static List<SqlStatementStatsDto> top(SqlRequestStats stats, int limit) {
+        Map<String, SqlRequestStats.StatementStats> byFingerprint = new LinkedHashMap<>();
+        stats.getBySql().forEach((sql, statementStats) -> byFingerprint
+                .computeIfAbsent(of(sql), fingerprint -> new SqlRequestStats.StatementStats())
+                .merge(statementStats));
+
+        List<SqlStatementStatsDto> top = new ArrayList<>();
+        byFingerprint.forEach((fingerprint, statementStats) -> {
+            SqlStatementStatsDto dto = new SqlStatementStatsDto();
+            dto.setFingerprint(fingerprint);
+            dto.setCount(statementStats.getCount());
+            dto.setTotalMs(statementStats.getTotalNanos() / 1_000_000.0);
+            dto.setMaxMs(statementStats.getMaxNanos() / 1_000_000.0);
+            top.add(dto);
+        });
+        top.sort(Comparator.comparingInt(SqlStatementStatsDto::getCount).reversed()
+                .thenComparing(Comparator.comparingDouble(SqlStatementStatsDto::getTotalMs).reversed()));
+        return top.size() > limit ? new ArrayList<>(top.subList(0, limit)) : top;
+    }
+}
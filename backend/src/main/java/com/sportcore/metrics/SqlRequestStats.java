@@ -0,0 +1,87 @@
+package com.sportcore.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Per-request JDBC counters; only ever touched by the thread serving the request
+public class SqlRequestStats {
+
+    private static final int MAX_DISTINCT_STATEMENTS = 200;
+
+    private int statements;
+    private long rows;
+    private long dbNanos;
+    private long slowestNanos;
+    private final Map<String, StatementStats> bySql = new HashMap<>();
+
+    void recordStatement(String sql, long nanos) {
+        statements++;
+        dbNanos += nanos;
+        slowestNanos = Math.max(slowestNanos, nanos);
+        String key = sql != null ? sql : "<unknown>";
+        StatementStats stats = bySql.get(key);
+        if (stats == null) {
+            if (bySql.size() >= MAX_DISTINCT_STATEMENTS) {
+                return;
+            }
+            stats = new StatementStats();
+            bySql.put(key, stats);
+        }
+        stats.record(nanos);
+    }
+
+    void recordRows(long count) {
+        rows += count;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getDbNanos() {
+        return dbNanos;
+    }
+
+    public long getSlowestNanos() {
+        return slowestNanos;
+    }
+
+    public Map<String, StatementStats> getBySql() {
+        return bySql;
+    }
+
+    public static class StatementStats {
+
+        private int count;
+        private long totalNanos;
+        private long maxNanos;
+
+        void record(long nanos) {
+            count++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+        }
+
+        void merge(StatementStats other) {
+            count += other.count;
+            totalNanos += other.totalNanos;
+            maxNanos = Math.max(maxNanos, other.maxNanos);
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.sportcore.metrics;
+
+public final class SqlTracker {
+
+    private static final ThreadLocal<SqlRequestStats> CURRENT = new ThreadLocal<>();
+
+    private SqlTracker() {
+    }
+
+    public static SqlRequestStats begin() {
+        SqlRequestStats stats = new SqlRequestStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static SqlRequestStats current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    static void recordStatement(String sql, long nanos) {
+        SqlRequestStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.recordStatement(sql, nanos);
+        }
+    }
+
+    static void recordRows(long count) {
+        SqlRequestStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.recordRows(count);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.sportcore.metrics;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "app.sql.tracking.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlTrackingDataSourcePostProcessor implements BeanPostProcessor {
+
+    // Only the physical pools are wrapped; routing and lazy proxies would count every statement twice
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DelegatingDataSource || bean instanceof AbstractRoutingDataSource) {
+            return bean;
+        }
+        return bean instanceof DataSource dataSource ? SqlTrackingProxies.dataSource(dataSource) : bean;
+    }
+}
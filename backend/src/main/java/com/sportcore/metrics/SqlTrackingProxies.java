@@ -0,0 +1,97 @@
+package com.sportcore.metrics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+// JDBC wrappers that feed SqlTracker; statements are only wrapped while a request is being tracked
+final class SqlTrackingProxies {
+
+    private SqlTrackingProxies() {
+    }
+
+    static DataSource dataSource(DataSource target) {
+        return proxy(DataSource.class, target, (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            return result instanceof Connection connection ? connection(connection) : result;
+        });
+    }
+
+    private static Connection connection(Connection target) {
+        return proxy(Connection.class, target, (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (SqlTracker.current() == null) {
+                return result;
+            }
+            return switch (method.getName()) {
+                case "prepareStatement" -> statement(PreparedStatement.class, (PreparedStatement) result, (String) args[0]);
+                case "prepareCall" -> statement(CallableStatement.class, (CallableStatement) result, (String) args[0]);
+                case "createStatement" -> statement(Statement.class, (Statement) result, null);
+                default -> result;
+            };
+        });
+    }
+
+    private static <T extends Statement> T statement(Class<T> type, T target, String preparedSql) {
+        return proxy(type, target, (proxy, method, args) -> {
+            if (!method.getName().startsWith("execute")) {
+                Object result = invoke(target, method, args);
+                return result instanceof ResultSet resultSet ? resultSet(resultSet) : result;
+            }
+
+            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = invoke(target, method, args);
+            } finally {
+                SqlTracker.recordStatement(sql, System.nanoTime() - start);
+            }
+
+            if (result instanceof ResultSet resultSet) {
+                return resultSet(resultSet);
+            }
+            if (result instanceof Integer count && count > 0) {
+                SqlTracker.recordRows(count);
+            } else if (result instanceof Long count && count > 0) {
+                SqlTracker.recordRows(count);
+            } else if (result instanceof int[] counts) {
+                for (int count : counts) {
+                    SqlTracker.recordRows(Math.max(count, 0));
+                }
+            }
+            return result;
+        });
+    }
+
+    private static ResultSet resultSet(ResultSet target) {
+        return proxy(ResultSet.class, target, (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (Boolean.TRUE.equals(result) && "next".equals(method.getName())) {
+                SqlTracker.recordRows(1);
+            }
+            return result;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(SqlTrackingProxies.class.getClassLoader(), new Class<?>[] {type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.sportcore.metrics;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.sportcore.dto.SqlViolationDto;
+
+// Bounded ring buffer of the most recent requests that broke the SQL budget
+@Component
+public class SqlViolationLog {
+
+    @Value("${app.sql.budget.violation-log-size:100}")
+    private int capacity;
+
+    private final Deque<SqlViolationDto> violations = new ArrayDeque<>();
+
+    public synchronized void add(SqlViolationDto violation) {
+        if (capacity <= 0) {
+            return;
+        }
+        if (violations.size() >= capacity) {
+            violations.removeLast();
+        }
+        violations.addFirst(violation);
+    }
+
+    public synchronized List<SqlViolationDto> getRecent() {
+        return new ArrayList<>(violations);
+    }
+
+    public synchronized void clear() {
+        violations.clear();
+    }
+}
@@ -0,0 +1,39 @@
+package com.sportcore.outbox;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.sportcore.entity.OutboxMessage;
+import com.sportcore.event.CategoryChangedEvent;
+import com.sportcore.event.ProductChangedEvent;
+import com.sportcore.event.StockChangedEvent;
+import com.sportcore.service.CatalogCacheService;
+
+// Evicts the catalog caches a second time, after the relay delay. The after-commit eviction keeps
+// read-your-writes, but a read that loaded the old row before the commit can still put it back into the
+// cache after that eviction; this second pass removes such entries. Whole-catalog reloads already clear
+// every cache, and clearing them twice would only cost a second cold start.
+@Component
+@Order(2)
+public class CacheOutboxConsumer implements OutboxConsumer {
+
+    @Autowired
+    private CatalogCacheService catalogCacheService;
+
+    @Override
+    public String getName() {
+        return "cache";
+    }
+
+    @Override
+    public void consume(OutboxMessage message, Object event) {
+        if (event instanceof ProductChangedEvent productChanged) {
+            catalogCacheService.onProductChanged(productChanged);
+        } else if (event instanceof StockChangedEvent stockChanged) {
+            catalogCacheService.onStockChanged(stockChanged);
+        } else if (event instanceof CategoryChangedEvent categoryChanged) {
+            catalogCacheService.onCategoryChanged(categoryChanged);
+        }
+    }
+}
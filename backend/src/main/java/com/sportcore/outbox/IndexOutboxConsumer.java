@@ -0,0 +1,45 @@
+package com.sportcore.outbox;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.sportcore.entity.OutboxMessage;
+import com.sportcore.event.CatalogReloadedEvent;
+import com.sportcore.event.CategoryChangedEvent;
+import com.sportcore.event.ProductChangedEvent;
+import com.sportcore.search.ProductSearchIndex;
+import com.sportcore.search.ProductSuggester;
+
+// Keeps the search index and suggester in step with the catalog. They reload documents from the primary,
+// and whole rebuilds after a reload can take seconds, so this runs on the relay instead of the request
+// thread; search results trail writes by one relay pass.
+@Component
+@Order(1)
+public class IndexOutboxConsumer implements OutboxConsumer {
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private ProductSuggester productSuggester;
+
+    @Override
+    public String getName() {
+        return "index";
+    }
+
+    @Override
+    public void consume(OutboxMessage message, Object event) {
+        if (event instanceof ProductChangedEvent productChanged) {
+            productSearchIndex.onProductChanged(productChanged);
+            productSuggester.onProductChanged(productChanged);
+        } else if (event instanceof CategoryChangedEvent categoryChanged) {
+            productSearchIndex.onCategoryChanged(categoryChanged);
+            productSuggester.onCategoryChanged(categoryChanged);
+        } else if (event instanceof CatalogReloadedEvent catalogReloaded) {
+            productSearchIndex.onCatalogReloaded(catalogReloaded);
+            productSuggester.onCatalogReloaded(catalogReloaded);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.sportcore.outbox;
+
+import com.sportcore.entity.OutboxMessage;
+
+// Receives every relayed message at least once, in order for any one aggregate. Each consumer is relayed on
+// its own threads with its own retries: a message is redelivered only to the consumer that threw, and a failing
+// consumer never holds the others back. consume must still be idempotent.
+public interface OutboxConsumer {
+
+    String getName();
+
+    void consume(OutboxMessage message, Object event) throws Exception;
+}
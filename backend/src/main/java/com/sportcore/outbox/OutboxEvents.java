@@ -0,0 +1,84 @@
+package com.sportcore.outbox;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sportcore.entity.OutboxMessage;
+import com.sportcore.event.CatalogReloadedEvent;
+import com.sportcore.event.CategoryChangedEvent;
+import com.sportcore.event.ChangeType;
+import com.sportcore.event.OrderPlacedEvent;
+import com.sportcore.event.ProductChangedEvent;
+import com.sportcore.event.StockChangedEvent;
+
+// Maps domain events to outbox rows and back. Payloads are the events' getters as JSON; reading them back
+// goes through the constructors by hand since the events are immutable.
+@Component
+public class OutboxEvents {
+
+    public static final String PRODUCT = "PRODUCT";
+    public static final String CATEGORY = "CATEGORY";
+    public static final String CATALOG = "CATALOG";
+    public static final String ORDER = "ORDER";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public OutboxMessage toMessage(ProductChangedEvent event) {
+        return message(PRODUCT, event.getProductId(), "ProductChanged", event);
+    }
+
+    public OutboxMessage toMessage(StockChangedEvent event) {
+        return message(PRODUCT, event.getProductId(), "StockChanged", event);
+    }
+
+    public OutboxMessage toMessage(CategoryChangedEvent event) {
+        return message(CATEGORY, event.getCategoryId(), "CategoryChanged", event);
+    }
+
+    // The whole catalog is one aggregate, so reloads stay in order with each other
+    public OutboxMessage toMessage(CatalogReloadedEvent event) {
+        return message(CATALOG, 0L, "CatalogReloaded", event);
+    }
+
+    public OutboxMessage toMessage(OrderPlacedEvent event) {
+        return message(ORDER, event.getOrderId(), "OrderPlaced", event);
+    }
+
+    public Object toEvent(OutboxMessage message) throws JsonProcessingException {
+        JsonNode payload = objectMapper.readTree(message.getPayload());
+        switch (message.getEventType()) {
+            case "ProductChanged":
+                return new ProductChangedEvent(payload.get("productId").asLong(), longOrNull(payload.get("categoryId")),
+                        ChangeType.valueOf(payload.get("changeType").asText()));
+            case "StockChanged":
+                return new StockChangedEvent(payload.get("productId").asLong(), payload.get("stock").asInt(),
+                        payload.get("availabilityChanged").asBoolean());
+            case "CategoryChanged":
+                return new CategoryChangedEvent(payload.get("categoryId").asLong(),
+                        ChangeType.valueOf(payload.get("changeType").asText()));
+            case "CatalogReloaded":
+                return new CatalogReloadedEvent(payload.get("source").asText());
+            case "OrderPlaced":
+                return new OrderPlacedEvent(payload.get("orderId").asLong(), payload.get("orderNumber").asText(),
+                        longOrNull(payload.get("userId")), payload.get("total").decimalValue());
+            default:
+                throw new IllegalArgumentException("Unknown outbox event type " + message.getEventType());
+        }
+    }
+
+    private OutboxMessage message(String aggregateType, Long aggregateId, String eventType, Object event) {
+        try {
+            return new OutboxMessage(aggregateType, aggregateId, eventType, objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize " + eventType + " event", e);
+        }
+    }
+
+    private static Long longOrNull(JsonNode node) {
+        return node == null || node.isNull() ? null : node.asLong();
+    }
+}
@@ -0,0 +1,376 @@
+package com.sportcore.outbox;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.sportcore.dto.OutboxStatsDto;
+import com.sportcore.entity.OutboxMessage;
+import com.sportcore.entity.OutboxStatus;
+import com.sportcore.repository.OutboxRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import jakarta.annotation.PreDestroy;
+
+// Drains the outbox to the consumers. Every consumer has its own poller, lanes and delivery rows, so a slow
+// or failing webhook backs off on its own while the index and cache keep up. A poller reads the messages
+// its consumer has not delivered yet in id order and splits them into lanes by aggregate, so each aggregate's
+// messages are delivered in order by one lane thread while different aggregates go in parallel. Commits that
+// wrote messages wake the pollers; the poll interval only matters for retries and for rows left behind by a
+// previous run.
+@Component
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Autowired
+    private OutboxEvents outboxEvents;
+
+    @Autowired
+    private List<OutboxConsumer> consumers;
+
+    @Value("${app.outbox.relay.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.outbox.relay.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.outbox.relay.lanes:4}")
+    private int laneCount;
+
+    @Value("${app.outbox.relay.poll-interval-ms:1000}")
+    private long pollIntervalMs;
+
+    @Value("${app.outbox.relay.max-attempts:10}")
+    private int maxAttempts;
+
+    // Retries back off exponentially from the initial delay up to the maximum
+    @Value("${app.outbox.relay.initial-backoff:1s}")
+    private Duration initialBackoff;
+
+    @Value("${app.outbox.relay.max-backoff:5m}")
+    private Duration maxBackoff;
+
+    @Value("${app.outbox.retention:1h}")
+    private Duration retention;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Counter published;
+
+    private final List<ConsumerRelay> relays = new ArrayList<>();
+
+    private volatile boolean running;
+
+    private volatile long pendingCount;
+
+    private volatile LocalDateTime oldestPending;
+
+    private volatile long statsRefreshedAt;
+
+    public OutboxRelay(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.published = Counter.builder("sportcore.outbox.published")
+                .description("Outbox messages delivered to every consumer")
+                .register(meterRegistry);
+        Gauge.builder("sportcore.outbox.pending", this, r -> r.pendingCount)
+                .description("Outbox messages not yet delivered")
+                .register(meterRegistry);
+        Gauge.builder("sportcore.outbox.lag", this, OutboxRelay::lagSeconds)
+                .description("Age of the oldest undelivered outbox message")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    // Started once the indexes are built, so consumers never see a message before their initial state
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            log.info("Outbox relay disabled; messages accumulate in outbox_messages");
+            return;
+        }
+        running = true;
+        for (OutboxConsumer consumer : consumers) {
+            ConsumerRelay relay = new ConsumerRelay(consumer);
+            relays.add(relay);
+            relay.start();
+        }
+        log.info("Outbox relay started with {} lanes for each of the consumers {}", laneCount,
+                consumers.stream().map(OutboxConsumer::getName).toList());
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        for (ConsumerRelay relay : relays) {
+            relay.poller.interrupt();
+        }
+        for (ConsumerRelay relay : relays) {
+            relay.poller.join(TimeUnit.SECONDS.toMillis(10));
+            relay.lanes.shutdownNow();
+        }
+    }
+
+    public void wakeUp() {
+        for (ConsumerRelay relay : relays) {
+            relay.wakeUp();
+        }
+    }
+
+    public OutboxStatsDto getStats() {
+        Map<OutboxStatus, Long> counts = outboxRepository.countByStatus();
+        LocalDateTime oldest = outboxRepository.findOldestPendingCreatedAt();
+        return new OutboxStatsDto(counts.get(OutboxStatus.PENDING), counts.get(OutboxStatus.PUBLISHED),
+                counts.get(OutboxStatus.DEAD), oldest != null ? Duration.between(oldest, LocalDateTime.now()).toMillis() : null,
+                consumers.stream().map(OutboxConsumer::getName).toList(), outboxRepository.countFailingByConsumer());
+    }
+
+    // Deliveries given up on go back in line with their attempts reset, e.g. once a webhook receiver is fixed;
+    // consumers that had delivered the messages are not sent them again
+    public int requeueDead() {
+        int requeued = outboxRepository.requeueDead();
+        if (requeued > 0) {
+            wakeUp();
+        }
+        return requeued;
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.cleanup-interval-ms:60000}")
+    public void purgePublished() {
+        int purged = outboxRepository.deletePublishedBefore(LocalDateTime.now().minus(retention));
+        if (purged > 0) {
+            log.debug("Purged {} published outbox messages", purged);
+        }
+    }
+
+    // Counting the whole table on every wake-up would cost more than the delivery; once per poll interval will do
+    private void refreshStats() {
+        long now = System.currentTimeMillis();
+        if (now - statsRefreshedAt < pollIntervalMs) {
+            return;
+        }
+        statsRefreshedAt = now;
+        pendingCount = outboxRepository.countByStatus().get(OutboxStatus.PENDING);
+        oldestPending = outboxRepository.findOldestPendingCreatedAt();
+    }
+
+    private double lagSeconds() {
+        LocalDateTime oldest = oldestPending;
+        return oldest == null ? 0 : Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis() / 1000.0);
+    }
+
+    private final class ConsumerRelay {
+
+        private final OutboxConsumer consumer;
+
+        private final Semaphore wakeUps = new Semaphore(0);
+
+        private final ExecutorService lanes;
+
+        private final Thread poller;
+
+        private final Counter dead;
+
+        private final Timer deliveryLag;
+
+        private ConsumerRelay(OutboxConsumer consumer) {
+            this.consumer = consumer;
+            AtomicInteger laneIds = new AtomicInteger();
+            this.lanes = Executors.newFixedThreadPool(laneCount, task -> {
+                Thread thread = new Thread(task, "outbox-" + consumer.getName() + "-" + laneIds.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.poller = new Thread(this::run, "outbox-relay-" + consumer.getName());
+            this.poller.setDaemon(true);
+            this.dead = Counter.builder("sportcore.outbox.dead")
+                    .description("Outbox deliveries given up on after the last retry")
+                    .tag("consumer", consumer.getName())
+                    .register(meterRegistry);
+            this.deliveryLag = Timer.builder("sportcore.outbox.delivery.lag")
+                    .description("Time from the commit that wrote a message to its delivery")
+                    .tag("consumer", consumer.getName())
+                    .register(meterRegistry);
+        }
+
+        private void start() {
+            poller.start();
+        }
+
+        private void wakeUp() {
+            if (wakeUps.availablePermits() == 0) {
+                wakeUps.release();
+            }
+        }
+
+        private void run() {
+            while (running) {
+                try {
+                    // Keep going while full batches are being delivered; a full batch of messages still in backoff
+                    // would otherwise spin
+                    int delivered;
+                    do {
+                        delivered = relayBatch();
+                    } while (delivered == batchSize && running);
+                    refreshStats();
+                    wakeUps.tryAcquire(pollIntervalMs, TimeUnit.MILLISECONDS);
+                    wakeUps.drainPermits();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (RuntimeException e) {
+                    // Database trouble; the messages are still there next time round
+                    log.warn("Outbox relay pass for {} failed: {}", consumer.getName(), e.getMessage());
+                    sleepQuietly();
+                }
+            }
+        }
+
+        private int relayBatch() throws InterruptedException {
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxMessage> batch = outboxRepository.findDue(consumer.getName(), now, batchSize);
+            if (batch.isEmpty()) {
+                return 0;
+            }
+
+            Map<String, List<OutboxMessage>> byAggregate = new LinkedHashMap<>();
+            for (OutboxMessage message : batch) {
+                byAggregate.computeIfAbsent(message.getAggregateKey(), key -> new ArrayList<>()).add(message);
+            }
+            List<List<List<OutboxMessage>>> laneWork = new ArrayList<>(laneCount);
+            for (int i = 0; i < laneCount; i++) {
+                laneWork.add(new ArrayList<>());
+            }
+            for (Map.Entry<String, List<OutboxMessage>> aggregate : byAggregate.entrySet()) {
+                laneWork.get(Math.floorMod(aggregate.getKey().hashCode(), laneCount)).add(aggregate.getValue());
+            }
+
+            List<Future<List<OutboxMessage>>> results = new ArrayList<>(laneCount);
+            for (List<List<OutboxMessage>> aggregates : laneWork) {
+                if (!aggregates.isEmpty()) {
+                    results.add(lanes.submit(() -> deliverLane(aggregates)));
+                }
+            }
+            List<OutboxMessage> delivered = new ArrayList<>(batch.size());
+            for (Future<List<OutboxMessage>> result : results) {
+                try {
+                    delivered.addAll(result.get());
+                } catch (ExecutionException e) {
+                    log.error("Outbox lane for {} failed", consumer.getName(), e.getCause());
+                }
+            }
+
+            if (!delivered.isEmpty()) {
+                LocalDateTime deliveredAt = LocalDateTime.now();
+                List<Long> ids = delivered.stream().map(OutboxMessage::getId).toList();
+                outboxRepository.markDelivered(consumer.getName(), ids, deliveredAt);
+                for (OutboxMessage message : delivered) {
+                    deliveryLag.record(Duration.between(message.getCreatedAt(), deliveredAt));
+                }
+                published.increment(outboxRepository.complete(ids, consumers.size(), deliveredAt));
+            }
+            return delivered.size();
+        }
+
+        private List<OutboxMessage> deliverLane(List<List<OutboxMessage>> aggregates) {
+            List<OutboxMessage> delivered = new ArrayList<>();
+            for (List<OutboxMessage> messages : aggregates) {
+                for (OutboxMessage message : messages) {
+                    if (!deliver(message)) {
+                        // The rest of this aggregate waits for the failed message's retry
+                        break;
+                    }
+                    delivered.add(message);
+                }
+            }
+            return delivered;
+        }
+
+        private boolean deliver(OutboxMessage message) {
+            Object event;
+            try {
+                event = outboxEvents.toEvent(message);
+            } catch (Exception e) {
+                // Retrying cannot help a message that cannot be read
+                giveUp(message, message.getAttempts() + 1, e);
+                return false;
+            }
+            try {
+                consumer.consume(message, event);
+                return true;
+            } catch (Exception e) {
+                meterRegistry.counter("sportcore.outbox.failures", "consumer", consumer.getName()).increment();
+                retryLater(message, e);
+                return false;
+            }
+        }
+
+        private void retryLater(OutboxMessage message, Exception cause) {
+            int attempts = message.getAttempts() + 1;
+            if (attempts >= maxAttempts) {
+                giveUp(message, attempts, cause);
+                return;
+            }
+            Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+            if (backoff.compareTo(maxBackoff) > 0) {
+                backoff = maxBackoff;
+            }
+            log.debug("Outbox message {} ({} {}) failed in {} (attempt {}), retrying in {}", message.getId(),
+                    message.getEventType(), message.getAggregateKey(), consumer.getName(), attempts, backoff);
+            outboxRepository.markFailed(consumer.getName(), message.getId(), OutboxStatus.PENDING, attempts,
+                    LocalDateTime.now().plus(backoff), errorText(consumer.getName(), cause));
+        }
+
+        private void giveUp(OutboxMessage message, int attempts, Exception cause) {
+            log.error("{} gave up on outbox message {} ({} {}) after {} attempts", consumer.getName(), message.getId(),
+                    message.getEventType(), message.getAggregateKey(), attempts, cause);
+            outboxRepository.markFailed(consumer.getName(), message.getId(), OutboxStatus.DEAD, attempts, null,
+                    errorText(consumer.getName(), cause));
+            outboxRepository.complete(List.of(message.getId()), consumers.size(), LocalDateTime.now());
+            dead.increment();
+        }
+
+        private void sleepQuietly() {
+            try {
+                Thread.sleep(pollIntervalMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+        }
+    }
+
+    private static String errorText(String where, Exception cause) {
+        String text = where + ": " + cause;
+        return text.length() > 500 ? text.substring(0, 500) : text;
+    }
+}
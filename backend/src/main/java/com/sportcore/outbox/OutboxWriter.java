@@ -0,0 +1,105 @@
+package com.sportcore.outbox;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.sportcore.entity.OutboxMessage;
+import com.sportcore.event.CatalogReloadedEvent;
+import com.sportcore.event.CategoryChangedEvent;
+import com.sportcore.event.OrderPlacedEvent;
+import com.sportcore.event.ProductChangedEvent;
+import com.sportcore.event.StockChangedEvent;
+import com.sportcore.repository.OutboxRepository;
+
+// Records events in the outbox as part of the transaction that publishes them: the rows are inserted in one
+// batch just before that transaction commits, so they exist exactly when its changes do. Events published
+// outside a transaction are written straight away.
+@Component
+public class OutboxWriter {
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Autowired
+    private OutboxEvents outboxEvents;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        append(outboxEvents.toMessage(event));
+    }
+
+    // Count changes would flood the outbox during a sale; only going in or out of stock is worth telling
+    @EventListener
+    public void onStockChanged(StockChangedEvent event) {
+        if (event.isAvailabilityChanged()) {
+            append(outboxEvents.toMessage(event));
+        }
+    }
+
+    @EventListener
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        append(outboxEvents.toMessage(event));
+    }
+
+    @EventListener
+    public void onCatalogReloaded(CatalogReloadedEvent event) {
+        append(outboxEvents.toMessage(event));
+    }
+
+    @EventListener
+    public void onOrderPlaced(OrderPlacedEvent event) {
+        append(outboxEvents.toMessage(event));
+    }
+
+    private void append(OutboxMessage message) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            outboxRepository.insertAll(List.of(message));
+            outboxRelay.wakeUp();
+            return;
+        }
+        pendingMessages().messages.add(message);
+    }
+
+    // Looked up among the current transaction's synchronizations rather than bound as a resource, so a
+    // REQUIRES_NEW transaction gets its own batch instead of adding to the suspended one
+    private PendingMessages pendingMessages() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingMessages pending && pending.owner == this) {
+                return pending;
+            }
+        }
+        PendingMessages pending = new PendingMessages(this);
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        return pending;
+    }
+
+    private static final class PendingMessages implements TransactionSynchronization {
+
+        private final OutboxWriter owner;
+
+        private final List<OutboxMessage> messages = new ArrayList<>();
+
+        private PendingMessages(OutboxWriter owner) {
+            this.owner = owner;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            owner.outboxRepository.insertAll(messages);
+        }
+
+        @Override
+        public void afterCommit() {
+            owner.outboxRelay.wakeUp();
+        }
+    }
+}
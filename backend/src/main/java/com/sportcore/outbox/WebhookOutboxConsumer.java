@@ -0,0 +1,75 @@
+package com.sportcore.outbox;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sportcore.entity.OutboxMessage;
+
+// POSTs each message to the configured endpoints (app.outbox.webhooks.urls). Any endpoint failing retries
+// the message for all of them, so receivers should drop repeats by the X-Outbox-Message-Id header.
+@Component
+@Order(3)
+public class WebhookOutboxConsumer implements OutboxConsumer {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.outbox.webhooks.urls:}")
+    private List<String> urls;
+
+    // Event types to send, e.g. OrderPlaced,StockChanged; empty sends everything
+    @Value("${app.outbox.webhooks.events:}")
+    private List<String> eventTypes;
+
+    @Value("${app.outbox.webhooks.timeout:5s}")
+    private Duration timeout;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(2))
+            .build();
+
+    @Override
+    public String getName() {
+        return "webhooks";
+    }
+
+    @Override
+    public void consume(OutboxMessage message, Object event) throws IOException, InterruptedException {
+        if (urls.isEmpty() || (!eventTypes.isEmpty() && !eventTypes.contains(message.getEventType()))) {
+            return;
+        }
+        ObjectNode body = objectMapper.createObjectNode();
+        body.put("id", message.getId());
+        body.put("aggregateType", message.getAggregateType());
+        body.put("aggregateId", message.getAggregateId());
+        body.put("eventType", message.getEventType());
+        body.put("createdAt", message.getCreatedAt().toString());
+        body.set("payload", objectMapper.readTree(message.getPayload()));
+        String json = objectMapper.writeValueAsString(body);
+
+        for (String url : urls) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url.trim()))
+                    .timeout(timeout)
+                    .header("Content-Type", "application/json")
+                    .header("X-Outbox-Message-Id", String.valueOf(message.getId()))
+                    .POST(HttpRequest.BodyPublishers.ofString(json))
+                    .build();
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() / 100 != 2) {
+                throw new IOException("Webhook " + url + " answered " + response.statusCode());
+            }
+        }
+    }
+}
@@ -1,18 +1,28 @@
 package com.sportcore.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.sportcore.entity.Category;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
 
+    @Override
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    List<Category> findAll();
+
     Optional<Category> findByNameIgnoreCase(String name);
 
     List<Category> findByNameContainingIgnoreCase(String name);
@@ -21,6 +31,16 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
 
     boolean existsByNameAndIdNot(String name, Long id);
 
+    @Query("SELECT c.id FROM Category c WHERE c.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Category c WHERE c.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT c.id, LOWER(c.name) FROM Category c WHERE LOWER(c.name) IN :names")
+    List<Object[]> findIdsByLowerNameIn(@Param("names") Collection<String> names);
+
     @Query("SELECT c FROM Category c LEFT JOIN FETCH c.products")
     List<Category> findAllWithProducts();
 
@@ -0,0 +1,30 @@
+package com.sportcore.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.sportcore.entity.Order;
+
+@Repository
+public interface OrderRepository extends JpaRepository<Order, Long> {
+
+    @EntityGraph(attributePaths = "items")
+    @Query("SELECT o FROM Order o WHERE o.id = :id")
+    Optional<Order> findByIdWithItems(@Param("id") Long id);
+
+    @EntityGraph(attributePaths = "items")
+    Optional<Order> findByIdempotencyKey(String idempotencyKey);
+
+    @EntityGraph(attributePaths = "items")
+    List<Order> findByUserIdOrderByCreatedAtDesc(Long userId);
+
+    @Query("SELECT o.idempotencyKey FROM Order o WHERE o.idempotencyKey IN :keys")
+    List<String> findExistingIdempotencyKeys(@Param("keys") Collection<String> keys);
+}
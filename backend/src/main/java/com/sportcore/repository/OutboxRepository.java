@@ -0,0 +1,189 @@
+package com.sportcore.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.sportcore.entity.OutboxMessage;
+import com.sportcore.entity.OutboxStatus;
+
+// Plain JDBC: rows are appended in one batch per transaction and the relay only ever needs a handful of
+// narrow statements, none of which should go through the persistence context
+@Repository
+public class OutboxRepository {
+
+    // Messages one consumer still has to deliver: never tried, or failed and due again. Any whose aggregate has
+    // an earlier message waiting out this consumer's retry are skipped, so one failing aggregate neither reorders
+    // its own messages nor holds up the others. Attempts and errors are the consumer's own.
+    private static final String DUE_SQL = "SELECT m.id, m.aggregate_type, m.aggregate_id, m.event_type, m.payload, "
+            + "m.status, COALESCE(d.attempts, 0) AS attempts, d.next_attempt_at AS next_attempt_at, "
+            + "d.last_error AS last_error, m.created_at, m.published_at "
+            + "FROM outbox_messages m LEFT JOIN outbox_deliveries d ON d.message_id = m.id AND d.consumer = ? "
+            + "WHERE m.status = 'PENDING' AND (d.id IS NULL OR (d.status = 'PENDING' AND d.next_attempt_at <= ?)) "
+            + "AND NOT EXISTS (SELECT 1 FROM outbox_deliveries b JOIN outbox_messages bm ON bm.id = b.message_id "
+            + "WHERE b.consumer = ? AND b.status = 'PENDING' AND b.next_attempt_at > ? "
+            + "AND bm.aggregate_type = m.aggregate_type AND bm.aggregate_id = m.aggregate_id AND bm.id < m.id) "
+            + "ORDER BY m.id LIMIT ?";
+
+    // A message is done once every consumer has a final row for it: published when they all delivered it,
+    // dead when they are all through and one of them gave up
+    private static final String PUBLISH_SQL = "UPDATE outbox_messages SET status = 'PUBLISHED', published_at = ? "
+            + "WHERE id = ? AND status = 'PENDING' AND (SELECT COUNT(*) FROM outbox_deliveries d "
+            + "WHERE d.message_id = outbox_messages.id AND d.status = 'PUBLISHED') >= ?";
+
+    private static final String BURY_SQL = "UPDATE outbox_messages SET status = 'DEAD' "
+            + "WHERE id = ? AND status = 'PENDING' AND (SELECT COUNT(*) FROM outbox_deliveries d "
+            + "WHERE d.message_id = outbox_messages.id AND d.status IN ('PUBLISHED', 'DEAD')) >= ? "
+            + "AND EXISTS (SELECT 1 FROM outbox_deliveries d WHERE d.message_id = outbox_messages.id AND d.status = 'DEAD')";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public void insertAll(List<OutboxMessage> messages) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate("INSERT INTO outbox_messages (aggregate_type, aggregate_id, event_type, payload, status, "
+                + "created_at) VALUES (?, ?, ?, ?, 'PENDING', ?)", messages, messages.size(), (ps, message) -> {
+                    ps.setString(1, message.getAggregateType());
+                    ps.setLong(2, message.getAggregateId());
+                    ps.setString(3, message.getEventType());
+                    ps.setString(4, message.getPayload());
+                    ps.setTimestamp(5, now);
+                });
+    }
+
+    public List<OutboxMessage> findDue(String consumer, LocalDateTime now, int limit) {
+        Timestamp at = Timestamp.valueOf(now);
+        return jdbcTemplate.query(DUE_SQL, OutboxRepository::map, consumer, at, consumer, at, limit);
+    }
+
+    // Rows left by earlier failures are updated, the rest inserted
+    public void markDelivered(String consumer, List<Long> messageIds, LocalDateTime deliveredAt) {
+        Timestamp at = Timestamp.valueOf(deliveredAt);
+        int[][] updated = jdbcTemplate.batchUpdate("UPDATE outbox_deliveries SET status = 'PUBLISHED', next_attempt_at = NULL, "
+                + "delivered_at = ? WHERE consumer = ? AND message_id = ?", messageIds, messageIds.size(), (ps, id) -> {
+                    ps.setTimestamp(1, at);
+                    ps.setString(2, consumer);
+                    ps.setLong(3, id);
+                });
+        List<Long> inserts = new ArrayList<>();
+        int index = 0;
+        for (int[] counts : updated) {
+            for (int count : counts) {
+                if (count == 0) {
+                    inserts.add(messageIds.get(index));
+                }
+                index++;
+            }
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO outbox_deliveries (message_id, consumer, status, attempts, delivered_at) "
+                    + "VALUES (?, ?, 'PUBLISHED', 0, ?)", inserts, inserts.size(), (ps, id) -> {
+                        ps.setLong(1, id);
+                        ps.setString(2, consumer);
+                        ps.setTimestamp(3, at);
+                    });
+        }
+    }
+
+    public void markFailed(String consumer, long messageId, OutboxStatus status, int attempts, LocalDateTime nextAttemptAt,
+                           String error) {
+        Timestamp next = nextAttemptAt != null ? Timestamp.valueOf(nextAttemptAt) : null;
+        int updated = jdbcTemplate.update("UPDATE outbox_deliveries SET status = ?, attempts = ?, next_attempt_at = ?, "
+                + "last_error = ? WHERE consumer = ? AND message_id = ?", status.name(), attempts, next, error, consumer, messageId);
+        if (updated == 0) {
+            jdbcTemplate.update("INSERT INTO outbox_deliveries (message_id, consumer, status, attempts, next_attempt_at, last_error) "
+                    + "VALUES (?, ?, ?, ?, ?, ?)", messageId, consumer, status.name(), attempts, next, error);
+        }
+    }
+
+    // Returns how many of the messages this call found delivered to every consumer
+    public int complete(Collection<Long> messageIds, int consumerCount, LocalDateTime completedAt) {
+        Timestamp at = Timestamp.valueOf(completedAt);
+        int[][] published = jdbcTemplate.batchUpdate(PUBLISH_SQL, messageIds, messageIds.size(), (ps, id) -> {
+            ps.setTimestamp(1, at);
+            ps.setLong(2, id);
+            ps.setInt(3, consumerCount);
+        });
+        jdbcTemplate.batchUpdate(BURY_SQL, messageIds, messageIds.size(), (ps, id) -> {
+            ps.setLong(1, id);
+            ps.setInt(2, consumerCount);
+        });
+        int count = 0;
+        for (int[] counts : published) {
+            for (int updated : counts) {
+                count += updated;
+            }
+        }
+        return count;
+    }
+
+    // Only the consumers that gave up deliver again; the others keep their delivered rows
+    public int requeueDead() {
+        jdbcTemplate.update("UPDATE outbox_messages SET status = 'PENDING' WHERE status = 'DEAD'");
+        return jdbcTemplate.update("UPDATE outbox_deliveries SET status = 'PENDING', attempts = 0, next_attempt_at = NULL "
+                + "WHERE status = 'DEAD'");
+    }
+
+    public int deletePublishedBefore(LocalDateTime cutoff) {
+        Timestamp at = Timestamp.valueOf(cutoff);
+        jdbcTemplate.update("DELETE FROM outbox_deliveries WHERE message_id IN (SELECT id FROM outbox_messages "
+                + "WHERE status = 'PUBLISHED' AND published_at < ?)", at);
+        return jdbcTemplate.update("DELETE FROM outbox_messages WHERE status = 'PUBLISHED' AND published_at < ?", at);
+    }
+
+    // Deliveries each consumer has left to retry or gave up on
+    public Map<String, Long> countFailingByConsumer() {
+        Map<String, Long> counts = new TreeMap<>();
+        jdbcTemplate.query("SELECT consumer, COUNT(*) FROM outbox_deliveries WHERE status IN ('PENDING', 'DEAD') "
+                + "GROUP BY consumer", rs -> {
+                    counts.put(rs.getString(1), rs.getLong(2));
+                });
+        return counts;
+    }
+
+    public Map<OutboxStatus, Long> countByStatus() {
+        Map<OutboxStatus, Long> counts = new EnumMap<>(OutboxStatus.class);
+        for (OutboxStatus status : OutboxStatus.values()) {
+            counts.put(status, 0L);
+        }
+        jdbcTemplate.query("SELECT status, COUNT(*) FROM outbox_messages GROUP BY status",
+                rs -> {
+                    counts.put(OutboxStatus.valueOf(rs.getString(1)), rs.getLong(2));
+                });
+        return counts;
+    }
+
+    public LocalDateTime findOldestPendingCreatedAt() {
+        Timestamp oldest = jdbcTemplate.queryForObject(
+                "SELECT MIN(created_at) FROM outbox_messages WHERE status = 'PENDING'", Timestamp.class);
+        return oldest != null ? oldest.toLocalDateTime() : null;
+    }
+
+    private static OutboxMessage map(ResultSet rs, int rowNum) throws SQLException {
+        OutboxMessage message = new OutboxMessage(rs.getString("aggregate_type"), rs.getLong("aggregate_id"),
+                rs.getString("event_type"), rs.getString("payload"));
+        message.setId(rs.getLong("id"));
+        message.setStatus(OutboxStatus.valueOf(rs.getString("status")));
+        message.setAttempts(rs.getInt("attempts"));
+        message.setNextAttemptAt(toLocalDateTime(rs.getTimestamp("next_attempt_at")));
+        message.setLastError(rs.getString("last_error"));
+        message.setCreatedAt(toLocalDateTime(rs.getTimestamp("created_at")));
+        message.setPublishedAt(toLocalDateTime(rs.getTimestamp("published_at")));
+        return message;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
@@ -1,11 +1,17 @@
 package com.sportcore.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.sportcore.dto.ProductImageDto;
+import com.sportcore.entity.ImageVariantStatus;
 import com.sportcore.entity.ProductImage;
 
 @Repository
@@ -19,5 +25,25 @@ public interface ProductImageRepository extends JpaRepository<ProductImage, Long
 
     long countByProductId(Long productId);
 
+    Optional<ProductImage> findFirstByProductIdAndContentHash(Long productId, String contentHash);
+
+    List<ProductImage> findByContentHashAndVariantStatus(String contentHash, ImageVariantStatus variantStatus);
+
+    @Query("SELECT DISTINCT i.contentHash FROM ProductImage i WHERE i.variantStatus = :status")
+    List<String> findContentHashesByVariantStatus(@Param("status") ImageVariantStatus status);
+
     void deleteByProductId(Long productId);
+
+    @Query("SELECT new com.sportcore.dto.ProductImageDto(i.id, i.url, i.altText, i.isPrimary, i.product.id, "
+            + "i.thumbnailUrl, i.cardUrl, i.detailUrl) "
+            + "FROM ProductImage i WHERE i.product.id IN :productIds ORDER BY i.id")
+    List<ProductImageDto> findDtosByProductIdIn(@Param("productIds") Collection<Long> productIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM ProductImage i WHERE i.product.id IN :productIds")
+    int deleteAllByProductIdIn(@Param("productIds") Collection<Long> productIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM ProductImage i WHERE i.product.id IN (SELECT p.id FROM Product p WHERE p.category.id IN :categoryIds)")
+    int deleteAllByCategoryIdIn(@Param("categoryIds") Collection<Long> categoryIds);
 }
@@ -1,19 +1,32 @@
 package com.sportcore.repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.sportcore.dto.ProductDto;
 import com.sportcore.entity.Product;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductRepositoryCustom {
+
+    String DTO_PROJECTION = "new com.sportcore.dto.ProductDto(p.id, p.name, p.description, p.price, p.stock, "
+            + "p.category.id, p.brand, p.flavor, p.version)";
 
     List<Product> findByCategoryId(Long categoryId);
 
@@ -25,21 +38,82 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 
     List<Product> findByStockGreaterThan(Integer stock);
 
-    @Query(value = "SELECT * FROM products ORDER BY RAND() LIMIT :limit", nativeQuery = true)
-    List<Product> findRandomProducts(@Param("limit") int limit);
-
-    @Query(value = "SELECT p.* FROM products p ORDER BY RAND() LIMIT :limit", nativeQuery = true)
-    List<Product> findRandomProductsWithImages(@Param("limit") int limit);
-
     List<Product> findByPriceBetween(Double minPrice, Double maxPrice);
 
     boolean existsByName(String name);
 
     boolean existsByNameAndIdNot(String name, Long id);
 
+    @Query("SELECT p.name FROM Product p WHERE p.name IN :names")
+    List<String> findExistingNames(@Param("names") Collection<String> names);
+
+    @Query("SELECT p.id FROM Product p WHERE p.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Product p WHERE p.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Product p WHERE p.category.id IN :categoryIds")
+    int deleteAllByCategoryIdIn(@Param("categoryIds") Collection<Long> categoryIds);
+
+    // Rounded to the column's scale and never below the smallest valid price
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.price = CASE WHEN ROUND(p.price * :factor, 2) < 0.01 THEN 0.01 "
+            + "ELSE ROUND(p.price * :factor, 2) END, p.version = p.version + 1, p.updatedAt = :now "
+            + "WHERE (:categoryId IS NULL OR p.category.id = :categoryId) AND (:brand IS NULL OR p.brand = :brand)")
+    int adjustPrices(@Param("factor") BigDecimal factor, @Param("categoryId") Long categoryId,
+                     @Param("brand") String brand, @Param("now") LocalDateTime now);
+
     @Query("SELECT p FROM Product p LEFT JOIN FETCH p.images WHERE p.id = :id")
     Optional<Product> findByIdWithImages(@Param("id") Long id);
 
     @Query("SELECT p FROM Product p LEFT JOIN FETCH p.images")
     List<Product> findAllWithImages();
+
+    @Query("SELECT DISTINCT p FROM Product p LEFT JOIN FETCH p.images WHERE p.id IN :ids")
+    List<Product> findAllWithImagesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(value = "SELECT " + DTO_PROJECTION + " FROM Product p",
+            countQuery = "SELECT count(p) FROM Product p")
+    Page<ProductDto> findAllDtos(Pageable pageable);
+
+    @Query("SELECT " + DTO_PROJECTION + " FROM Product p WHERE p.category.id = :categoryId")
+    List<ProductDto> findDtosByCategoryId(@Param("categoryId") Long categoryId);
+
+    @Query("SELECT " + DTO_PROJECTION + " FROM Product p WHERE p.id IN :ids")
+    List<ProductDto> findDtosByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT p.id, p.category.id FROM Product p ORDER BY p.id")
+    List<Object[]> findAllIdsWithCategoryId();
+
+    @Query("SELECT p.id, p.price FROM Product p WHERE p.id IN :ids")
+    List<Object[]> findPricesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT p.id, p.category.id, p.price, p.stock FROM Product p")
+    List<Object[]> findAllStreamStates();
+
+    @Query("SELECT p.id, p.category.id, p.price, p.stock FROM Product p WHERE p.id IN :ids")
+    List<Object[]> findStreamStatesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT p.id, p.price, p.stock, p.brand, p.flavor, p.category.id FROM Product p ORDER BY p.id")
+    List<Object[]> findAllFacetRows();
+
+    @Query("SELECT p.id, p.name, p.brand, p.flavor, p.description, c.name FROM Product p JOIN p.category c")
+    List<Object[]> findAllSearchDocuments();
+
+    @Query("SELECT p.id, p.name, p.brand, p.flavor, p.description, c.name FROM Product p JOIN p.category c WHERE p.id = :id")
+    List<Object[]> findSearchDocumentById(@Param("id") Long id);
+
+    // MySQL Connector/J only honours the fetch size with useCursorFetch=true (see application-mysql.properties);
+    // otherwise it buffers the whole result set before the first row comes back
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p.id, p.name, p.description, p.price, p.stock, p.category.id, p.brand, p.flavor, "
+            + "i.id, i.url, i.altText, i.isPrimary, i.thumbnailUrl, i.cardUrl, i.detailUrl "
+            + "FROM Product p LEFT JOIN p.images i ORDER BY p.id, i.id")
+    Stream<Object[]> streamAllWithImageRows();
 }
@@ -0,0 +1,10 @@
+package com.sportcore.repository;
+
+import java.util.List;
+
+import com.sportcore.entity.Product;
+
+public interface ProductRepositoryCustom {
+
+    List<Product> findPageAfter(ProductSortKey sortKey, boolean ascending, Comparable<?> afterValue, Long afterId, int limit);
+}
@@ -0,0 +1,42 @@
+package com.sportcore.repository;
+
+import java.util.List;
+
+import com.sportcore.entity.Product;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+
+public class ProductRepositoryImpl implements ProductRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public List<Product> findPageAfter(ProductSortKey sortKey, boolean ascending, Comparable afterValue, Long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Product> query = cb.createQuery(Product.class);
+        Root<Product> product = query.from(Product.class);
+        Path<Comparable> key = product.get(sortKey.getProperty());
+        Path<Long> id = product.get("id");
+
+        if (afterValue != null && afterId != null) {
+            // Seek predicate on (key, id): rows strictly after the last row of the previous page
+            query.where(ascending
+                    ? cb.or(cb.greaterThan(key, afterValue), cb.and(cb.equal(key, afterValue), cb.greaterThan(id, afterId)))
+                    : cb.or(cb.lessThan(key, afterValue), cb.and(cb.equal(key, afterValue), cb.lessThan(id, afterId))));
+        }
+        query.orderBy(ascending
+                ? List.of(cb.asc(key), cb.asc(id))
+                : List.of(cb.desc(key), cb.desc(id)));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -0,0 +1,46 @@
+package com.sportcore.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+import com.sportcore.entity.Product;
+
+public enum ProductSortKey {
+    PRICE("price", Product::getPrice, BigDecimal::new),
+    NAME("name", Product::getName, value -> value),
+    CREATED_AT("createdAt", Product::getCreatedAt, LocalDateTime::parse);
+
+    private final String property;
+
+    private final Function<Product, Comparable<?>> extractor;
+
+    private final Function<String, Comparable<?>> parser;
+
+    ProductSortKey(String property, Function<Product, Comparable<?>> extractor, Function<String, Comparable<?>> parser) {
+        this.property = property;
+        this.extractor = extractor;
+        this.parser = parser;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public Comparable<?> valueOf(Product product) {
+        return extractor.apply(product);
+    }
+
+    public Comparable<?> parse(String value) {
+        return parser.apply(value);
+    }
+
+    public static ProductSortKey fromParameter(String value) {
+        for (ProductSortKey key : values()) {
+            if (key.name().equalsIgnoreCase(value) || key.property.equalsIgnoreCase(value)) {
+                return key;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported sort key: " + value);
+    }
+}
@@ -0,0 +1,44 @@
+package com.sportcore.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+// Stock moves as single conditional statements rather than entity read-modify-write. Plain JDBC so that
+// Hibernate does not drop the whole product cache region on every decrement, as a bulk JPQL update would;
+// callers evict the one product instead (StockChangedEvent).
+@Repository
+public class StockRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public boolean decrement(long productId, int quantity) {
+        return jdbcTemplate.update("UPDATE products SET stock = stock - ?, version = version + 1, updated_at = ? "
+                + "WHERE id = ? AND stock >= ?", quantity, now(), productId, quantity) == 1;
+    }
+
+    public boolean increment(long productId, int quantity) {
+        return jdbcTemplate.update("UPDATE products SET stock = stock + ?, version = version + 1, updated_at = ? WHERE id = ?",
+                quantity, now(), productId) == 1;
+    }
+
+    public Integer findStock(long productId) {
+        List<Integer> stock = jdbcTemplate.queryForList("SELECT stock FROM products WHERE id = ?", Integer.class, productId);
+        return stock.isEmpty() ? null : stock.get(0);
+    }
+
+    public Integer findStockForUpdate(long productId) {
+        List<Integer> stock = jdbcTemplate.queryForList("SELECT stock FROM products WHERE id = ? FOR UPDATE", Integer.class,
+                productId);
+        return stock.isEmpty() ? null : stock.get(0);
+    }
+
+    private static Timestamp now() {
+        return Timestamp.valueOf(LocalDateTime.now());
+    }
+}
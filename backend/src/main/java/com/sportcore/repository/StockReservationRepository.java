@@ -0,0 +1,39 @@
+package com.sportcore.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.sportcore.entity.ReservationStatus;
+import com.sportcore.entity.StockReservation;
+
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+
+    @Query("SELECT r FROM StockReservation r WHERE r.status = com.sportcore.entity.ReservationStatus.HELD "
+            + "AND r.expiresAt < :now ORDER BY r.expiresAt")
+    List<StockReservation> findExpiredHolds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // Status changes are compare-and-set, so a confirm racing the expiry sweep can only win once
+    @Modifying
+    @Query("UPDATE StockReservation r SET r.status = :to, r.updatedAt = :now WHERE r.id = :id AND r.status = :from")
+    int updateStatus(@Param("id") Long id, @Param("from") ReservationStatus from, @Param("to") ReservationStatus to,
+                     @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE StockReservation r SET r.status = com.sportcore.entity.ReservationStatus.CONFIRMED, r.updatedAt = :now "
+            + "WHERE r.id = :id AND r.status = com.sportcore.entity.ReservationStatus.HELD AND r.expiresAt > :now")
+    int confirmHeld(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE StockReservation r SET r.status = com.sportcore.entity.ReservationStatus.CONFIRMED, r.updatedAt = :now "
+            + "WHERE r.id IN :ids AND r.status = com.sportcore.entity.ReservationStatus.HELD AND r.expiresAt > :now")
+    int confirmAllHeld(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+}
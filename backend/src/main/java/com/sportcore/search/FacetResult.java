@@ -0,0 +1,31 @@
+package com.sportcore.search;
+
+import java.util.List;
+import java.util.Map;
+
+public class FacetResult {
+
+    private final int total;
+
+    private final List<Long> ids;
+
+    private final Map<String, Map<String, Integer>> facets;
+
+    public FacetResult(int total, List<Long> ids, Map<String, Map<String, Integer>> facets) {
+        this.total = total;
+        this.ids = ids;
+        this.facets = facets;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public Map<String, Map<String, Integer>> getFacets() {
+        return facets;
+    }
+}
@@ -0,0 +1,296 @@
+package com.sportcore.search;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.sportcore.config.DataSourceRouting;
+import com.sportcore.dto.ProductFilter;
+import com.sportcore.event.CatalogReloadedEvent;
+import com.sportcore.event.CategoryChangedEvent;
+import com.sportcore.event.ProductChangedEvent;
+import com.sportcore.event.StockChangedEvent;
+import com.sportcore.repository.ProductRepository;
+
+@Component
+public class ProductFacetIndex {
+
+    public static final String BRAND = "brand";
+    public static final String FLAVOR = "flavor";
+    public static final String CATEGORY = "category";
+    public static final String PRICE = "price";
+    public static final String IN_STOCK = "inStock";
+
+    private static final int BRAND_FILTER = 0;
+    private static final int FLAVOR_FILTER = 1;
+    private static final int CATEGORY_FILTER = 2;
+    private static final int PRICE_FILTER = 3;
+    private static final int STOCK_FILTER = 4;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Value("${app.facets.price-buckets:25,50,100}")
+    private List<BigDecimal> priceBoundaries;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile Snapshot snapshot;
+
+    private final Lock loadLock = new ReentrantLock();
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        invalidate();
+    }
+
+    // The index only keeps in-stock as a bit
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        if (event.isAvailabilityChanged()) {
+            invalidate();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        invalidate();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogReloaded(CatalogReloadedEvent event) {
+        invalidate();
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    public FacetResult query(ProductFilter filter, int offset, int limit, boolean sortByPrice, boolean descending) {
+        Snapshot current = getSnapshot();
+
+        BitSet[] filters = new BitSet[5];
+        filters[BRAND_FILTER] = union(current.brands, filter.getBrand());
+        filters[FLAVOR_FILTER] = union(current.flavors, filter.getFlavor());
+        filters[CATEGORY_FILTER] = union(current.categories, filter.getCategoryId());
+        filters[PRICE_FILTER] = priceRange(current, filter.getMinPrice(), filter.getMaxPrice());
+        filters[STOCK_FILTER] = stockFilter(current, filter.getInStock());
+
+        BitSet matches = intersect(current, filters, -1);
+
+        // Each facet is counted with every filter applied except its own, so sibling values stay selectable
+        Map<String, Map<String, Integer>> facets = new LinkedHashMap<>();
+        facets.put(BRAND, count(current.brands, intersect(current, filters, BRAND_FILTER)));
+        facets.put(FLAVOR, count(current.flavors, intersect(current, filters, FLAVOR_FILTER)));
+        facets.put(CATEGORY, count(current.categories, intersect(current, filters, CATEGORY_FILTER)));
+        facets.put(PRICE, count(current.priceBuckets, intersect(current, filters, PRICE_FILTER)));
+        BitSet stockBase = intersect(current, filters, STOCK_FILTER);
+        Map<String, Integer> stockCounts = new LinkedHashMap<>();
+        int inStock = countAnd(stockBase, current.inStock);
+        stockCounts.put("true", inStock);
+        stockCounts.put("false", stockBase.cardinality() - inStock);
+        facets.put(IN_STOCK, stockCounts);
+
+        return new FacetResult(matches.cardinality(), page(current, matches, offset, limit, sortByPrice, descending), facets);
+    }
+
+    private List<Long> page(Snapshot current, BitSet matches, int offset, int limit, boolean sortByPrice, boolean descending) {
+        List<Long> ids = new ArrayList<>();
+        if (!sortByPrice && !descending) {
+            int skipped = 0;
+            for (int ordinal = matches.nextSetBit(0); ordinal >= 0 && ids.size() < limit; ordinal = matches.nextSetBit(ordinal + 1)) {
+                if (skipped++ >= offset) {
+                    ids.add(current.ids[ordinal]);
+                }
+            }
+            return ids;
+        }
+
+        Comparator<Integer> order = sortByPrice
+                ? Comparator.<Integer>comparingLong(ordinal -> current.priceCents[ordinal]).thenComparingInt(ordinal -> ordinal)
+                : Comparator.comparingInt(ordinal -> ordinal);
+        return matches.stream()
+                .boxed()
+                .sorted(descending ? order.reversed() : order)
+                .skip(offset)
+                .limit(limit)
+                .map(ordinal -> current.ids[ordinal])
+                .collect(Collectors.toList());
+    }
+
+    private static <K> BitSet union(Map<K, BitSet> index, Collection<K> values) {
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+        BitSet union = new BitSet();
+        for (K value : values) {
+            BitSet bits = index.get(value);
+            if (bits != null) {
+                union.or(bits);
+            }
+        }
+        return union;
+    }
+
+    private static BitSet priceRange(Snapshot current, BigDecimal minPrice, BigDecimal maxPrice) {
+        if (minPrice == null && maxPrice == null) {
+            return null;
+        }
+        long min = minPrice != null ? toCents(minPrice) : Long.MIN_VALUE;
+        long max = maxPrice != null ? toCents(maxPrice) : Long.MAX_VALUE;
+        BitSet range = new BitSet(current.ids.length);
+        for (int ordinal = 0; ordinal < current.ids.length; ordinal++) {
+            if (current.priceCents[ordinal] >= min && current.priceCents[ordinal] <= max) {
+                range.set(ordinal);
+            }
+        }
+        return range;
+    }
+
+    private static BitSet stockFilter(Snapshot current, Boolean inStock) {
+        if (inStock == null) {
+            return null;
+        }
+        if (inStock) {
+            return current.inStock;
+        }
+        BitSet outOfStock = (BitSet) current.all.clone();
+        outOfStock.andNot(current.inStock);
+        return outOfStock;
+    }
+
+    private static BitSet intersect(Snapshot current, BitSet[] filters, int skip) {
+        BitSet result = (BitSet) current.all.clone();
+        for (int i = 0; i < filters.length; i++) {
+            if (i != skip && filters[i] != null) {
+                result.and(filters[i]);
+            }
+        }
+        return result;
+    }
+
+    private static <K> Map<String, Integer> count(Map<K, BitSet> index, BitSet base) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        index.forEach((value, bits) -> {
+            int count = countAnd(base, bits);
+            if (count > 0) {
+                counts.put(String.valueOf(value), count);
+            }
+        });
+        return counts;
+    }
+
+    private static int countAnd(BitSet left, BitSet right) {
+        BitSet both = (BitSet) left.clone();
+        both.and(right);
+        return both.cardinality();
+    }
+
+    private static long toCents(BigDecimal price) {
+        return price.movePointRight(2).longValue();
+    }
+
+    private Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        loadLock.lock();
+        try {
+            if (snapshot != null) {
+                return snapshot;
+            }
+            long buildGeneration = generation.get();
+            Snapshot built = load();
+            if (generation.get() == buildGeneration) {
+                snapshot = built;
+            }
+            return built;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private Snapshot load() {
+        List<Object[]> rows = DataSourceRouting.onPrimary(productRepository::findAllFacetRows);
+        Snapshot built = new Snapshot(rows.size());
+        Map<String, BitSet> buckets = new LinkedHashMap<>();
+        List<String> bucketNames = new ArrayList<>();
+        BigDecimal lower = BigDecimal.ZERO;
+        for (BigDecimal boundary : priceBoundaries) {
+            bucketNames.add(lower.toPlainString() + "-" + boundary.toPlainString());
+            lower = boundary;
+        }
+        bucketNames.add(lower.toPlainString() + "+");
+        bucketNames.forEach(name -> buckets.put(name, new BitSet(rows.size())));
+
+        for (int ordinal = 0; ordinal < rows.size(); ordinal++) {
+            Object[] row = rows.get(ordinal);
+            BigDecimal price = (BigDecimal) row[1];
+            Integer stock = (Integer) row[2];
+            built.ids[ordinal] = (Long) row[0];
+            built.priceCents[ordinal] = toCents(price);
+            built.all.set(ordinal);
+            if (stock != null && stock > 0) {
+                built.inStock.set(ordinal);
+            }
+            if (row[3] != null) {
+                built.brands.computeIfAbsent((String) row[3], key -> new BitSet()).set(ordinal);
+            }
+            if (row[4] != null) {
+                built.flavors.computeIfAbsent((String) row[4], key -> new BitSet()).set(ordinal);
+            }
+            built.categories.computeIfAbsent((Long) row[5], key -> new BitSet()).set(ordinal);
+
+            int bucket = 0;
+            while (bucket < priceBoundaries.size() && price.compareTo(priceBoundaries.get(bucket)) >= 0) {
+                bucket++;
+            }
+            buckets.get(bucketNames.get(bucket)).set(ordinal);
+        }
+        built.priceBuckets.putAll(buckets);
+        return built;
+    }
+
+    private static final class Snapshot {
+
+        private final long[] ids;
+
+        private final long[] priceCents;
+
+        private final BitSet all;
+
+        private final BitSet inStock;
+
+        private final Map<String, BitSet> brands = new TreeMap<>();
+
+        private final Map<String, BitSet> flavors = new TreeMap<>();
+
+        private final Map<Long, BitSet> categories = new TreeMap<>();
+
+        private final Map<String, BitSet> priceBuckets = new LinkedHashMap<>();
+
+        private Snapshot(int size) {
+            this.ids = new long[size];
+            this.priceCents = new long[size];
+            this.all = new BitSet(size);
+            this.inStock = new BitSet(size);
+        }
+    }
+}
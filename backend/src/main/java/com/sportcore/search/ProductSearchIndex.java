@@ -0,0 +1,229 @@
+package com.sportcore.search;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.sportcore.config.DataSourceRouting;
+import com.sportcore.event.CatalogReloadedEvent;
+import com.sportcore.event.CategoryChangedEvent;
+import com.sportcore.event.ChangeType;
+import com.sportcore.event.ProductChangedEvent;
+import com.sportcore.repository.ProductRepository;
+
+@Component
+public class ProductSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductSearchIndex.class);
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final int NAME_BOOST = 3;
+    private static final int BRAND_BOOST = 2;
+    private static final int CATEGORY_BOOST = 2;
+    private static final int FLAVOR_BOOST = 2;
+    private static final int DESCRIPTION_BOOST = 1;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Lock writeMutex = new ReentrantLock();
+
+    private Segment segment = new Segment();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        writeMutex.lock();
+        try {
+            Segment rebuilt = new Segment();
+            List<Object[]> documents = DataSourceRouting.onPrimary(productRepository::findAllSearchDocuments);
+            documents.forEach(row -> rebuilt.add((Long) row[0], termFrequencies(row)));
+
+            lock.writeLock().lock();
+            try {
+                segment = rebuilt;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Product search index rebuilt with {} documents and {} terms", documents.size(), rebuilt.postings.size());
+        } finally {
+            writeMutex.unlock();
+        }
+    }
+
+    // Change handlers are driven by the outbox relay (IndexOutboxConsumer), off the writing request's thread
+    public void onProductChanged(ProductChangedEvent event) {
+        // Straight after the commit the replica may not have the row yet
+        List<Object[]> rows = event.getChangeType() == ChangeType.DELETED
+                ? List.of()
+                : DataSourceRouting.onPrimary(() -> productRepository.findSearchDocumentById(event.getProductId()));
+        writeMutex.lock();
+        try {
+            lock.writeLock().lock();
+            try {
+                segment.remove(event.getProductId());
+                rows.forEach(row -> segment.add((Long) row[0], termFrequencies(row)));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            writeMutex.unlock();
+        }
+    }
+
+    public void onCatalogReloaded(CatalogReloadedEvent event) {
+        rebuild();
+    }
+
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        if (event.getChangeType() != ChangeType.CREATED) {
+            rebuild();
+        }
+    }
+
+    public SearchHits search(String query, int offset, int limit) {
+        List<String> tokens = TextNormalizer.tokenize(query);
+        if (tokens.isEmpty()) {
+            return new SearchHits(0, List.of());
+        }
+        boolean lastIsPrefix = !Character.isWhitespace(query.charAt(query.length() - 1));
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = null;
+            for (int i = 0; i < tokens.size(); i++) {
+                boolean prefix = lastIsPrefix && i == tokens.size() - 1;
+                Map<Long, Double> clause = segment.score(tokens.get(i), prefix);
+                scores = scores == null ? clause : intersect(scores, clause);
+                if (scores.isEmpty()) {
+                    return new SearchHits(0, List.of());
+                }
+            }
+
+            List<Long> ranked = scores.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder())
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .skip(offset)
+                    .limit(limit)
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList());
+            return new SearchHits(scores.size(), ranked);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return segment.documentLengths.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static Map<Long, Double> intersect(Map<Long, Double> left, Map<Long, Double> right) {
+        Map<Long, Double> smaller = left.size() <= right.size() ? left : right;
+        Map<Long, Double> larger = smaller == left ? right : left;
+        Map<Long, Double> result = new HashMap<>();
+        smaller.forEach((id, score) -> {
+            Double other = larger.get(id);
+            if (other != null) {
+                result.put(id, score + other);
+            }
+        });
+        return result;
+    }
+
+    private static Map<String, Integer> termFrequencies(Object[] row) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        addField(frequencies, (String) row[1], NAME_BOOST);
+        addField(frequencies, (String) row[2], BRAND_BOOST);
+        addField(frequencies, (String) row[3], FLAVOR_BOOST);
+        addField(frequencies, (String) row[4], DESCRIPTION_BOOST);
+        addField(frequencies, (String) row[5], CATEGORY_BOOST);
+        return frequencies;
+    }
+
+    private static void addField(Map<String, Integer> frequencies, String text, int boost) {
+        for (String token : TextNormalizer.tokenize(text)) {
+            frequencies.merge(token, boost, Integer::sum);
+        }
+    }
+
+    private static final class Segment {
+
+        private final TreeMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+
+        private final Map<Long, Map<String, Integer>> documents = new HashMap<>();
+
+        private final Map<Long, Integer> documentLengths = new HashMap<>();
+
+        private long totalLength;
+
+        void add(Long id, Map<String, Integer> frequencies) {
+            int length = frequencies.values().stream().mapToInt(Integer::intValue).sum();
+            frequencies.forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, key -> new HashMap<>()).put(id, frequency));
+            documents.put(id, frequencies);
+            documentLengths.put(id, length);
+            totalLength += length;
+        }
+
+        void remove(Long id) {
+            Map<String, Integer> frequencies = documents.remove(id);
+            if (frequencies == null) {
+                return;
+            }
+            frequencies.keySet().forEach(term -> {
+                Map<Long, Integer> posting = postings.get(term);
+                posting.remove(id);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            });
+            totalLength -= documentLengths.remove(id);
+        }
+
+        // BM25 score per document for one query clause; prefix clauses keep the best matching expansion
+        Map<Long, Double> score(String token, boolean prefix) {
+            Map<Long, Double> scores = new HashMap<>();
+            int documentCount = documentLengths.size();
+            if (documentCount == 0) {
+                return scores;
+            }
+            double averageLength = (double) totalLength / documentCount;
+            NavigableMap<String, Map<Long, Integer>> terms = prefix
+                    ? postings.subMap(token, true, token + Character.MAX_VALUE, true)
+                    : postings.subMap(token, true, token, true);
+
+            for (Map<Long, Integer> posting : terms.values()) {
+                double idf = Math.log(1 + (documentCount - posting.size() + 0.5) / (posting.size() + 0.5));
+                posting.forEach((id, frequency) -> {
+                    double norm = K1 * (1 - B + B * documentLengths.get(id) / averageLength);
+                    double score = idf * frequency * (K1 + 1) / (frequency + norm);
+                    scores.merge(id, score, Math::max);
+                });
+            }
+            return scores;
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package com.sportcore.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.ToLongFunction;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.sportcore.config.DataSourceRouting;
+import com.sportcore.dto.SuggestionDto;
+import com.sportcore.dto.SuggestionStatsDto;
+import com.sportcore.event.CatalogReloadedEvent;
+import com.sportcore.event.CategoryChangedEvent;
+import com.sportcore.event.ChangeType;
+import com.sportcore.event.ProductChangedEvent;
+import com.sportcore.repository.ProductRepository;
+import com.sportcore.service.ProductPopularity;
+
+@Component
+public class ProductSuggester {
+
+    private static final String NAME = "NAME";
+    private static final String BRAND = "BRAND";
+    private static final String FLAVOR = "FLAVOR";
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductPopularity productPopularity;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Lock writeMutex = new ReentrantLock();
+
+    private Dictionary dictionary = new Dictionary();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        writeMutex.lock();
+        try {
+            Dictionary rebuilt = new Dictionary();
+            DataSourceRouting.onPrimary(productRepository::findAllSearchDocuments).forEach(rebuilt::addProduct);
+            rebuilt.index(this::weigh);
+
+            lock.writeLock().lock();
+            try {
+                dictionary = rebuilt;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            writeMutex.unlock();
+        }
+    }
+
+    // Change handlers are driven by the outbox relay (IndexOutboxConsumer), off the writing request's thread
+    public void onProductChanged(ProductChangedEvent event) {
+        List<Object[]> rows = event.getChangeType() == ChangeType.DELETED
+                ? List.of()
+                : DataSourceRouting.onPrimary(() -> productRepository.findSearchDocumentById(event.getProductId()));
+        writeMutex.lock();
+        try {
+            lock.writeLock().lock();
+            try {
+                dictionary.removeProduct(event.getProductId());
+                rows.forEach(dictionary::addProduct);
+                dictionary.index(this::weigh);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            writeMutex.unlock();
+        }
+    }
+
+    public void onCatalogReloaded(CatalogReloadedEvent event) {
+        rebuild();
+    }
+
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        if (event.getChangeType() == ChangeType.DELETED) {
+            rebuild();
+        }
+    }
+
+    // Views move the ranking in the background; weights in the trie trail them by at most one interval
+    @Scheduled(fixedDelayString = "${app.suggest.reweigh-interval-ms:5000}")
+    public void reweigh() {
+        List<Long> viewed = productPopularity.drainChanged();
+        if (viewed.isEmpty()) {
+            return;
+        }
+        writeMutex.lock();
+        try {
+            lock.writeLock().lock();
+            try {
+                viewed.forEach(dictionary::touchProduct);
+                dictionary.index(this::weigh);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            writeMutex.unlock();
+        }
+    }
+
+    public List<SuggestionDto> suggest(String query, int limit) {
+        String prefix = String.join(" ", TextNormalizer.tokenize(query));
+        if (prefix.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        // The trie hands out suggestions heaviest first, so the walk stops once limit of them are in and
+        // the next one weighs less; ties at the cut are kept and ordered by text below
+        List<SuggestionDto> result = new ArrayList<>();
+        Set<Suggestion> seen = new HashSet<>();
+        lock.readLock().lock();
+        try {
+            dictionary.trie.visitByWeight(prefix, (suggestion, weight) -> {
+                if (result.size() >= limit && weight < result.get(limit - 1).getWeight()) {
+                    return false;
+                }
+                if (seen.add(suggestion)) {
+                    result.add(toDto(suggestion, weight));
+                }
+                return true;
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        result.sort(Comparator.comparingLong(SuggestionDto::getWeight).reversed()
+                .thenComparing(SuggestionDto::getText));
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    public SuggestionStatsDto getStats() {
+        lock.readLock().lock();
+        try {
+            long suggestionBytes = dictionary.suggestions.values().stream()
+                    .mapToLong(suggestion -> 64 + 2L * suggestion.text.length() + 16L * suggestion.productIds.size())
+                    .sum();
+            return new SuggestionStatsDto(dictionary.suggestions.size(), dictionary.trie.getKeyCount(),
+                    dictionary.trie.getNodeCount(), dictionary.trie.getEstimatedBytes() + suggestionBytes);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long weigh(Suggestion suggestion) {
+        long weight = 0;
+        for (Long productId : suggestion.productIds) {
+            weight += 1 + productPopularity.getViews(productId);
+        }
+        return weight;
+    }
+
+    private SuggestionDto toDto(Suggestion suggestion, long weight) {
+        Long productId = NAME.equals(suggestion.type) && suggestion.productIds.size() == 1
+                ? suggestion.productIds.iterator().next()
+                : null;
+        return new SuggestionDto(suggestion.text, suggestion.type, productId, weight);
+    }
+
+    private static final class Suggestion {
+
+        private final String text;
+
+        private final String type;
+
+        private final List<String> keys;
+
+        private final Set<Long> productIds = new HashSet<>();
+
+        // Weight stored in the trie, or -1 while the suggestion is not in it
+        private long weight = -1;
+
+        private Suggestion(String text, String type, List<String> keys) {
+            this.text = text;
+            this.type = type;
+            this.keys = keys;
+        }
+    }
+
+    private static final class Dictionary {
+
+        private final SuggestionTrie<Suggestion> trie = new SuggestionTrie<>();
+
+        private final Map<String, Suggestion> suggestions = new HashMap<>();
+
+        private final Map<Long, List<Suggestion>> byProduct = new HashMap<>();
+
+        // Suggestions whose products or views changed since the last index()
+        private final Set<Suggestion> dirty = new LinkedHashSet<>();
+
+        void addProduct(Object[] row) {
+            Long productId = (Long) row[0];
+            add(productId, (String) row[1], NAME);
+            add(productId, (String) row[2], BRAND);
+            add(productId, (String) row[3], FLAVOR);
+        }
+
+        void removeProduct(Long productId) {
+            List<Suggestion> owned = byProduct.remove(productId);
+            if (owned == null) {
+                return;
+            }
+            for (Suggestion suggestion : owned) {
+                suggestion.productIds.remove(productId);
+                dirty.add(suggestion);
+                if (suggestion.productIds.isEmpty()) {
+                    suggestions.remove(suggestion.type + ":" + suggestion.keys.get(0));
+                }
+            }
+        }
+
+        void touchProduct(Long productId) {
+            dirty.addAll(byProduct.getOrDefault(productId, List.of()));
+        }
+
+        // Brings the trie in line with the changed suggestions: new ones are inserted, emptied ones removed
+        // and the rest re-weighted, so a rebuild inserts every key once with its final weight
+        void index(ToLongFunction<Suggestion> weigher) {
+            for (Suggestion suggestion : dirty) {
+                if (suggestion.productIds.isEmpty()) {
+                    if (suggestion.weight >= 0) {
+                        suggestion.keys.forEach(key -> trie.remove(key, suggestion));
+                        suggestion.weight = -1;
+                    }
+                    continue;
+                }
+                long weight = weigher.applyAsLong(suggestion);
+                if (suggestion.weight < 0) {
+                    suggestion.keys.forEach(key -> trie.insert(key, suggestion, weight));
+                } else if (weight != suggestion.weight) {
+                    suggestion.keys.forEach(key -> trie.setWeight(key, suggestion, weight));
+                }
+                suggestion.weight = weight;
+            }
+            dirty.clear();
+        }
+
+        private void add(Long productId, String text, String type) {
+            List<String> tokens = TextNormalizer.tokenize(text);
+            if (tokens.isEmpty()) {
+                return;
+            }
+            String folded = String.join(" ", tokens);
+            Suggestion suggestion = suggestions.computeIfAbsent(type + ":" + folded, id -> {
+                // Every word start is a key so "protein" also suggests "Whey Protein Isolate"
+                List<String> keys = new ArrayList<>();
+                for (int i = 0; i < tokens.size(); i++) {
+                    keys.add(String.join(" ", tokens.subList(i, tokens.size())));
+                }
+                return new Suggestion(text.trim(), type, keys);
+            });
+            if (suggestion.productIds.add(productId)) {
+                byProduct.computeIfAbsent(productId, id -> new ArrayList<>()).add(suggestion);
+                dirty.add(suggestion);
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.sportcore.search;
+
+import java.util.List;
+
+public class SearchHits {
+
+    private final long total;
+
+    private final List<Long> ids;
+
+    public SearchHits(long total, List<Long> ids) {
+        this.total = total;
+        this.ids = ids;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+}
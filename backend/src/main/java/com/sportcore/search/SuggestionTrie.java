@@ -0,0 +1,349 @@
+package com.sportcore.search;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.PriorityQueue;
+
+// Radix trie of weighted values. Every node records the highest weight in its subtree, so a prefix lookup
+// walks the matching subtree best-first and stops as soon as the caller has enough, instead of visiting
+// every value under the prefix.
+public class SuggestionTrie<V> {
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Object[] NO_VALUES = new Object[0];
+    private static final long[] NO_WEIGHTS = new long[0];
+
+    private static final int OBJECT_HEADER_BYTES = 16;
+    private static final int REFERENCE_BYTES = 4;
+
+    private final Node root = new Node("");
+
+    private int keyCount;
+
+    @FunctionalInterface
+    public interface WeightedVisitor<V> {
+        // Returns false to stop the walk
+        boolean visit(V value, long weight);
+    }
+
+    public void insert(String key, V value, long weight) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int offset = 0;
+        while (offset < key.length()) {
+            Node child = node.child(key.charAt(offset));
+            if (child == null) {
+                Node leaf = new Node(key.substring(offset));
+                node.addChild(leaf);
+                node = leaf;
+                path.add(node);
+                break;
+            }
+            int common = commonPrefixLength(child.label, key, offset);
+            if (common < child.label.length()) {
+                // Split the edge so that the shared part becomes its own node
+                Node split = new Node(child.label.substring(0, common));
+                node.replaceChild(split);
+                child.label = child.label.substring(common);
+                split.children = new Node[] {child};
+                split.maxWeight = child.maxWeight;
+                child = split;
+            }
+            node = child;
+            path.add(node);
+            offset += common;
+        }
+        if (node.values.length == 0) {
+            keyCount++;
+        }
+        node.putValue(value, weight);
+        updatePath(path);
+    }
+
+    public void setWeight(String key, V value, long weight) {
+        List<Node> path = path(key);
+        if (path != null && path.get(path.size() - 1).putWeight(value, weight)) {
+            updatePath(path);
+        }
+    }
+
+    public void remove(String key, V value) {
+        List<Node> path = path(key);
+        if (path == null) {
+            return;
+        }
+        Node node = path.get(path.size() - 1);
+        if (!node.removeValue(value)) {
+            return;
+        }
+        if (node.values.length == 0) {
+            keyCount--;
+        }
+        // Drop nodes left without values or children, and fold a valueless node into its only child, so
+        // removals do not leave dead branches behind
+        for (int i = path.size() - 1; i > 0; i--) {
+            Node current = path.get(i);
+            Node parent = path.get(i - 1);
+            if (current.values.length == 0 && current.children.length == 0) {
+                parent.removeChild(current);
+            } else if (current.values.length == 0 && current.children.length == 1) {
+                Node only = current.children[0];
+                only.label = current.label + only.label;
+                parent.replaceChild(only);
+                path.set(i, only);
+            }
+        }
+        updatePath(path);
+    }
+
+    // Visits the values under the prefix from the highest weight down; a value stored under several matching
+    // keys is visited once per key
+    @SuppressWarnings("unchecked")
+    public void visitByWeight(String prefix, WeightedVisitor<V> visitor) {
+        Node start = find(prefix);
+        if (start == null) {
+            return;
+        }
+        // Nodes are queued by the best weight in their subtree, values by their own weight; a node is
+        // only expanded once nothing queued can outrank it
+        PriorityQueue<Entry> queue = new PriorityQueue<>((a, b) -> Long.compare(b.weight, a.weight));
+        queue.add(new Entry(start, null, start.maxWeight));
+        while (!queue.isEmpty()) {
+            Entry entry = queue.poll();
+            if (entry.node == null) {
+                if (!visitor.visit((V) entry.value, entry.weight)) {
+                    return;
+                }
+                continue;
+            }
+            Node node = entry.node;
+            for (int i = 0; i < node.values.length; i++) {
+                queue.add(new Entry(null, node.values[i], node.weights[i]));
+            }
+            for (Node child : node.children) {
+                queue.add(new Entry(child, null, child.maxWeight));
+            }
+        }
+    }
+
+    public int getKeyCount() {
+        return keyCount;
+    }
+
+    public int getNodeCount() {
+        int count = 0;
+        Deque<Node> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            Node node = stack.pop();
+            count++;
+            for (Node child : node.children) {
+                stack.push(child);
+            }
+        }
+        return count;
+    }
+
+    // Shallow estimate of the trie structure itself; values are accounted for by the caller
+    public long getEstimatedBytes() {
+        long bytes = 0;
+        Deque<Node> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            Node node = stack.pop();
+            bytes += OBJECT_HEADER_BYTES + 4 * REFERENCE_BYTES + 8;
+            bytes += OBJECT_HEADER_BYTES + 8 + OBJECT_HEADER_BYTES + node.label.length();
+            bytes += node.children.length == 0 ? 0 : OBJECT_HEADER_BYTES + (long) node.children.length * REFERENCE_BYTES;
+            bytes += node.values.length == 0 ? 0 : 2 * OBJECT_HEADER_BYTES + (long) node.values.length * (REFERENCE_BYTES + 8);
+            for (Node child : node.children) {
+                stack.push(child);
+            }
+        }
+        return bytes;
+    }
+
+    private Node find(String prefix) {
+        Node node = root;
+        int offset = 0;
+        while (offset < prefix.length()) {
+            Node child = node.child(prefix.charAt(offset));
+            if (child == null) {
+                return null;
+            }
+            int remaining = prefix.length() - offset;
+            int length = Math.min(remaining, child.label.length());
+            if (!prefix.regionMatches(offset, child.label, 0, length)) {
+                return null;
+            }
+            node = child;
+            offset += length;
+        }
+        return node;
+    }
+
+    // Nodes from the root to the node holding exactly this key, or null when the key is not stored
+    private List<Node> path(String key) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int offset = 0;
+        while (offset < key.length()) {
+            Node child = node.child(key.charAt(offset));
+            if (child == null || !key.startsWith(child.label, offset)) {
+                return null;
+            }
+            node = child;
+            path.add(node);
+            offset += child.label.length();
+        }
+        return path;
+    }
+
+    private static void updatePath(List<Node> path) {
+        for (int i = path.size() - 1; i >= 0; i--) {
+            path.get(i).updateMaxWeight();
+        }
+    }
+
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static final class Entry {
+
+        private final Node node;
+
+        private final Object value;
+
+        private final long weight;
+
+        private Entry(Node node, Object value, long weight) {
+            this.node = node;
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    private static final class Node {
+
+        private String label;
+
+        private Node[] children = NO_CHILDREN;
+
+        private Object[] values = NO_VALUES;
+
+        private long[] weights = NO_WEIGHTS;
+
+        // Highest weight among this node's values and all of its descendants
+        private long maxWeight = Long.MIN_VALUE;
+
+        private Node(String label) {
+            this.label = label;
+        }
+
+        private Node child(char first) {
+            int index = indexOf(first);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private int indexOf(char first) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char c = children[mid].label.charAt(0);
+                if (c < first) {
+                    low = mid + 1;
+                } else if (c > first) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        private void addChild(Node child) {
+            int insertAt = -(indexOf(child.label.charAt(0)) + 1);
+            Node[] grown = new Node[children.length + 1];
+            System.arraycopy(children, 0, grown, 0, insertAt);
+            grown[insertAt] = child;
+            System.arraycopy(children, insertAt, grown, insertAt + 1, children.length - insertAt);
+            children = grown;
+        }
+
+        private void replaceChild(Node child) {
+            children[indexOf(child.label.charAt(0))] = child;
+        }
+
+        private void removeChild(Node child) {
+            int index = indexOf(child.label.charAt(0));
+            Node[] shrunk = new Node[children.length - 1];
+            System.arraycopy(children, 0, shrunk, 0, index);
+            System.arraycopy(children, index + 1, shrunk, index, children.length - index - 1);
+            children = shrunk.length == 0 ? NO_CHILDREN : shrunk;
+        }
+
+        private void putValue(Object value, long weight) {
+            if (putWeight(value, weight)) {
+                return;
+            }
+            values = Arrays.copyOf(values, values.length + 1);
+            weights = Arrays.copyOf(weights, weights.length + 1);
+            values[values.length - 1] = value;
+            weights[weights.length - 1] = weight;
+        }
+
+        private boolean putWeight(Object value, long weight) {
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] == value) {
+                    weights[i] = weight;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean removeValue(Object value) {
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] == value) {
+                    if (values.length == 1) {
+                        values = NO_VALUES;
+                        weights = NO_WEIGHTS;
+                        return true;
+                    }
+                    Object[] shrunk = new Object[values.length - 1];
+                    System.arraycopy(values, 0, shrunk, 0, i);
+                    System.arraycopy(values, i + 1, shrunk, i, values.length - i - 1);
+                    long[] shrunkWeights = new long[weights.length - 1];
+                    System.arraycopy(weights, 0, shrunkWeights, 0, i);
+                    System.arraycopy(weights, i + 1, shrunkWeights, i, weights.length - i - 1);
+                    values = shrunk;
+                    weights = shrunkWeights;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void updateMaxWeight() {
+            long max = Long.MIN_VALUE;
+            for (long weight : weights) {
+                max = Math.max(max, weight);
+            }
+            for (Node child : children) {
+                max = Math.max(max, child.maxWeight);
+            }
+            maxWeight = max;
+        }
+    }
+}
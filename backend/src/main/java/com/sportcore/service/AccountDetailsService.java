@@ -0,0 +1,25 @@
+package com.sportcore.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.sportcore.repository.UserRepository;
+
+@Service
+public class AccountDetailsService implements UserDetailsService {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public UserDetails loadUserByUsername(String email) {
+        return userRepository.findByEmailIgnoreCase(email)
+                .map(AccountPrincipal::new)
+                .orElseThrow(() -> new UsernameNotFoundException("No user with email " + email));
+    }
+}
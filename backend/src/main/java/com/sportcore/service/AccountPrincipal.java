@@ -0,0 +1,31 @@
+package com.sportcore.service;
+
+import java.util.List;
+
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import com.sportcore.entity.UserRole;
+
+// The signed-in user, carrying the id that orders are owned by
+public class AccountPrincipal extends User {
+
+    private final Long userId;
+
+    private final UserRole role;
+
+    public AccountPrincipal(com.sportcore.entity.User user) {
+        super(user.getEmail(), user.getPassword(), Boolean.TRUE.equals(user.getIsActive()), true, true, true,
+                List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole().name())));
+        this.userId = user.getId();
+        this.role = user.getRole();
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public boolean isAdmin() {
+        return role == UserRole.ADMIN;
+    }
+}
@@ -0,0 +1,238 @@
+package com.sportcore.service;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.sportcore.config.MetricsConfig;
+import com.sportcore.dto.BatchResultDto;
+import com.sportcore.dto.PriceAdjustmentDto;
+import com.sportcore.dto.ProductPatchDto;
+import com.sportcore.entity.Category;
+import com.sportcore.entity.Product;
+import com.sportcore.event.CatalogReloadedEvent;
+import com.sportcore.event.CategoryChangedEvent;
+import com.sportcore.event.ChangeType;
+import com.sportcore.event.ProductChangedEvent;
+import com.sportcore.exception.BadRequestException;
+import com.sportcore.repository.CategoryRepository;
+import com.sportcore.repository.ProductImageRepository;
+import com.sportcore.repository.ProductRepository;
+
+import io.micrometer.core.annotation.Timed;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// Set-based counterparts of the per-item ProductService/CategoryService writes: each batch is one
+// transaction of a few IN-list or JDBC-batched statements instead of a load-check-save round trip per row
+@Service
+@Transactional
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class CatalogBatchService {
+
+    private static final int IN_LIST_SIZE = 1_000;
+
+    // null parameters keep the current value, so a patch only touches the fields it carries; a version, when
+    // sent, must still be the row's, so a reservation committed since the caller's read is not overwritten
+    private static final String PATCH_SQL = "UPDATE products SET description = COALESCE(?, description), "
+            + "price = COALESCE(?, price), stock = COALESCE(?, stock), category_id = COALESCE(?, category_id), "
+            + "brand = COALESCE(?, brand), flavor = COALESCE(?, flavor), version = version + 1, updated_at = ? "
+            + "WHERE id = ? AND (? IS NULL OR version = ?)";
+    private static final int[] PATCH_TYPES = {Types.VARCHAR, Types.DECIMAL, Types.INTEGER, Types.BIGINT,
+            Types.VARCHAR, Types.VARCHAR, Types.TIMESTAMP, Types.BIGINT, Types.BIGINT, Types.BIGINT};
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductImageRepository productImageRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.batch.max-size:10000}")
+    private int maxBatchSize;
+
+    // Up to this many rows the indexes are updated per product; larger batches reload them once
+    @Value("${app.batch.event-threshold:100}")
+    private int eventThreshold;
+
+    public BatchResultDto updateProducts(List<ProductPatchDto> patches) {
+        checkSize(patches.size());
+        Set<Long> categoryIds = patches.stream()
+                .map(ProductPatchDto::getCategoryId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (!categoryIds.isEmpty()) {
+            Set<Long> missing = new HashSet<>(categoryIds);
+            missing.removeAll(categoryRepository.findExistingIds(categoryIds));
+            if (!missing.isEmpty()) {
+                throw new BadRequestException("Categories not found with ids: " + missing);
+            }
+        }
+
+        List<Long> unversioned = patches.stream()
+                .filter(patch -> patch.getStock() != null && patch.getVersion() == null)
+                .map(ProductPatchDto::getId)
+                .collect(Collectors.toList());
+        if (!unversioned.isEmpty()) {
+            throw new BadRequestException("version is required when setting stock; missing for products " + unversioned);
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(patches.size());
+        for (ProductPatchDto patch : patches) {
+            rows.add(new Object[] {patch.getDescription(), patch.getPrice(), patch.getStock(), patch.getCategoryId(),
+                    patch.getBrand(), patch.getFlavor(), now, patch.getId(), patch.getVersion(), patch.getVersion()});
+        }
+        int[] counts = jdbcTemplate.batchUpdate(PATCH_SQL, rows, PATCH_TYPES);
+
+        Set<Long> updated = new LinkedHashSet<>();
+        Set<Long> unchanged = new LinkedHashSet<>();
+        for (int i = 0; i < counts.length; i++) {
+            Long id = patches.get(i).getId();
+            // Some drivers report SUCCESS_NO_INFO (-2) for batched rows instead of a count
+            if (counts[i] != 0) {
+                updated.add(id);
+            } else {
+                unchanged.add(id);
+            }
+        }
+        unchanged.removeAll(updated);
+        // A row that was not updated but exists was changed after the caller's version
+        Set<Long> conflicts = new LinkedHashSet<>();
+        for (List<Long> chunk : partition(unchanged)) {
+            conflicts.addAll(productRepository.findExistingIds(chunk));
+        }
+        Set<Long> notFound = new LinkedHashSet<>(unchanged);
+        notFound.removeAll(conflicts);
+
+        // The JDBC batch bypasses Hibernate, so its second-level cache entries are dropped once the batch commits
+        boolean categoryChanged = !categoryIds.isEmpty();
+        afterCommit(() -> {
+            Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+            updated.forEach(id -> cache.evictEntityData(Product.class, id));
+            if (categoryChanged) {
+                cache.evictCollectionData(Category.class.getName() + ".products");
+            }
+        });
+        publishProductChanges(updated, ChangeType.UPDATED, "batch-update");
+        return new BatchResultDto(patches.size(), updated.size(), new ArrayList<>(notFound), new ArrayList<>(conflicts));
+    }
+
+    public BatchResultDto deleteProducts(Collection<Long> ids) {
+        checkSize(ids.size());
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        Set<Long> deleted = new LinkedHashSet<>();
+        for (List<Long> chunk : partition(requested)) {
+            List<Long> existing = productRepository.findExistingIds(chunk);
+            if (!existing.isEmpty()) {
+                productImageRepository.deleteAllByProductIdIn(existing);
+                productRepository.deleteAllByIdIn(existing);
+                deleted.addAll(existing);
+            }
+        }
+
+        List<Long> notFound = requested.stream().filter(id -> !deleted.contains(id)).collect(Collectors.toList());
+        publishProductChanges(deleted, ChangeType.DELETED, "batch-delete");
+        return new BatchResultDto(requested.size(), deleted.size(), notFound);
+    }
+
+    public BatchResultDto adjustPrices(PriceAdjustmentDto adjustment) {
+        if (adjustment.getCategoryId() == null && (adjustment.getBrand() == null || adjustment.getBrand().isBlank())) {
+            throw new BadRequestException("A categoryId or brand is required to adjust prices");
+        }
+        BigDecimal factor = BigDecimal.ONE.add(adjustment.getPercent().movePointLeft(2));
+        int affected = productRepository.adjustPrices(factor, adjustment.getCategoryId(), adjustment.getBrand(),
+                LocalDateTime.now());
+        if (affected > 0) {
+            eventPublisher.publishEvent(new CatalogReloadedEvent("price-adjustment"));
+        }
+        return new BatchResultDto(affected, affected, new ArrayList<>());
+    }
+
+    // Deleting a category takes its products and their images with it, as the per-item cascade does
+    public BatchResultDto deleteCategories(Collection<Long> ids) {
+        checkSize(ids.size());
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        Set<Long> deleted = new LinkedHashSet<>();
+        for (List<Long> chunk : partition(requested)) {
+            List<Long> existing = categoryRepository.findExistingIds(chunk);
+            if (!existing.isEmpty()) {
+                productImageRepository.deleteAllByCategoryIdIn(existing);
+                productRepository.deleteAllByCategoryIdIn(existing);
+                categoryRepository.deleteAllByIdIn(existing);
+                deleted.addAll(existing);
+            }
+        }
+
+        List<Long> notFound = requested.stream().filter(id -> !deleted.contains(id)).collect(Collectors.toList());
+        if (deleted.size() > eventThreshold) {
+            eventPublisher.publishEvent(new CatalogReloadedEvent("batch-delete"));
+        } else {
+            deleted.forEach(id -> eventPublisher.publishEvent(new CategoryChangedEvent(id, ChangeType.DELETED)));
+        }
+        return new BatchResultDto(requested.size(), deleted.size(), notFound);
+    }
+
+    private void publishProductChanges(Collection<Long> ids, ChangeType changeType, String source) {
+        if (ids.size() > eventThreshold) {
+            eventPublisher.publishEvent(new CatalogReloadedEvent(source));
+        } else {
+            ids.forEach(id -> eventPublisher.publishEvent(new ProductChangedEvent(id, null, changeType)));
+        }
+    }
+
+    private void checkSize(int size) {
+        if (size > maxBatchSize) {
+            throw new BadRequestException("Batch of " + size + " exceeds the maximum of " + maxBatchSize);
+        }
+    }
+
+    private static List<List<Long>> partition(Set<Long> ids) {
+        List<Long> all = new ArrayList<>(ids);
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < all.size(); from += IN_LIST_SIZE) {
+            chunks.add(all.subList(from, Math.min(from + IN_LIST_SIZE, all.size())));
+        }
+        return chunks;
+    }
+
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,209 @@
+package com.sportcore.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.sportcore.config.CacheConfig;
+import com.sportcore.config.SecondLevelCacheConfig;
+import com.sportcore.dto.CacheStatsDto;
+import com.sportcore.dto.CategoryDto;
+import com.sportcore.dto.ProductDto;
+import com.sportcore.entity.Product;
+import com.sportcore.event.CatalogReloadedEvent;
+import com.sportcore.event.CategoryChangedEvent;
+import com.sportcore.event.ChangeType;
+import com.sportcore.event.ProductChangedEvent;
+import com.sportcore.event.StockChangedEvent;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@Service
+public class CatalogCacheService {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogCacheService.class);
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    @Value("${app.cache.catalog.warm-on-startup:false}")
+    private boolean warmOnStartup;
+
+    private final Map<String, AtomicLong> invalidations = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean stockCountsChanged = new AtomicBoolean();
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        evict(CacheConfig.PRODUCTS, event.getProductId());
+        clear(CacheConfig.ALL_PRODUCTS);
+        clear(CacheConfig.PRODUCTS_BY_CATEGORY);
+    }
+
+    // Stock moves by direct UPDATE, so the cached entity goes too. List DTOs carry the stock count as well;
+    // going in or out of stock flushes them at once, plain count changes are coalesced into one flush per
+    // tick so a flash sale does not empty the list caches on every order.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictEntityData(Product.class, event.getProductId());
+        evict(CacheConfig.PRODUCTS, event.getProductId());
+        if (event.isAvailabilityChanged()) {
+            stockCountsChanged.set(false);
+            refreshListsForStock();
+        } else {
+            stockCountsChanged.set(true);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.cache.catalog.stock-refresh-ms:1000}")
+    public void flushStockCounts() {
+        if (stockCountsChanged.getAndSet(false)) {
+            refreshListsForStock();
+        }
+    }
+
+    // Caches first: a list rendered between the two steps carries the new stock under the old validator,
+    // which the next request replaces, rather than stale stock under a new one
+    private void refreshListsForStock() {
+        clear(CacheConfig.ALL_PRODUCTS);
+        clear(CacheConfig.PRODUCTS_BY_CATEGORY);
+        catalogVersion.increment();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        evict(CacheConfig.CATEGORIES, event.getCategoryId());
+        clear(CacheConfig.ALL_CATEGORIES);
+        if (event.getChangeType() == ChangeType.DELETED) {
+            // Deleting a category cascades to its products
+            clear(CacheConfig.PRODUCTS);
+            clear(CacheConfig.ALL_PRODUCTS);
+            clear(CacheConfig.PRODUCTS_BY_CATEGORY);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogReloaded(CatalogReloadedEvent event) {
+        clearAll();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmOnStartup() {
+        if (warmOnStartup) {
+            warm();
+        }
+    }
+
+    public int warm() {
+        List<ProductDto> products = productService.getAllProducts();
+        Cache productCache = cacheManager.getCache(CacheConfig.PRODUCTS);
+        products.forEach(product -> productCache.put(product.getId(), product));
+
+        List<CategoryDto> categories = categoryService.getAllCategories();
+        Cache categoryCache = cacheManager.getCache(CacheConfig.CATEGORIES);
+        categories.forEach(category -> categoryCache.put(category.getId(), category));
+
+        log.info("Catalog cache warmed with {} products and {} categories", products.size(), categories.size());
+        return products.size() + categories.size();
+    }
+
+    public void clearAll() {
+        CacheConfig.CATALOG_CACHES.forEach(this::clear);
+        // Rows written outside Hibernate (bulk loads, SQL consoles) are invisible to the second-level cache
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    public List<CacheStatsDto> getStats() {
+        return CacheConfig.CATALOG_CACHES.stream()
+                .map(this::toStats)
+                .collect(Collectors.toList());
+    }
+
+    public List<CacheStatsDto> getSecondLevelStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        return SecondLevelCacheConfig.REGIONS.stream()
+                .map(region -> toStats(region, SecondLevelCacheConfig.QUERY_RESULTS.equals(region)
+                        ? statistics.getQueryRegionStatistics(region)
+                        : statistics.getDomainDataRegionStatistics(region)))
+                .collect(Collectors.toList());
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && key != null) {
+            cache.evict(key);
+            invalidations.computeIfAbsent(cacheName, name -> new AtomicLong()).incrementAndGet();
+        }
+    }
+
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+            invalidations.computeIfAbsent(cacheName, name -> new AtomicLong()).incrementAndGet();
+        }
+    }
+
+    private CacheStatsDto toStats(String cacheName) {
+        CacheStatsDto dto = new CacheStatsDto();
+        dto.setName(cacheName);
+        dto.setInvalidations(invalidations.getOrDefault(cacheName, new AtomicLong()).get());
+
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache instanceof CaffeineCache caffeineCache) {
+            com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = caffeineCache.getNativeCache();
+            CacheStats stats = nativeCache.stats();
+            dto.setSize(nativeCache.estimatedSize());
+            dto.setHits(stats.hitCount());
+            dto.setMisses(stats.missCount());
+            dto.setHitRate(stats.hitRate());
+            dto.setEvictions(stats.evictionCount());
+        }
+        return dto;
+    }
+
+    private CacheStatsDto toStats(String region, CacheRegionStatistics statistics) {
+        CacheStatsDto dto = new CacheStatsDto();
+        dto.setName(region);
+        if (statistics != null) {
+            long requests = statistics.getHitCount() + statistics.getMissCount();
+            dto.setSize(Math.max(statistics.getElementCountInMemory(), 0));
+            dto.setHits(statistics.getHitCount());
+            dto.setMisses(statistics.getMissCount());
+            dto.setHitRate(requests > 0 ? (double) statistics.getHitCount() / requests : 0);
+        }
+        return dto;
+    }
+}
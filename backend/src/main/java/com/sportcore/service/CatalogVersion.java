@@ -0,0 +1,59 @@
+package com.sportcore.service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.sportcore.event.CatalogReloadedEvent;
+import com.sportcore.event.CategoryChangedEvent;
+import com.sportcore.event.ProductChangedEvent;
+
+// Catalog-wide validator for list endpoints: any committed product or category change moves it forward.
+// Stock changes move it through CatalogCacheService, together with the list caches they make stale.
+@Component
+public class CatalogVersion {
+
+    // Distinguishes restarts, since the counter itself starts over
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final AtomicLong version = new AtomicLong();
+
+    private final AtomicReference<Instant> lastModified = new AtomicReference<>(Instant.now().truncatedTo(ChronoUnit.SECONDS));
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        increment();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        increment();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogReloaded(CatalogReloadedEvent event) {
+        increment();
+    }
+
+    public String getTag() {
+        return "catalog-" + epoch + "-" + version.get();
+    }
+
+    public Instant getLastModified() {
+        return lastModified.get();
+    }
+
+    public void increment() {
+        // Last-Modified has whole-second precision, so a second change within the same second must still move it,
+        // or a client revalidating with If-Modified-Since would get a 304 for the older list. Bursts run ahead of the clock.
+        lastModified.updateAndGet(previous -> {
+            Instant now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+            return now.isAfter(previous) ? now : previous.plusSeconds(1);
+        });
+        version.incrementAndGet();
+    }
+}
@@ -1,25 +1,41 @@
 package com.sportcore.service;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.sportcore.config.CacheConfig;
+import com.sportcore.config.DataSourceRouting;
+import com.sportcore.config.MetricsConfig;
 import com.sportcore.dto.CategoryDto;
 import com.sportcore.entity.Category;
+import com.sportcore.event.CategoryChangedEvent;
+import com.sportcore.event.ChangeType;
 import com.sportcore.exception.DuplicateResourceException;
 import com.sportcore.exception.ResourceNotFoundException;
 import com.sportcore.repository.CategoryRepository;
 
+import io.micrometer.core.annotation.Timed;
+
 @Service
 @Transactional
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class CategoryService {
 
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public CategoryDto createCategory(CategoryDto categoryDto) {
         if (categoryRepository.existsByName(categoryDto.getName())) {
             throw new DuplicateResourceException("Category with name '" + categoryDto.getName() + "' already exists");
@@ -30,24 +46,36 @@ public class CategoryService {
         category.setDescription(categoryDto.getDescription());
 
         Category savedCategory = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(savedCategory.getId(), ChangeType.CREATED));
         return convertToDto(savedCategory);
     }
 
+    // Cache fills read the primary, as in ProductService: a lagging replica would re-cache the pre-write row
     @Transactional(readOnly = true)
+    @Cacheable(CacheConfig.ALL_CATEGORIES)
     public List<CategoryDto> getAllCategories() {
-        List<Category> categories = categoryRepository.findAll();
+        List<Category> categories = DataSourceRouting.onPrimary(() -> categoryRepository.findAll());
         return categories.stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CATEGORIES, key = "#id")
     public CategoryDto getCategoryById(Long id) {
-        Category category = categoryRepository.findById(id)
+        Category category = DataSourceRouting.onPrimary(() -> categoryRepository.findById(id))
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + id));
         return convertToDto(category);
     }
 
+    @Transactional(readOnly = true)
+    public Instant getCategoryLastModified(Long id) {
+        Category category = DataSourceRouting.onPrimary(() -> categoryRepository.findById(id))
+                .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + id));
+        LocalDateTime lastModified = category.getUpdatedAt() != null ? category.getUpdatedAt() : category.getCreatedAt();
+        return lastModified != null ? lastModified.atZone(ZoneId.systemDefault()).toInstant() : Instant.EPOCH;
+    }
+
     public CategoryDto updateCategory(Long id, CategoryDto categoryDto) {
         Category category = categoryRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + id));
@@ -60,6 +88,7 @@ public class CategoryService {
         category.setDescription(categoryDto.getDescription());
 
         Category updatedCategory = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CategoryChangedEvent(id, ChangeType.UPDATED));
         return convertToDto(updatedCategory);
     }
 
@@ -68,6 +97,7 @@ public class CategoryService {
             throw new ResourceNotFoundException("Category not found with id: " + id);
         }
         categoryRepository.deleteById(id);
+        eventPublisher.publishEvent(new CategoryChangedEvent(id, ChangeType.DELETED));
     }
 
     private CategoryDto convertToDto(Category category) {
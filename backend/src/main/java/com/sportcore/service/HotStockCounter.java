@@ -0,0 +1,154 @@
+package com.sportcore.service;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntConsumer;
+import java.util.function.IntUnaryOperator;
+
+// In-memory stock for a flash-sale product. Units are claimed from the database in blocks and spread
+// over stripes, so concurrent reservations mostly CAS on different counters and only a refill touches
+// the database. Units in the stripes are already gone from products.stock; they go back on close.
+public class HotStockCounter {
+
+    private final long productId;
+    private final int allotment;
+    private final IntUnaryOperator claimFromDatabase;
+    private final IntConsumer returnToDatabase;
+    private final AtomicInteger[] stripes;
+    private final Lock[] refillLocks;
+    private final AtomicLong reservations = new AtomicLong();
+    private final AtomicLong claims = new AtomicLong();
+    private volatile boolean closed;
+
+    public HotStockCounter(long productId, int stripeCount, int allotment, IntUnaryOperator claimFromDatabase,
+                           IntConsumer returnToDatabase) {
+        this.productId = productId;
+        this.allotment = allotment;
+        this.claimFromDatabase = claimFromDatabase;
+        this.returnToDatabase = returnToDatabase;
+        this.stripes = new AtomicInteger[stripeCount];
+        this.refillLocks = new Lock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new AtomicInteger();
+            refillLocks[i] = new ReentrantLock();
+        }
+    }
+
+    public boolean tryReserve(int quantity) {
+        int home = ThreadLocalRandom.current().nextInt(stripes.length);
+        for (int i = 0; i < stripes.length; i++) {
+            if (take(stripes[(home + i) % stripes.length], quantity)) {
+                reservations.incrementAndGet();
+                return true;
+            }
+        }
+
+        // Every stripe is short: refill this thread's stripe with one database claim
+        Lock lock = refillLocks[home];
+        lock.lock();
+        try {
+            if (closed) {
+                return false;
+            }
+            AtomicInteger stripe = stripes[home];
+            if (!take(stripe, quantity)) {
+                int claimed = claimFromDatabase.applyAsInt(Math.max(allotment, quantity));
+                if (claimed > 0) {
+                    claims.incrementAndGet();
+                    stripe.addAndGet(claimed);
+                }
+                if (!take(stripe, quantity)) {
+                    // Database is dry: gather the leftovers so a multi-unit request can still use them
+                    for (int i = 0; i < stripes.length; i++) {
+                        if (i != home) {
+                            stripe.addAndGet(stripes[i].getAndSet(0));
+                        }
+                    }
+                    if (!take(stripe, quantity)) {
+                        return false;
+                    }
+                }
+            }
+            reservations.incrementAndGet();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Units of a reservation that did not commit
+    public void giveBack(int quantity) {
+        int home = ThreadLocalRandom.current().nextInt(stripes.length);
+        refillLocks[home].lock();
+        try {
+            if (closed) {
+                returnToDatabase.accept(quantity);
+            } else {
+                stripes[home].addAndGet(quantity);
+            }
+        } finally {
+            refillLocks[home].unlock();
+        }
+    }
+
+    // Holding every refill lock keeps a concurrent claim from landing in a stripe after it was drained
+    public int close() {
+        for (Lock lock : refillLocks) {
+            lock.lock();
+        }
+        try {
+            closed = true;
+            int held = 0;
+            for (AtomicInteger stripe : stripes) {
+                held += stripe.getAndSet(0);
+            }
+            if (held > 0) {
+                returnToDatabase.accept(held);
+            }
+            return held;
+        } finally {
+            for (Lock lock : refillLocks) {
+                lock.unlock();
+            }
+        }
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public long getProductId() {
+        return productId;
+    }
+
+    public int getHeldUnits() {
+        int held = 0;
+        for (AtomicInteger stripe : stripes) {
+            held += stripe.get();
+        }
+        return held;
+    }
+
+    public long getReservations() {
+        return reservations.get();
+    }
+
+    public long getClaims() {
+        return claims.get();
+    }
+
+    private static boolean take(AtomicInteger stripe, int quantity) {
+        while (true) {
+            int available = stripe.get();
+            if (available < quantity) {
+                return false;
+            }
+            if (stripe.compareAndSet(available, available - quantity)) {
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.sportcore.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sportcore.dto.HotStockDto;
+import com.sportcore.event.StockChangedEvent;
+import com.sportcore.exception.ResourceNotFoundException;
+import com.sportcore.repository.StockRepository;
+
+import jakarta.annotation.PreDestroy;
+
+@Component
+public class HotStockCounters {
+
+    private static final Logger log = LoggerFactory.getLogger(HotStockCounters.class);
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.stock.hot.stripes:8}")
+    private int stripes;
+
+    @Value("${app.stock.hot.allotment:50}")
+    private int allotment;
+
+    // Claims and returns commit on their own: the units in memory must match what left the database,
+    // whatever happens to the reservation transaction that triggered the refill
+    private final TransactionTemplate ownTransaction;
+
+    private final Map<Long, HotStockCounter> counters = new ConcurrentHashMap<>();
+
+    public HotStockCounters(PlatformTransactionManager transactionManager) {
+        this.ownTransaction = new TransactionTemplate(transactionManager);
+        this.ownTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public HotStockCounter get(Long productId) {
+        return counters.get(productId);
+    }
+
+    public HotStockDto enable(Long productId) {
+        if (stockRepository.findStock(productId) == null) {
+            throw new ResourceNotFoundException("Product not found with id: " + productId);
+        }
+        HotStockCounter counter = counters.computeIfAbsent(productId, id -> new HotStockCounter(id, stripes, allotment,
+                units -> claim(id, units), units -> giveBack(id, units)));
+        log.info("Hot stock counter enabled for product {}", productId);
+        return toDto(counter);
+    }
+
+    public void disable(Long productId) {
+        HotStockCounter counter = counters.remove(productId);
+        if (counter != null) {
+            int returned = counter.close();
+            log.info("Hot stock counter disabled for product {}, {} unsold units returned", productId, returned);
+        }
+    }
+
+    public List<HotStockDto> getCounters() {
+        return counters.values().stream().map(this::toDto).collect(Collectors.toList());
+    }
+
+    @PreDestroy
+    public void returnAll() {
+        counters.keySet().forEach(this::disable);
+    }
+
+    private int claim(long productId, int units) {
+        Integer claimed = ownTransaction.execute(status -> {
+            Integer stock = stockRepository.findStockForUpdate(productId);
+            if (stock == null || stock <= 0) {
+                return 0;
+            }
+            int take = Math.min(stock, units);
+            stockRepository.decrement(productId, take);
+            eventPublisher.publishEvent(new StockChangedEvent(productId, stock - take, stock == take));
+            return take;
+        });
+        return claimed != null ? claimed : 0;
+    }
+
+    private void giveBack(long productId, int units) {
+        ownTransaction.executeWithoutResult(status -> {
+            if (stockRepository.increment(productId, units)) {
+                Integer stock = stockRepository.findStock(productId);
+                eventPublisher.publishEvent(new StockChangedEvent(productId, stock, stock != null && stock == units));
+            }
+        });
+    }
+
+    private HotStockDto toDto(HotStockCounter counter) {
+        return new HotStockDto(counter.getProductId(), counter.getHeldUnits(), counter.getReservations(), counter.getClaims());
+    }
+}
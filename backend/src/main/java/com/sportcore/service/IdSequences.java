@@ -0,0 +1,62 @@
+package com.sportcore.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+// Entity ids come from one sequence per table (<table>_seq) through Hibernate's pooled optimizer: a sequence
+// value v hands out the block (v - ALLOCATION_SIZE, v]. Rows inserted with explicit ids (seed script,
+// synthetic generator) must move the sequence past them before JPA allocates its next block.
+@Component
+public class IdSequences {
+
+    public static final int ALLOCATION_SIZE = 50;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private volatile String database;
+
+    // First id that neither an existing row nor a block already handed to Hibernate can use
+    public long nextFreeId(String table) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        long highestAllocated = nextSequenceValue(table) - ALLOCATION_SIZE;
+        return Math.max(maxId != null ? maxId : 0, highestAllocated) + 1;
+    }
+
+    public void moveAfterExistingRows(String table) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        moveAfter(table, maxId != null ? maxId : 0);
+    }
+
+    // Never moves a sequence backwards, so blocks already cached by Hibernate stay unique
+    public void moveAfter(String table, long lastUsedId) {
+        long target = lastUsedId + ALLOCATION_SIZE;
+        if (target <= nextSequenceValue(table)) {
+            return;
+        }
+        if (isH2()) {
+            jdbcTemplate.execute("ALTER SEQUENCE " + table + "_seq RESTART WITH " + target);
+        } else {
+            // MySQL has no sequences; Hibernate emulates them with a single-row table
+            jdbcTemplate.update("UPDATE " + table + "_seq SET next_val = ?", target);
+        }
+    }
+
+    private long nextSequenceValue(String table) {
+        Long next = isH2()
+                ? jdbcTemplate.queryForObject("SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = ?",
+                        Long.class, (table + "_seq").toUpperCase())
+                : jdbcTemplate.queryForObject("SELECT next_val FROM " + table + "_seq", Long.class);
+        return next != null ? next : 1;
+    }
+
+    private boolean isH2() {
+        if (database == null) {
+            database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+        }
+        return "H2".equalsIgnoreCase(database);
+    }
+}
@@ -0,0 +1,152 @@
+package com.sportcore.service;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Serves stored image files. Stored files never change, so the ETag is the content hash plus the file name and
+// responses may be cached for a year. Thumbnails, which every list view requests, are answered from memory
+// without touching the disk; everything else is handed to Tomcat's sendfile, which copies file pages straight
+// to the socket after the servlet returns, so no request thread or heap buffer is spent on the body.
+@Service
+public class ImageFileServer {
+
+    private static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    // Tomcat NIO/NIO2 connector attributes; sendfile is unavailable over TLS and with useSendfile=false
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final ImageStore imageStore;
+
+    private final Cache<String, byte[]> hotFiles;
+
+    // Guards the cache against an oversized thumbnail (a variant size configured far above the default)
+    private final long maxCachedFileSize;
+
+    public ImageFileServer(ImageStore imageStore, MeterRegistry meterRegistry,
+                           @Value("${app.images.serving.cache-size:32MB}") DataSize cacheSize,
+                           @Value("${app.images.serving.cache-max-file-size:64KB}") DataSize maxCachedFileSize) {
+        this.imageStore = imageStore;
+        this.maxCachedFileSize = maxCachedFileSize.toBytes();
+        this.hotFiles = Caffeine.newBuilder()
+                .maximumWeight(cacheSize.toBytes())
+                .<String, byte[]>weigher((key, content) -> content.length)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, hotFiles, "hotImages");
+    }
+
+    public void serve(String hash, String fileName, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        Path file = imageStore.resolve(hash, fileName).orElse(null);
+        if (file == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        String key = hash + "/" + fileName;
+        boolean thumbnail = fileName.startsWith("thumbnail.");
+        byte[] cached = thumbnail ? hotFiles.getIfPresent(key) : null;
+        long length;
+        if (cached != null) {
+            length = cached.length;
+        } else {
+            try {
+                length = Files.size(file);
+            } catch (NoSuchFileException e) {
+                response.sendError(HttpServletResponse.SC_NOT_FOUND);
+                return;
+            }
+        }
+
+        String eTag = "\"" + hash + "-" + fileName + "\"";
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (new ServletWebRequest(request, response).checkNotModified(eTag)) {
+            return;
+        }
+        response.setContentType(imageStore.contentType(fileName));
+
+        long start = 0;
+        long end = length;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        // A stale If-Range (another representation) or a multi-range request gets the whole file
+        if (range != null && (ifRange == null || ifRange.equals(eTag))) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(range);
+            } catch (IllegalArgumentException e) {
+                ranges = List.of();
+            }
+            if (ranges.size() == 1) {
+                HttpRange requested = ranges.get(0);
+                try {
+                    start = requested.getRangeStart(length);
+                    end = requested.getRangeEnd(length) + 1;
+                } catch (IllegalArgumentException e) {
+                    start = length;
+                }
+                if (start >= length || start >= end) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return;
+                }
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (end - 1) + "/" + length);
+            }
+        }
+        response.setContentLengthLong(end - start);
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
+
+        if (cached == null && thumbnail && length <= maxCachedFileSize) {
+            cached = Files.readAllBytes(file);
+            hotFiles.put(key, cached);
+        }
+        if (cached != null) {
+            response.getOutputStream().write(cached, (int) start, (int) (end - start));
+        } else if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end);
+        } else {
+            transfer(file, start, end, response);
+        }
+    }
+
+    private static void transfer(Path file, long start, long end, HttpServletResponse response) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position < end) {
+                position += channel.transferTo(position, end - position, out);
+            }
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.sportcore.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import com.sportcore.exception.BadRequestException;
+
+import jakarta.annotation.PostConstruct;
+
+// Content-addressed image files: everything derived from one upload lives under <root>/<hash[0..2]>/<hash>/,
+// named original.<ext> and <variant>.<ext>. Files are written to a temp file and renamed into place, so a file
+// that exists is complete and never changes, and the same bytes uploaded twice are stored once.
+@Service
+public class ImageStore {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageStore.class);
+
+    public static final String URL_PREFIX = "/images/";
+
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+    private static final Pattern FILE_NAME = Pattern.compile("[a-z]+\\.[a-z]+");
+
+    private static final Map<String, String> EXTENSIONS = Map.of(
+            "jpeg", "jpg",
+            "png", "png",
+            "gif", "gif",
+            "bmp", "bmp",
+            "webp", "webp");
+
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            "jpg", "image/jpeg",
+            "png", "image/png",
+            "gif", "image/gif",
+            "bmp", "image/bmp",
+            "webp", "image/webp");
+
+    @Value("${app.images.store-dir:${java.io.tmpdir}/sportcore-images}")
+    private Path root;
+
+    // Raw image bodies are not covered by the multipart limits, so the copy enforces its own
+    @Value("${app.images.max-upload-size:10MB}")
+    private DataSize maxUploadSize;
+
+    // Checked from the header before anything is decoded, so a small file cannot expand into gigabytes of pixels
+    @Value("${app.images.max-pixels:40000000}")
+    private long maxPixels;
+
+    private Path tempDir;
+
+    public static class StoredImage {
+
+        private final String hash;
+        private final String fileName;
+        private final int width;
+        private final int height;
+        private final long size;
+        private final boolean deduplicated;
+
+        StoredImage(String hash, String fileName, int width, int height, long size, boolean deduplicated) {
+            this.hash = hash;
+            this.fileName = fileName;
+            this.width = width;
+            this.height = height;
+            this.size = size;
+            this.deduplicated = deduplicated;
+        }
+
+        public String getHash() {
+            return hash;
+        }
+
+        public String getFileName() {
+            return fileName;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        public int getHeight() {
+            return height;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public boolean isDeduplicated() {
+            return deduplicated;
+        }
+    }
+
+    @FunctionalInterface
+    public interface FileWriter {
+        void write(OutputStream out) throws IOException;
+    }
+
+    @PostConstruct
+    void init() throws IOException {
+        root = root.toAbsolutePath().normalize();
+        tempDir = root.resolve("tmp");
+        Files.createDirectories(tempDir);
+        // Leftovers of uploads that were cut off by a restart
+        try (Stream<Path> leftovers = Files.list(tempDir)) {
+            leftovers.forEach(this::deleteQuietly);
+        }
+        log.info("Image store at {}", root);
+    }
+
+    // Copies the upload to disk while hashing it, then checks it is an image this JVM can decode
+    public StoredImage store(InputStream upload) throws IOException {
+        MessageDigest digest = newDigest();
+        Path temp = Files.createTempFile(tempDir, "upload-", ".part");
+        try {
+            long size = 0;
+            try (InputStream in = new DigestInputStream(upload, digest);
+                 OutputStream out = Files.newOutputStream(temp)) {
+                byte[] buffer = new byte[64 * 1024];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    size += read;
+                    if (size > maxUploadSize.toBytes()) {
+                        throw new BadRequestException("Image exceeds the upload limit of " + maxUploadSize);
+                    }
+                    out.write(buffer, 0, read);
+                }
+            }
+            if (size == 0) {
+                throw new BadRequestException("Image file is empty");
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+
+            String format;
+            int width;
+            int height;
+            try (ImageInputStream in = ImageIO.createImageInputStream(temp.toFile())) {
+                Iterator<ImageReader> readers = in != null ? ImageIO.getImageReaders(in) : null;
+                if (readers == null || !readers.hasNext()) {
+                    throw new BadRequestException("Unsupported image format; upload a JPEG, PNG, GIF or BMP file");
+                }
+                ImageReader reader = readers.next();
+                try {
+                    reader.setInput(in, true, true);
+                    format = reader.getFormatName().toLowerCase(Locale.ROOT);
+                    width = reader.getWidth(0);
+                    height = reader.getHeight(0);
+                } finally {
+                    reader.dispose();
+                }
+            } catch (IOException e) {
+                throw new BadRequestException("Image file could not be read: " + e.getMessage(), e);
+            }
+            if ((long) width * height > maxPixels) {
+                throw new BadRequestException("Image is " + width + "x" + height + "; at most " + maxPixels
+                        + " pixels are accepted");
+            }
+
+            String fileName = "original." + EXTENSIONS.getOrDefault(format, format);
+            Path target = directory(hash).resolve(fileName);
+            if (Files.exists(target)) {
+                return new StoredImage(hash, fileName, width, height, size, true);
+            }
+            Files.createDirectories(target.getParent());
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            return new StoredImage(hash, fileName, width, height, size, false);
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    public void write(String hash, String fileName, FileWriter writer) throws IOException {
+        Path target = resolve(hash, fileName).orElseThrow(() -> new IllegalArgumentException(hash + "/" + fileName));
+        Path temp = Files.createTempFile(tempDir, "variant-", ".part");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                writer.write(out);
+            }
+            Files.createDirectories(target.getParent());
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    public boolean exists(String hash, String fileName) {
+        return resolve(hash, fileName).map(Files::exists).orElse(false);
+    }
+
+    // Empty for names that are not a stored file name, so request paths cannot walk out of the store
+    public Optional<Path> resolve(String hash, String fileName) {
+        if (hash == null || fileName == null || !HASH.matcher(hash).matches() || !FILE_NAME.matcher(fileName).matches()) {
+            return Optional.empty();
+        }
+        return Optional.of(directory(hash).resolve(fileName));
+    }
+
+    public Optional<Path> findOriginal(String hash) {
+        if (hash == null || !HASH.matcher(hash).matches()) {
+            return Optional.empty();
+        }
+        try (Stream<Path> files = Files.list(directory(hash))) {
+            return files.filter(file -> file.getFileName().toString().startsWith("original.")).findFirst();
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    public String url(String hash, String fileName) {
+        return URL_PREFIX + hash + "/" + fileName;
+    }
+
+    public String contentType(String fileName) {
+        String extension = fileName.substring(fileName.lastIndexOf('.') + 1);
+        return CONTENT_TYPES.getOrDefault(extension, "application/octet-stream");
+    }
+
+    private Path directory(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package com.sportcore.service;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sportcore.entity.ImageVariantStatus;
+import com.sportcore.entity.Product;
+import com.sportcore.entity.ProductImage;
+import com.sportcore.event.ChangeType;
+import com.sportcore.event.ProductChangedEvent;
+import com.sportcore.repository.ProductImageRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// Resizes uploads into the thumbnail/card/detail variants on a fixed pool with a bounded queue, so a burst of
+// uploads queues up instead of decoding dozens of full-size images at once. Work is keyed by content hash:
+// an upload whose variants already exist only has its rows updated. When the queue is full the rows stay
+// PENDING and the periodic sweep (which also covers restarts) submits them later.
+@Service
+public class ImageVariantService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageVariantService.class);
+
+    private static final List<String> FORMAT_PREFERENCE = List.of("webp", "png", "jpg");
+
+    @Autowired
+    private ImageStore imageStore;
+
+    @Autowired
+    private ProductImageRepository productImageRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Longest edge in pixels; smaller originals are re-encoded at their own size, never upscaled
+    @Value("${app.images.variants.detail:1200}")
+    private int detailSize;
+
+    @Value("${app.images.variants.card:480}")
+    private int cardSize;
+
+    @Value("${app.images.variants.thumbnail:200}")
+    private int thumbnailSize;
+
+    // Used only when an ImageIO WebP writer is on the classpath; JPEG (PNG for transparent images) otherwise
+    @Value("${app.images.variants.webp:true}")
+    private boolean webpPreferred;
+
+    @Value("${app.images.variants.quality:0.82}")
+    private float quality;
+
+    @Value("${app.images.workers:2}")
+    private int workers;
+
+    @Value("${app.images.queue-capacity:200}")
+    private int queueCapacity;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Timer resizeTimer;
+
+    private final Counter failures;
+
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    private ThreadPoolExecutor executor;
+
+    private boolean webpAvailable;
+
+    public ImageVariantService(PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.resizeTimer = Timer.builder("sportcore.images.resize")
+                .description("Time to decode an upload and write all of its variants")
+                .register(meterRegistry);
+        this.failures = Counter.builder("sportcore.images.failed")
+                .description("Uploads whose variants could not be generated")
+                .register(meterRegistry);
+        Gauge.builder("sportcore.images.queue", this, s -> s.executor != null ? s.executor.getQueue().size() : 0)
+                .description("Uploads waiting for a resize worker")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void init() {
+        webpAvailable = webpPreferred && ImageIO.getImageWritersByFormatName("webp").hasNext();
+        AtomicInteger workerIds = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), task -> {
+                    Thread thread = new Thread(task, "image-worker-" + workerIds.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        log.info("Image variants as {} on {} workers", webpAvailable ? "WebP" : "JPEG/PNG", workers);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    // Call after the rows for the hash are committed; the worker picks up every PENDING row with this hash
+    public void submit(String hash) {
+        if (!inFlight.add(hash)) {
+            return;
+        }
+        try {
+            executor.execute(() -> process(hash));
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(hash);
+            log.debug("Resize queue full, image {} left for the next sweep", hash);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.images.sweep-interval-ms:30000}", initialDelayString = "${app.images.sweep-interval-ms:30000}")
+    public void submitPending() {
+        productImageRepository.findContentHashesByVariantStatus(ImageVariantStatus.PENDING).forEach(this::submit);
+    }
+
+    private void process(String hash) {
+        Map<String, String> variants = null;
+        try {
+            variants = existingVariants(hash);
+            if (variants == null) {
+                variants = resizeTimer.recordCallable(() -> generate(hash));
+            }
+        } catch (Exception e) {
+            failures.increment();
+            log.warn("Could not generate variants for image {}: {}", hash, e.toString());
+        }
+        // Removed before the rows are read, so a row committed after this point gets its own run
+        inFlight.remove(hash);
+        record(hash, variants);
+    }
+
+    private Map<String, Integer> sizes() {
+        Map<String, Integer> sizes = new LinkedHashMap<>();
+        sizes.put("detail", detailSize);
+        sizes.put("card", cardSize);
+        sizes.put("thumbnail", thumbnailSize);
+        return sizes;
+    }
+
+    // Variant name to file name, when a previous upload of the same bytes already produced all of them
+    private Map<String, String> existingVariants(String hash) {
+        for (String extension : FORMAT_PREFERENCE) {
+            Map<String, String> files = new LinkedHashMap<>();
+            for (String variant : sizes().keySet()) {
+                String fileName = variant + "." + extension;
+                if (imageStore.exists(hash, fileName)) {
+                    files.put(variant, fileName);
+                }
+            }
+            if (files.size() == sizes().size()) {
+                return files;
+            }
+        }
+        return null;
+    }
+
+    private Map<String, String> generate(String hash) throws IOException {
+        Path original = imageStore.findOriginal(hash)
+                .orElseThrow(() -> new IOException("original file is missing"));
+        BufferedImage source = ImageIO.read(original.toFile());
+        if (source == null) {
+            throw new IOException("no decoder for " + original.getFileName());
+        }
+        boolean alpha = source.getColorModel().hasAlpha();
+        String extension = webpAvailable ? "webp" : alpha ? "png" : "jpg";
+        int type = alpha && !"jpg".equals(extension) ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+        // Largest first, each variant scaled down from the previous one
+        Map<String, String> files = new LinkedHashMap<>();
+        BufferedImage current = source;
+        for (Map.Entry<String, Integer> size : sizes().entrySet()) {
+            int maxEdge = size.getValue();
+            double scale = Math.min(1.0, (double) maxEdge / Math.max(source.getWidth(), source.getHeight()));
+            int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+            int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+            current = resize(current, width, height, type);
+            BufferedImage variant = current;
+            String fileName = size.getKey() + "." + extension;
+            imageStore.write(hash, fileName, out -> encode(variant, extension, out));
+            files.put(size.getKey(), fileName);
+        }
+        return files;
+    }
+
+    // Halves with bilinear filtering until the last step, which keeps edges smooth at a fraction of bicubic's cost
+    private static BufferedImage resize(BufferedImage source, int width, int height, int type) {
+        BufferedImage current = source;
+        int currentWidth = source.getWidth();
+        int currentHeight = source.getHeight();
+        do {
+            currentWidth = Math.max(width, currentWidth / 2);
+            currentHeight = Math.max(height, currentHeight / 2);
+            BufferedImage next = new BufferedImage(currentWidth, currentHeight, type);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                if (type == BufferedImage.TYPE_INT_RGB) {
+                    graphics.setColor(Color.WHITE);
+                    graphics.fillRect(0, 0, currentWidth, currentHeight);
+                }
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (currentWidth != width || currentHeight != height);
+        return current;
+    }
+
+    private void encode(BufferedImage image, String extension, OutputStream out) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpg".equals(extension) ? "jpeg" : extension).next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (!"png".equals(extension) && param.canWriteCompressed()) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                if (param.getCompressionTypes() != null && param.getCompressionType() == null) {
+                    param.setCompressionType(param.getCompressionTypes()[0]);
+                }
+                param.setCompressionQuality(quality);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    // Null variants mark the rows FAILED; their url still points at the original
+    private void record(String hash, Map<String, String> variants) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (ProductImage image : productImageRepository.findByContentHashAndVariantStatus(hash, ImageVariantStatus.PENDING)) {
+                    if (variants != null) {
+                        image.setThumbnailUrl(imageStore.url(hash, variants.get("thumbnail")));
+                        image.setCardUrl(imageStore.url(hash, variants.get("card")));
+                        image.setDetailUrl(imageStore.url(hash, variants.get("detail")));
+                        image.setVariantStatus(ImageVariantStatus.READY);
+                    } else {
+                        image.setVariantStatus(ImageVariantStatus.FAILED);
+                    }
+                    Product product = image.getProduct();
+                    eventPublisher.publishEvent(new ProductChangedEvent(product.getId(), product.getCategory().getId(),
+                            ChangeType.UPDATED));
+                }
+            });
+        } catch (RuntimeException e) {
+            // Rows stay PENDING and are retried by the sweep
+            log.warn("Could not record variants for image {}: {}", hash, e.toString());
+        }
+    }
+}
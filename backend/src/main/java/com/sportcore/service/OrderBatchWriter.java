@@ -0,0 +1,268 @@
+package com.sportcore.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sportcore.entity.Order;
+import com.sportcore.event.OrderPlacedEvent;
+import com.sportcore.exception.ConflictException;
+import com.sportcore.exception.ServiceUnavailableException;
+import com.sportcore.repository.OrderRepository;
+import com.sportcore.repository.StockReservationRepository;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+
+// Group commit for order placement: request threads queue their order and wait, a single writer thread
+// persists whatever queued up meanwhile in one transaction, so under load one commit and a few JDBC
+// batches carry many orders instead of one commit each.
+@Component
+public class OrderBatchWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderBatchWriter.class);
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private StockReservationRepository reservationRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.orders.batch.max-size:200}")
+    private int maxBatchSize;
+
+    // How long the writer waits for more orders after the first; 0 only takes what is already queued
+    @Value("${app.orders.batch.max-wait-ms:2}")
+    private long maxWaitMs;
+
+    @Value("${app.orders.batch.queue-capacity:10000}")
+    private int queueCapacity;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final DistributionSummary batchSizes;
+
+    private final Timer batchWrites;
+
+    private BlockingQueue<PendingOrder> queue;
+
+    private Thread writer;
+
+    private volatile boolean running;
+
+    public OrderBatchWriter(PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSizes = DistributionSummary.builder("sportcore.orders.batch.size")
+                .description("Orders persisted per group commit")
+                .register(meterRegistry);
+        this.batchWrites = Timer.builder("sportcore.orders.batch.write")
+                .description("Time to persist and commit one order batch")
+                .register(meterRegistry);
+        Gauge.builder("sportcore.orders.batch.queued", this, w -> w.queue != null ? w.queue.size() : 0)
+                .description("Orders waiting for the writer")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        queue = new LinkedBlockingQueue<>(queueCapacity);
+        running = true;
+        writer = new Thread(this::run, "order-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writer.interrupt();
+        writer.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    // Completes with the persisted order, or exceptionally when its stock holds were no longer valid or its
+    // idempotency key was taken by another order (DuplicateOrderException)
+    public CompletableFuture<Order> submit(Order order, List<Long> reservationIds) {
+        PendingOrder pending = new PendingOrder(order, reservationIds);
+        if (!running || !queue.offer(pending)) {
+            throw new ServiceUnavailableException("Order queue is full, retry later");
+        }
+        return pending.result;
+    }
+
+    private void run() {
+        List<PendingOrder> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingOrder first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - 1);
+                if (batch.size() < maxBatchSize && maxWaitMs > 0) {
+                    PendingOrder next = queue.poll(maxWaitMs, TimeUnit.MILLISECONDS);
+                    if (next != null) {
+                        batch.add(next);
+                        queue.drainTo(batch, maxBatchSize - batch.size());
+                    }
+                }
+            } catch (InterruptedException e) {
+                // Shutting down: finish what is queued
+                queue.drainTo(batch, maxBatchSize - batch.size());
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<PendingOrder> batch) {
+        try {
+            List<PendingOrder> written = batchWrites.record(() -> transactionTemplate.execute(status -> persist(batch)));
+            batchSizes.record(written.size());
+            written.forEach(pending -> pending.result.complete(pending.order));
+        } catch (HoldsLostException | DataIntegrityViolationException | PersistenceException e) {
+            // The flush inside the callback throws untranslated; only the commit goes through Spring's translation
+            if (batch.size() == 1) {
+                fail(batch.get(0), e);
+                return;
+            }
+            // One order spoiled the batch; retry each on its own so only that one fails. The rollback left the
+            // ids the flush assigned on the entities, and persist would reject them as detached.
+            log.debug("Order batch of {} rolled back ({}), retrying one by one", batch.size(), e.getMessage());
+            batch.forEach(pending -> {
+                clearIds(pending.order);
+                write(List.of(pending));
+            });
+        } catch (RuntimeException e) {
+            log.error("Failed to persist a batch of {} orders", batch.size(), e);
+            batch.forEach(pending -> pending.result.completeExceptionally(e));
+        }
+    }
+
+    private List<PendingOrder> persist(List<PendingOrder> batch) {
+        List<PendingOrder> accepted = withoutDuplicateKeys(batch);
+        if (accepted.isEmpty()) {
+            return accepted;
+        }
+
+        // Every hold in the batch is confirmed by one statement; a short count means one expired or was released
+        List<Long> reservationIds = accepted.stream()
+                .flatMap(pending -> pending.reservationIds.stream())
+                .collect(Collectors.toList());
+        if (reservationRepository.confirmAllHeld(reservationIds, LocalDateTime.now()) != reservationIds.size()) {
+            throw new HoldsLostException();
+        }
+
+        accepted.forEach(pending -> entityManager.persist(pending.order));
+        entityManager.flush();
+        // Recorded in the outbox by this same commit
+        accepted.forEach(pending -> eventPublisher.publishEvent(new OrderPlacedEvent(pending.order.getId(),
+                pending.order.getOrderNumber(), pending.order.getUserId(), pending.order.getTotal())));
+        entityManager.clear();
+        return accepted;
+    }
+
+    // Orders whose key is already stored, or repeated within the batch, are completed as duplicates
+    private List<PendingOrder> withoutDuplicateKeys(List<PendingOrder> batch) {
+        List<String> keys = batch.stream()
+                .map(pending -> pending.order.getIdempotencyKey())
+                .filter(key -> key != null)
+                .collect(Collectors.toList());
+        if (keys.isEmpty()) {
+            return batch;
+        }
+        Set<String> taken = new HashSet<>(orderRepository.findExistingIdempotencyKeys(keys));
+        List<PendingOrder> accepted = new ArrayList<>(batch.size());
+        for (PendingOrder pending : batch) {
+            String key = pending.order.getIdempotencyKey();
+            if (key != null && !taken.add(key)) {
+                pending.result.completeExceptionally(new DuplicateOrderException(key));
+            } else {
+                accepted.add(pending);
+            }
+        }
+        return accepted;
+    }
+
+    private static void clearIds(Order order) {
+        order.setId(null);
+        order.getItems().forEach(item -> item.setId(null));
+    }
+
+    private void fail(PendingOrder pending, RuntimeException cause) {
+        if (cause instanceof HoldsLostException) {
+            pending.result.completeExceptionally(new ConflictException(
+                    "Stock reserved for order " + pending.order.getOrderNumber() + " expired before it was placed"));
+        } else {
+            pending.result.completeExceptionally(cause);
+        }
+    }
+
+    public static class DuplicateOrderException extends RuntimeException {
+
+        private final String idempotencyKey;
+
+        public DuplicateOrderException(String idempotencyKey) {
+            super("An order with idempotency key '" + idempotencyKey + "' was already placed");
+            this.idempotencyKey = idempotencyKey;
+        }
+
+        public String getIdempotencyKey() {
+            return idempotencyKey;
+        }
+    }
+
+    private static class HoldsLostException extends RuntimeException {
+
+        HoldsLostException() {
+            super("A stock hold in the batch is no longer held", null, false, false);
+        }
+    }
+
+    private static final class PendingOrder {
+
+        private final Order order;
+
+        private final List<Long> reservationIds;
+
+        private final CompletableFuture<Order> result = new CompletableFuture<>();
+
+        private PendingOrder(Order order, List<Long> reservationIds) {
+            this.order = order;
+            this.reservationIds = reservationIds;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.sportcore.service;
+
+import com.sportcore.dto.OrderDto;
+
+public class OrderPlacement {
+
+    private final OrderDto order;
+
+    // True when the idempotency key matched an order placed by an earlier request
+    private final boolean replayed;
+
+    public OrderPlacement(OrderDto order, boolean replayed) {
+        this.order = order;
+        this.replayed = replayed;
+    }
+
+    public OrderDto getOrder() {
+        return order;
+    }
+
+    public boolean isReplayed() {
+        return replayed;
+    }
+}
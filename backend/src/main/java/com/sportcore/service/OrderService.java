@@ -0,0 +1,366 @@
+package com.sportcore.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.sportcore.config.MetricsConfig;
+import com.sportcore.dto.CreateOrderRequestDto;
+import com.sportcore.dto.OrderDto;
+import com.sportcore.dto.OrderItemDto;
+import com.sportcore.dto.ShippingAddressDto;
+import com.sportcore.dto.StockReservationDto;
+import com.sportcore.dto.StockReservationRequestDto;
+import com.sportcore.entity.Order;
+import com.sportcore.entity.OrderItem;
+import com.sportcore.entity.ShippingAddress;
+import com.sportcore.exception.BadRequestException;
+import com.sportcore.exception.ConflictException;
+import com.sportcore.exception.ResourceNotFoundException;
+import com.sportcore.exception.ServiceUnavailableException;
+import com.sportcore.repository.OrderRepository;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Service
+@Transactional
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class OrderService {
+
+    private static final DateTimeFormatter ORDER_DATE = DateTimeFormatter.ofPattern("yyMMdd");
+    // Eight base-36 characters
+    private static final long ORDER_SUFFIX_MIN = 78_364_164_096L;
+    private static final long ORDER_SUFFIX_MAX = 2_821_109_907_456L;
+    private static final BigDecimal PRICE_TOLERANCE = new BigDecimal("0.01");
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductPriceTable productPriceTable;
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    @Autowired
+    private OrderBatchWriter orderBatchWriter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.orders.free-shipping-threshold:50}")
+    private BigDecimal freeShippingThreshold;
+
+    @Value("${app.orders.shipping-fee:9.99}")
+    private BigDecimal shippingFee;
+
+    @Value("${app.orders.tax-rate:0.08}")
+    private BigDecimal taxRate;
+
+    @Value("${app.orders.delivery-days:5}")
+    private int deliveryDays;
+
+    @Value("${app.orders.submit-timeout:5s}")
+    private Duration submitTimeout;
+
+    // Requests with the same idempotency key that arrive while the first is still being placed wait for it
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    // Not transactional: stock holds commit on their own and the order is written by the batch writer,
+    // so the request thread holds no connection while it waits
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public OrderPlacement placeOrder(CreateOrderRequestDto request, Long userId, String idempotencyKey) {
+        String requestHash = fingerprint(request, userId);
+        if (idempotencyKey == null) {
+            return new OrderPlacement(place(request, userId, null, requestHash), false);
+        }
+
+        Optional<Order> existing = orderRepository.findByIdempotencyKey(idempotencyKey);
+        if (existing.isPresent()) {
+            return replay(existing.get(), requestHash);
+        }
+
+        InFlight mine = new InFlight(requestHash);
+        InFlight first = inFlight.putIfAbsent(idempotencyKey, mine);
+        if (first != null) {
+            if (!first.requestHash.equals(requestHash)) {
+                throw keyReused(idempotencyKey);
+            }
+            return new OrderPlacement(await(first.result), true);
+        }
+        try {
+            OrderDto order = place(request, userId, idempotencyKey, requestHash);
+            mine.result.complete(order);
+            return new OrderPlacement(order, false);
+        } catch (OrderBatchWriter.DuplicateOrderException e) {
+            // Placed meanwhile through another instance
+            OrderPlacement replayed = replay(orderRepository.findByIdempotencyKey(idempotencyKey)
+                    .orElseThrow(() -> e), requestHash);
+            mine.result.complete(replayed.getOrder());
+            return replayed;
+        } catch (RuntimeException e) {
+            mine.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(idempotencyKey, mine);
+        }
+    }
+
+    // ownerId limits the lookup to that user's orders; null reads any order
+    @Transactional(readOnly = true)
+    public OrderDto getOrderById(Long id, Long ownerId) {
+        Order order = orderRepository.findByIdWithItems(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + id));
+        if (ownerId != null && !ownerId.equals(order.getUserId())) {
+            throw new AccessDeniedException("Order " + id + " belongs to another account");
+        }
+        return toDto(order);
+    }
+
+    @Transactional(readOnly = true)
+    public List<OrderDto> getOrdersByUser(Long userId) {
+        return orderRepository.findByUserIdOrderByCreatedAtDesc(userId).stream()
+                .map(this::toDto)
+                .collect(Collectors.toList());
+    }
+
+    private OrderDto place(CreateOrderRequestDto request, Long userId, String idempotencyKey, String requestHash) {
+        Order order = price(request);
+        order.setUserId(userId);
+        order.setIdempotencyKey(idempotencyKey);
+        order.setRequestHash(requestHash);
+
+        List<Long> reservationIds;
+        try {
+            reservationIds = stockReservationService.reserveAll(order.getItems().stream()
+                            .map(item -> new StockReservationRequestDto(item.getProductId(), item.getQuantity()))
+                            .collect(Collectors.toList()))
+                    .stream()
+                    .map(StockReservationDto::getId)
+                    .collect(Collectors.toList());
+        } catch (ConflictException e) {
+            meterRegistry.counter("sportcore.orders", "outcome", "out-of-stock").increment();
+            throw e;
+        }
+        for (int i = 0; i < reservationIds.size(); i++) {
+            order.getItems().get(i).setReservationId(reservationIds.get(i));
+        }
+
+        CompletableFuture<Order> written;
+        try {
+            written = orderBatchWriter.submit(order, reservationIds);
+        } catch (RuntimeException e) {
+            stockReservationService.releaseHeld(reservationIds);
+            throw e;
+        }
+        try {
+            Order placed = written.get(submitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            meterRegistry.counter("sportcore.orders", "outcome", "placed").increment();
+            return toDto(placed);
+        } catch (TimeoutException e) {
+            // The writer may still commit it, so the holds stay; a retry with the same key finds the order
+            throw new ServiceUnavailableException("Order " + order.getOrderNumber() + " is still being placed, retry with the same idempotency key");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Interrupted while placing order " + order.getOrderNumber(), e);
+        } catch (ExecutionException e) {
+            stockReservationService.releaseHeld(reservationIds);
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    // Prices and totals are recomputed from the catalog; a cart built on stale prices is refused rather than
+    // charged at a price the customer did not see
+    private Order price(CreateOrderRequestDto request) {
+        Map<Long, BigDecimal> prices = productPriceTable.getPrices(request.getItems().stream()
+                .map(OrderItemDto::getProductId)
+                .collect(Collectors.toList()));
+
+        Order order = new Order();
+        BigDecimal subtotal = BigDecimal.ZERO;
+        List<String> changed = new ArrayList<>();
+        for (OrderItemDto item : request.getItems()) {
+            BigDecimal price = prices.get(item.getProductId());
+            if (price == null) {
+                throw new ResourceNotFoundException("Product not found with id: " + item.getProductId());
+            }
+            if (price.compareTo(item.getPrice()) != 0) {
+                changed.add("product " + item.getProductId() + " costs " + price + ", not " + item.getPrice());
+            }
+            order.addItem(new OrderItem(item.getProductId(), item.getQuantity(), price, null));
+            subtotal = subtotal.add(price.multiply(BigDecimal.valueOf(item.getQuantity())));
+        }
+        if (!changed.isEmpty()) {
+            meterRegistry.counter("sportcore.orders", "outcome", "price-changed").increment();
+            throw new ConflictException("Prices changed: " + String.join("; ", changed));
+        }
+
+        subtotal = subtotal.setScale(2, RoundingMode.HALF_UP);
+        BigDecimal shipping = subtotal.compareTo(freeShippingThreshold) >= 0 ? BigDecimal.ZERO.setScale(2) : shippingFee;
+        BigDecimal tax = subtotal.multiply(taxRate).setScale(2, RoundingMode.HALF_UP);
+        BigDecimal total = subtotal.add(shipping).add(tax);
+        if (differs(subtotal, request.getSubtotal()) || differs(shipping, request.getShipping())
+                || differs(tax, request.getTax()) || differs(total, request.getTotal())) {
+            throw new ConflictException("Order totals do not match: subtotal " + subtotal + ", shipping " + shipping
+                    + ", tax " + tax + ", total " + total);
+        }
+
+        order.setOrderNumber(newOrderNumber());
+        order.setShippingAddress(toEntity(request.getShippingAddress()));
+        order.setCardLast4(last4(request.getPaymentInfo().getCardNumber()));
+        order.setSubtotal(subtotal);
+        order.setShipping(shipping);
+        order.setTax(tax);
+        order.setTotal(total);
+        order.setEstimatedDelivery(LocalDate.now().plusDays(deliveryDays).atStartOfDay());
+        return order;
+    }
+
+    private OrderPlacement replay(Order order, String requestHash) {
+        if (!requestHash.equals(order.getRequestHash())) {
+            throw keyReused(order.getIdempotencyKey());
+        }
+        meterRegistry.counter("sportcore.orders", "outcome", "replayed").increment();
+        return new OrderPlacement(toDto(order), true);
+    }
+
+    private OrderDto await(CompletableFuture<OrderDto> result) {
+        try {
+            return result.get(submitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ServiceUnavailableException("The original request is still being placed, retry later");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Interrupted while waiting for the original request", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private static BadRequestException keyReused(String idempotencyKey) {
+        return new BadRequestException("Idempotency key '" + idempotencyKey + "' was already used for a different order");
+    }
+
+    private static boolean differs(BigDecimal expected, BigDecimal actual) {
+        return expected.subtract(actual).abs().compareTo(PRICE_TOLERANCE) > 0;
+    }
+
+    private static String newOrderNumber() {
+        String suffix = Long.toString(ThreadLocalRandom.current().nextLong(ORDER_SUFFIX_MIN, ORDER_SUFFIX_MAX), 36);
+        return "SC-" + LocalDate.now().format(ORDER_DATE) + "-" + suffix.toUpperCase();
+    }
+
+    // Validation already asks for 13 to 19 digits; this only has to never throw
+    private static String last4(String cardNumber) {
+        String digits = cardNumber.replaceAll("[^0-9]", "");
+        return digits.length() <= 4 ? digits : digits.substring(digits.length() - 4);
+    }
+
+    // Identifies the order a client meant, so a reused key with a different cart, or from another account, is
+    // rejected instead of replayed
+    private static String fingerprint(CreateOrderRequestDto request, Long userId) {
+        StringBuilder canonical = new StringBuilder().append(userId).append(';');
+        request.getItems().forEach(item -> canonical.append(item.getProductId()).append('x').append(item.getQuantity())
+                .append('@').append(item.getPrice().stripTrailingZeros().toPlainString()).append(';'));
+        ShippingAddressDto address = request.getShippingAddress();
+        canonical.append(address.getFirstName()).append('|').append(address.getLastName()).append('|')
+                .append(address.getEmail()).append('|').append(address.getAddress()).append('|')
+                .append(address.getCity()).append('|').append(address.getZipCode()).append('|')
+                .append(address.getCountry()).append('|').append(last4(request.getPaymentInfo().getCardNumber()));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ShippingAddress toEntity(ShippingAddressDto dto) {
+        ShippingAddress address = new ShippingAddress();
+        address.setFirstName(dto.getFirstName());
+        address.setLastName(dto.getLastName());
+        address.setEmail(dto.getEmail());
+        address.setPhone(dto.getPhone());
+        address.setAddress(dto.getAddress());
+        address.setCity(dto.getCity());
+        address.setState(dto.getState());
+        address.setZipCode(dto.getZipCode());
+        address.setCountry(dto.getCountry());
+        return address;
+    }
+
+    private static ShippingAddressDto toDto(ShippingAddress address) {
+        ShippingAddressDto dto = new ShippingAddressDto();
+        dto.setFirstName(address.getFirstName());
+        dto.setLastName(address.getLastName());
+        dto.setEmail(address.getEmail());
+        dto.setPhone(address.getPhone());
+        dto.setAddress(address.getAddress());
+        dto.setCity(address.getCity());
+        dto.setState(address.getState());
+        dto.setZipCode(address.getZipCode());
+        dto.setCountry(address.getCountry());
+        return dto;
+    }
+
+    private OrderDto toDto(Order order) {
+        OrderDto dto = new OrderDto();
+        dto.setId(order.getId());
+        dto.setOrderNumber(order.getOrderNumber());
+        dto.setStatus(order.getStatus());
+        dto.setItems(order.getItems().stream()
+                .map(item -> new OrderItemDto(item.getProductId(), item.getQuantity(), item.getUnitPrice()))
+                .collect(Collectors.toList()));
+        dto.setShippingAddress(toDto(order.getShippingAddress()));
+        dto.setSubtotal(order.getSubtotal());
+        dto.setShipping(order.getShipping());
+        dto.setTax(order.getTax());
+        dto.setTotal(order.getTotal());
+        dto.setCreatedAt(order.getCreatedAt());
+        dto.setEstimatedDelivery(order.getEstimatedDelivery());
+        return dto;
+    }
+
+    private static final class InFlight {
+
+        private final String requestHash;
+
+        private final CompletableFuture<OrderDto> result = new CompletableFuture<>();
+
+        private InFlight(String requestHash) {
+            this.requestHash = requestHash;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.sportcore.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.sportcore.exception.BadRequestException;
+import com.sportcore.repository.ProductSortKey;
+
+final class ProductCursor {
+
+    private final ProductSortKey sortKey;
+
+    private final boolean ascending;
+
+    private final Long id;
+
+    private final Comparable<?> value;
+
+    ProductCursor(ProductSortKey sortKey, boolean ascending, Long id, Comparable<?> value) {
+        this.sortKey = sortKey;
+        this.ascending = ascending;
+        this.id = id;
+        this.value = value;
+    }
+
+    ProductSortKey getSortKey() {
+        return sortKey;
+    }
+
+    boolean isAscending() {
+        return ascending;
+    }
+
+    Long getId() {
+        return id;
+    }
+
+    Comparable<?> getValue() {
+        return value;
+    }
+
+    String encode() {
+        String raw = sortKey.name() + "|" + (ascending ? "asc" : "desc") + "|" + id + "|" + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static ProductCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 4);
+            ProductSortKey sortKey = ProductSortKey.valueOf(parts[0]);
+            return new ProductCursor(sortKey, "asc".equals(parts[1]), Long.valueOf(parts[2]), sortKey.parse(parts[3]));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor: " + token, e);
+        }
+    }
+}
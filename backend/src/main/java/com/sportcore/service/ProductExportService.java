@@ -0,0 +1,108 @@
+package com.sportcore.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sportcore.dto.ProductDto;
+import com.sportcore.dto.ProductImageDto;
+import com.sportcore.repository.ProductRepository;
+
+@Service
+public class ProductExportService {
+
+    public enum Format {
+        NDJSON,
+        JSON
+    }
+
+    private static final int FLUSH_EVERY = 500;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public long exportProducts(OutputStream outputStream, Format format) throws IOException {
+        long written = 0;
+        try (Stream<Object[]> rows = productRepository.streamAllWithImageRows();
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            if (format == Format.JSON) {
+                generator.writeStartArray();
+            } else {
+                generator.setRootValueSeparator(null);
+            }
+
+            // Rows are ordered by product id, so each product's image rows are contiguous
+            Iterator<Object[]> iterator = rows.iterator();
+            ProductDto current = null;
+            while (iterator.hasNext()) {
+                Object[] row = iterator.next();
+                Long productId = (Long) row[0];
+                if (current == null || !current.getId().equals(productId)) {
+                    if (current != null) {
+                        write(generator, current, format);
+                        if (++written % FLUSH_EVERY == 0) {
+                            generator.flush();
+                        }
+                    }
+                    current = toProductDto(row);
+                }
+                if (row[8] != null) {
+                    current.getImages().add(toImageDto(row));
+                }
+            }
+            if (current != null) {
+                write(generator, current, format);
+                written++;
+            }
+
+            if (format == Format.JSON) {
+                generator.writeEndArray();
+            }
+            generator.flush();
+        }
+        return written;
+    }
+
+    private void write(JsonGenerator generator, ProductDto product, Format format) throws IOException {
+        if (product.getImages().isEmpty()) {
+            product.setImages(null);
+        }
+        generator.writeObject(product);
+        if (format == Format.NDJSON) {
+            generator.writeRaw('\n');
+        }
+    }
+
+    private ProductDto toProductDto(Object[] row) {
+        ProductDto dto = new ProductDto();
+        dto.setId((Long) row[0]);
+        dto.setName((String) row[1]);
+        dto.setDescription((String) row[2]);
+        dto.setPrice((BigDecimal) row[3]);
+        dto.setStock((Integer) row[4]);
+        dto.setCategoryId((Long) row[5]);
+        dto.setBrand((String) row[6]);
+        dto.setFlavor((String) row[7]);
+        dto.setImages(new ArrayList<>());
+        return dto;
+    }
+
+    private ProductImageDto toImageDto(Object[] row) {
+        return new ProductImageDto((Long) row[8], (String) row[9], (String) row[10], (Boolean) row[11], (Long) row[0],
+                (String) row[12], (String) row[13], (String) row[14]);
+    }
+}
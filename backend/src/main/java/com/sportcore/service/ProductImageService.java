@@ -0,0 +1,96 @@
+package com.sportcore.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sportcore.config.MetricsConfig;
+import com.sportcore.dto.ProductImageDto;
+import com.sportcore.entity.ImageVariantStatus;
+import com.sportcore.entity.Product;
+import com.sportcore.entity.ProductImage;
+import com.sportcore.event.ChangeType;
+import com.sportcore.event.ProductChangedEvent;
+import com.sportcore.exception.BadRequestException;
+import com.sportcore.exception.ResourceNotFoundException;
+import com.sportcore.repository.ProductImageRepository;
+import com.sportcore.repository.ProductRepository;
+
+import io.micrometer.core.annotation.Timed;
+
+// Not transactional as a whole: the upload is copied to the store before a connection is taken, and only the
+// row insert runs in a transaction. Variants are generated after the commit and show up on the row later.
+@Service
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class ProductImageService {
+
+    private static final int MAX_ALT_TEXT_LENGTH = 200;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductImageRepository productImageRepository;
+
+    @Autowired
+    private ImageStore imageStore;
+
+    @Autowired
+    private ImageVariantService imageVariantService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public ProductImageService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Uploading bytes the product already has returns the existing image instead of adding a copy
+    public ProductImageDto uploadImage(Long productId, InputStream content, String altText, boolean primary) throws IOException {
+        if (altText != null && altText.length() > MAX_ALT_TEXT_LENGTH) {
+            throw new BadRequestException("Alt text must not exceed " + MAX_ALT_TEXT_LENGTH + " characters");
+        }
+        if (!productRepository.existsById(productId)) {
+            throw new ResourceNotFoundException("Product not found with id: " + productId);
+        }
+
+        ImageStore.StoredImage stored = imageStore.store(content);
+        ProductImage image = transactionTemplate.execute(status -> attach(productId, stored, altText, primary));
+        if (image.getVariantStatus() == ImageVariantStatus.PENDING) {
+            imageVariantService.submit(stored.getHash());
+        }
+        return new ProductImageDto(image.getId(), image.getUrl(), image.getAltText(), image.isPrimary(), productId,
+                image.getThumbnailUrl(), image.getCardUrl(), image.getDetailUrl());
+    }
+
+    private ProductImage attach(Long productId, ImageStore.StoredImage stored, String altText, boolean primary) {
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + productId));
+        Optional<ProductImage> existing = productImageRepository.findFirstByProductIdAndContentHash(productId, stored.getHash());
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+
+        ProductImage image = new ProductImage(imageStore.url(stored.getHash(), stored.getFileName()), altText, false, product);
+        image.setContentHash(stored.getHash());
+        image.setWidth(stored.getWidth());
+        image.setHeight(stored.getHeight());
+        image.setVariantStatus(ImageVariantStatus.PENDING);
+        if (primary || product.getImages().isEmpty()) {
+            product.getImages().forEach(other -> other.setPrimary(false));
+            image.setPrimary(true);
+        }
+        product.addImage(image);
+        productImageRepository.save(image);
+        eventPublisher.publishEvent(new ProductChangedEvent(productId, product.getCategory().getId(), ChangeType.UPDATED));
+        return image;
+    }
+}
@@ -0,0 +1,212 @@
+package com.sportcore.service;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sportcore.dto.ProductDto;
+
+// Streams import rows one at a time; a malformed row becomes a row with an error instead of failing the import
+public class ProductImportReader implements Closeable {
+
+    public enum Format {
+        CSV,
+        NDJSON
+    }
+
+    public static class Row {
+
+        private final long line;
+        private final ProductDto product;
+        private final String categoryName;
+        private final String error;
+
+        Row(long line, ProductDto product, String categoryName, String error) {
+            this.line = line;
+            this.product = product;
+            this.categoryName = categoryName;
+            this.error = error;
+        }
+
+        public long getLine() {
+            return line;
+        }
+
+        public ProductDto getProduct() {
+            return product;
+        }
+
+        public String getCategoryName() {
+            return categoryName;
+        }
+
+        public String getError() {
+            return error;
+        }
+    }
+
+    private final BufferedReader reader;
+    private final Format format;
+    private final ObjectMapper objectMapper;
+
+    private Map<String, Integer> columns;
+    private long lineNumber;
+    private long recordLine;
+
+    public ProductImportReader(InputStream inputStream, Format format, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8), 64 * 1024);
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    public Row next() throws IOException {
+        return format == Format.CSV ? nextCsv() : nextNdjson();
+    }
+
+    private Row nextNdjson() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+        } while (line.isBlank());
+
+        try {
+            JsonNode node = objectMapper.readTree(line);
+            ProductDto product = objectMapper.treeToValue(node, ProductDto.class);
+            product.setId(null);
+            product.setImages(null);
+            return new Row(lineNumber, product, node.path("category").textValue(), null);
+        } catch (JsonProcessingException e) {
+            return new Row(lineNumber, null, null, "Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private Row nextCsv() throws IOException {
+        if (columns == null) {
+            List<String> header = readRecord();
+            if (header == null) {
+                return null;
+            }
+            columns = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                columns.put(header.get(i).trim().toLowerCase(Locale.ROOT).replace("_", ""), i);
+            }
+            if (!columns.containsKey("name")) {
+                throw new IOException("CSV header must contain a 'name' column");
+            }
+        }
+
+        List<String> record;
+        do {
+            record = readRecord();
+            if (record == null) {
+                return null;
+            }
+        } while (record.size() == 1 && record.get(0).isBlank());
+
+        long line = recordLine;
+        ProductDto product = new ProductDto();
+        try {
+            product.setName(column(record, "name"));
+            product.setDescription(column(record, "description"));
+            String price = number(record, "price");
+            product.setPrice(price != null ? new BigDecimal(price) : null);
+            String stock = number(record, "stock");
+            product.setStock(stock != null ? Integer.valueOf(stock) : null);
+            String categoryId = number(record, "categoryid");
+            product.setCategoryId(categoryId != null ? Long.valueOf(categoryId) : null);
+            product.setBrand(column(record, "brand"));
+            product.setFlavor(column(record, "flavor"));
+        } catch (IllegalArgumentException e) {
+            return new Row(line, product, null, e.getMessage());
+        }
+        return new Row(line, product, column(record, "category"), null);
+    }
+
+    private String number(List<String> record, String name) {
+        String value = column(record, name);
+        if (value != null && !value.matches("-?\\d+(\\.\\d+)?")) {
+            throw new IllegalArgumentException("Invalid " + name + " '" + value + "': not a number");
+        }
+        return value;
+    }
+
+    private String column(List<String> record, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    // RFC 4180: quoted fields may contain separators, doubled quotes and line breaks
+    private List<String> readRecord() throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+        recordLine = ++lineNumber;
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (true) {
+            if (i == line.length()) {
+                if (!quoted) {
+                    break;
+                }
+                String continuation = reader.readLine();
+                if (continuation == null) {
+                    break;
+                }
+                lineNumber++;
+                field.append('\n');
+                line = continuation;
+                i = 0;
+                continue;
+            }
+            char c = line.charAt(i++);
+            if (quoted) {
+                if (c == '"' && i < line.length() && line.charAt(i) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,236 @@
+package com.sportcore.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sportcore.dto.BulkImportErrorDto;
+import com.sportcore.dto.BulkImportResultDto;
+import com.sportcore.dto.ProductDto;
+import com.sportcore.entity.Category;
+import com.sportcore.entity.Product;
+import com.sportcore.event.CatalogReloadedEvent;
+import com.sportcore.repository.CategoryRepository;
+import com.sportcore.repository.ProductRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+// Imports in chunks: one transaction per chunk, set-based category and duplicate lookups, and
+// sequence ids so Hibernate can send the inserts as JDBC batches (hibernate.jdbc.batch_size)
+@Service
+public class ProductImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductImportService.class);
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    public ProductImportService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public BulkImportResultDto importProducts(InputStream inputStream, ProductImportReader.Format format) throws IOException {
+        long started = System.nanoTime();
+        BulkImportResultDto result = new BulkImportResultDto();
+        Set<String> importedNames = new HashSet<>();
+        List<ProductImportReader.Row> chunk = new ArrayList<>(chunkSize);
+
+        try (ProductImportReader reader = new ProductImportReader(inputStream, format, objectMapper)) {
+            ProductImportReader.Row row;
+            while ((row = reader.next()) != null) {
+                result.setReceived(result.getReceived() + 1);
+                if (row.getError() != null) {
+                    reject(result, row, row.getError());
+                    continue;
+                }
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    importChunk(chunk, importedNames, result);
+                    chunk.clear();
+                }
+            }
+        }
+        importChunk(chunk, importedNames, result);
+
+        // One reload instead of a change event per row: the indexes rebuild once from the new catalog
+        if (result.getImported() > 0) {
+            eventPublisher.publishEvent(new CatalogReloadedEvent("bulk-import"));
+        }
+        result.setDurationMs((System.nanoTime() - started) / 1_000_000);
+        log.info("Bulk import: {} rows received, {} imported, {} failed in {} ms", result.getReceived(),
+                result.getImported(), result.getFailed(), result.getDurationMs());
+        return result;
+    }
+
+    private void importChunk(List<ProductImportReader.Row> chunk, Set<String> importedNames, BulkImportResultDto result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<ProductImportReader.Row> rejected = new ArrayList<>();
+        List<String> rejections = new ArrayList<>();
+        try {
+            List<String> accepted = transactionTemplate.execute(status ->
+                    persistChunk(chunk, importedNames, rejected, rejections));
+            importedNames.addAll(accepted);
+            result.setImported(result.getImported() + accepted.size());
+        } catch (RuntimeException e) {
+            if (chunk.size() == 1) {
+                reject(result, chunk.get(0), "Rejected by the database: " + e.getMessage());
+                return;
+            }
+            // One row spoiled the chunk; retry each on its own so only that one fails. Earlier chunks stay
+            // committed, and the entities are built again from the rows, so no ids survive the rollback.
+            log.warn("Bulk import chunk starting at line {} rolled back ({}), retrying row by row",
+                    chunk.get(0).getLine(), e.getMessage());
+            chunk.forEach(row -> importChunk(List.of(row), importedNames, result));
+            return;
+        }
+        for (int i = 0; i < rejected.size(); i++) {
+            reject(result, rejected.get(i), rejections.get(i));
+        }
+    }
+
+    private List<String> persistChunk(List<ProductImportReader.Row> chunk, Set<String> importedNames,
+                                      List<ProductImportReader.Row> rejected, List<String> rejections) {
+        Session session = entityManager.unwrap(Session.class);
+        // Freshly imported products are not worth a second-level cache put each
+        session.setCacheMode(CacheMode.IGNORE);
+
+        Set<Long> categoryIds = chunk.stream()
+                .map(row -> row.getProduct().getCategoryId())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<Long> knownCategoryIds = categoryIds.isEmpty()
+                ? new HashSet<>()
+                : new HashSet<>(categoryRepository.findExistingIds(categoryIds));
+
+        Set<String> categoryNames = chunk.stream()
+                .filter(row -> row.getProduct().getCategoryId() == null && row.getCategoryName() != null)
+                .map(row -> row.getCategoryName().toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+        Map<String, Long> categoryIdsByName = new HashMap<>();
+        if (!categoryNames.isEmpty()) {
+            categoryRepository.findIdsByLowerNameIn(categoryNames)
+                    .forEach(row -> categoryIdsByName.putIfAbsent((String) row[1], (Long) row[0]));
+            knownCategoryIds.addAll(categoryIdsByName.values());
+        }
+
+        Set<String> names = chunk.stream()
+                .map(row -> row.getProduct().getName())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<String> existingNames = names.isEmpty() ? Set.of() : new HashSet<>(productRepository.findExistingNames(names));
+
+        List<String> accepted = new ArrayList<>();
+        Set<String> chunkNames = new HashSet<>();
+        for (ProductImportReader.Row row : chunk) {
+            ProductDto dto = row.getProduct();
+            if (dto.getCategoryId() == null && row.getCategoryName() != null) {
+                dto.setCategoryId(categoryIdsByName.get(row.getCategoryName().toLowerCase(Locale.ROOT)));
+                if (dto.getCategoryId() == null) {
+                    rejected.add(row);
+                    rejections.add("Category not found with name: " + row.getCategoryName());
+                    continue;
+                }
+            }
+
+            String error = validate(dto);
+            if (error == null && !knownCategoryIds.contains(dto.getCategoryId())) {
+                error = "Category not found with id: " + dto.getCategoryId();
+            }
+            if (error == null && existingNames.contains(dto.getName())) {
+                error = "Product with name '" + dto.getName() + "' already exists";
+            }
+            if (error == null && (importedNames.contains(dto.getName()) || !chunkNames.add(dto.getName()))) {
+                error = "Product with name '" + dto.getName() + "' appears more than once in the import";
+            }
+            if (error != null) {
+                rejected.add(row);
+                rejections.add(error);
+                continue;
+            }
+
+            Product product = new Product();
+            product.setName(dto.getName());
+            product.setDescription(dto.getDescription());
+            product.setPrice(dto.getPrice());
+            product.setStock(dto.getStock() != null ? dto.getStock() : 0);
+            product.setCategory(entityManager.getReference(Category.class, dto.getCategoryId()));
+            product.setBrand(dto.getBrand());
+            product.setFlavor(dto.getFlavor());
+            entityManager.persist(product);
+            accepted.add(dto.getName());
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        return accepted;
+    }
+
+    private String validate(ProductDto dto) {
+        Set<ConstraintViolation<ProductDto>> violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private void reject(BulkImportResultDto result, ProductImportReader.Row row, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < maxReportedErrors) {
+            String name = row.getProduct() != null ? row.getProduct().getName() : null;
+            result.getErrors().add(new BulkImportErrorDto(row.getLine(), name, message));
+        } else {
+            result.setErrorsTruncated(true);
+        }
+    }
+}
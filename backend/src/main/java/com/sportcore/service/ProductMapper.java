@@ -0,0 +1,36 @@
+package com.sportcore.service;
+
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+
+import com.sportcore.dto.ProductDto;
+import com.sportcore.dto.ProductImageDto;
+import com.sportcore.entity.Product;
+
+@Component
+public class ProductMapper {
+
+    public ProductDto toDto(Product product) {
+        ProductDto dto = new ProductDto();
+        dto.setId(product.getId());
+        dto.setName(product.getName());
+        dto.setDescription(product.getDescription());
+        dto.setPrice(product.getPrice());
+        dto.setStock(product.getStock());
+        dto.setCategoryId(product.getCategory().getId());
+        dto.setBrand(product.getBrand());
+        dto.setFlavor(product.getFlavor());
+        dto.setVersion(product.getVersion());
+        
+        if (product.getImages() != null && !product.getImages().isEmpty()) {
+            dto.setImages(product.getImages().stream()
+                .map(image -> new ProductImageDto(image.getId(), image.getUrl(), image.getAltText(),
+                        image.isPrimary(), product.getId(), image.getThumbnailUrl(), image.getCardUrl(),
+                        image.getDetailUrl()))
+                .collect(Collectors.toList()));
+        }
+        
+        return dto;
+    }
+}
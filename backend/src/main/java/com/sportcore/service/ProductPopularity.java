@@ -0,0 +1,40 @@
+package com.sportcore.service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+
+@Component
+public class ProductPopularity {
+
+    private final Map<Long, LongAdder> views = new ConcurrentHashMap<>();
+
+    private final Set<Long> changed = ConcurrentHashMap.newKeySet();
+
+    public void recordView(Long productId) {
+        views.computeIfAbsent(productId, id -> new LongAdder()).increment();
+        changed.add(productId);
+    }
+
+    public long getViews(Long productId) {
+        LongAdder counter = views.get(productId);
+        return counter != null ? counter.sum() : 0;
+    }
+
+    // Products viewed since the last call. The count is bumped before the id is marked, so reading the views
+    // after draining never misses a view: a later one marks the product again.
+    public List<Long> drainChanged() {
+        List<Long> drained = new ArrayList<>();
+        for (Iterator<Long> iterator = changed.iterator(); iterator.hasNext(); ) {
+            drained.add(iterator.next());
+            iterator.remove();
+        }
+        return drained;
+    }
+}
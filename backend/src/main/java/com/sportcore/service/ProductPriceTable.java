@@ -0,0 +1,90 @@
+package com.sportcore.service;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.sportcore.config.DataSourceRouting;
+import com.sportcore.event.CatalogReloadedEvent;
+import com.sportcore.event.CategoryChangedEvent;
+import com.sportcore.event.ChangeType;
+import com.sportcore.event.ProductChangedEvent;
+import com.sportcore.repository.ProductRepository;
+
+// Current price per product id for order validation. Filled on demand and dropped per product on change,
+// so checkout does not load full product entities just to compare prices.
+@Component
+public class ProductPriceTable {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private final Map<Long, BigDecimal> prices = new ConcurrentHashMap<>();
+
+    private final AtomicLong generation = new AtomicLong();
+
+    // Ids missing from the result do not exist
+    public Map<Long, BigDecimal> getPrices(Collection<Long> productIds) {
+        Map<Long, BigDecimal> result = new HashMap<>();
+        List<Long> missing = productIds.stream()
+                .distinct()
+                .filter(id -> {
+                    BigDecimal price = prices.get(id);
+                    if (price != null) {
+                        result.put(id, price);
+                    }
+                    return price == null;
+                })
+                .collect(Collectors.toList());
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        long loadGeneration = generation.get();
+        Map<Long, BigDecimal> loaded = DataSourceRouting.onPrimary(() -> productRepository.findPricesByIdIn(missing)).stream()
+                .collect(Collectors.toMap(row -> (Long) row[0], row -> (BigDecimal) row[1]));
+        result.putAll(loaded);
+        // A change committed while loading may have been read before it happened
+        if (generation.get() == loadGeneration) {
+            prices.putAll(loaded);
+        }
+        return result;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        generation.incrementAndGet();
+        prices.remove(event.getProductId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        // Deleting a category cascades to its products
+        if (event.getChangeType() == ChangeType.DELETED) {
+            invalidate();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogReloaded(CatalogReloadedEvent event) {
+        invalidate();
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        prices.clear();
+    }
+
+    public int size() {
+        return prices.size();
+    }
+}
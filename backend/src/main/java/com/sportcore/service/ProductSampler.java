@@ -0,0 +1,132 @@
+package com.sportcore.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.sportcore.config.DataSourceRouting;
+import com.sportcore.event.CatalogReloadedEvent;
+import com.sportcore.event.CategoryChangedEvent;
+import com.sportcore.event.ProductChangedEvent;
+import com.sportcore.repository.ProductRepository;
+
+@Component
+public class ProductSampler {
+
+    private static final long[] EMPTY = new long[0];
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile IdIndex index;
+
+    // A lock rather than synchronized: the load runs a query and must not pin a virtual thread's carrier
+    private final Lock loadLock = new ReentrantLock();
+
+    public long[] sample(int k, Long categoryId, Long seed) {
+        long[] ids = categoryId == null ? getIndex().all : getIndex().byCategory.getOrDefault(categoryId, EMPTY);
+        Random random = seed == null ? ThreadLocalRandom.current() : new Random(seed);
+        return sample(ids, k, random);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        invalidate();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        invalidate();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogReloaded(CatalogReloadedEvent event) {
+        invalidate();
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+        index = null;
+    }
+
+    // Partial Fisher-Yates shuffle that records swaps in a sparse map, so only k slots are touched
+    static long[] sample(long[] ids, int k, Random random) {
+        int n = ids.length;
+        int size = Math.max(0, Math.min(k, n));
+        long[] result = new long[size];
+        Map<Integer, Integer> swaps = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            int j = i + random.nextInt(n - i);
+            int atJ = swaps.getOrDefault(j, j);
+            int atI = swaps.getOrDefault(i, i);
+            swaps.put(j, atI);
+            result[i] = ids[atJ];
+        }
+        return result;
+    }
+
+    private IdIndex getIndex() {
+        IdIndex current = index;
+        if (current != null) {
+            return current;
+        }
+        loadLock.lock();
+        try {
+            if (index != null) {
+                return index;
+            }
+            long buildGeneration = generation.get();
+            IdIndex built = load();
+            if (generation.get() == buildGeneration) {
+                index = built;
+            }
+            return built;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private IdIndex load() {
+        List<Object[]> rows = DataSourceRouting.onPrimary(productRepository::findAllIdsWithCategoryId);
+        long[] all = new long[rows.size()];
+        Map<Long, Integer> categorySizes = new HashMap<>();
+        for (Object[] row : rows) {
+            categorySizes.merge((Long) row[1], 1, Integer::sum);
+        }
+
+        Map<Long, long[]> byCategory = new HashMap<>();
+        Map<Long, Integer> positions = new HashMap<>();
+        categorySizes.forEach((categoryId, count) -> byCategory.put(categoryId, new long[count]));
+        for (int i = 0; i < rows.size(); i++) {
+            long id = (Long) rows.get(i)[0];
+            Long categoryId = (Long) rows.get(i)[1];
+            all[i] = id;
+            int position = positions.merge(categoryId, 1, Integer::sum) - 1;
+            byCategory.get(categoryId)[position] = id;
+        }
+        return new IdIndex(all, byCategory);
+    }
+
+    private static final class IdIndex {
+
+        private final long[] all;
+
+        private final Map<Long, long[]> byCategory;
+
+        private IdIndex(long[] all, Map<Long, long[]> byCategory) {
+            this.all = all;
+            this.byCategory = byCategory;
+        }
+    }
+}
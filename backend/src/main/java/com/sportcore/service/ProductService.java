@@ -1,32 +1,89 @@
 package com.sportcore.service;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.sportcore.config.CacheConfig;
+import com.sportcore.config.DataSourceRouting;
+import com.sportcore.config.MetricsConfig;
+import com.sportcore.dto.CursorPage;
 import com.sportcore.dto.ProductDto;
+import com.sportcore.dto.ProductFilter;
+import com.sportcore.dto.ProductImageDto;
+import com.sportcore.dto.ProductQueryResultDto;
 import com.sportcore.entity.Category;
 import com.sportcore.entity.Product;
+import com.sportcore.entity.ProductImage;
+import com.sportcore.event.ChangeType;
+import com.sportcore.event.ProductChangedEvent;
+import com.sportcore.exception.BadRequestException;
+import com.sportcore.exception.ConflictException;
 import com.sportcore.exception.DuplicateResourceException;
 import com.sportcore.exception.ResourceNotFoundException;
 import com.sportcore.repository.CategoryRepository;
+import com.sportcore.repository.ProductImageRepository;
 import com.sportcore.repository.ProductRepository;
+import com.sportcore.repository.ProductSortKey;
+import com.sportcore.search.FacetResult;
+import com.sportcore.search.ProductFacetIndex;
+import com.sportcore.search.ProductSearchIndex;
+import com.sportcore.search.SearchHits;
+
+import io.micrometer.core.annotation.Timed;
 
 @Service
 @Transactional
+@Timed(MetricsConfig.SERVICE_TIMER)
 public class ProductService {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
+    // Search hits and category listings can run to thousands of ids; bound each IN list like CatalogBatchService
+    private static final int IN_LIST_SIZE = 1_000;
+
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private ProductImageRepository productImageRepository;
+
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private ProductMapper productMapper;
+
+    @Autowired
+    private ProductSampler productSampler;
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private ProductFacetIndex productFacetIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public ProductDto createProduct(ProductDto productDto) {
         if (productRepository.existsByName(productDto.getName())) {
             throw new DuplicateResourceException("Product with name '" + productDto.getName() + "' already exists");
@@ -45,53 +102,119 @@ public class ProductService {
         product.setFlavor(productDto.getFlavor());
 
         Product savedProduct = productRepository.save(product);
+        eventPublisher.publishEvent(new ProductChangedEvent(savedProduct.getId(), category.getId(), ChangeType.CREATED));
 
-        return convertToDto(savedProduct);
+        return productMapper.toDto(savedProduct);
     }
 
     @Transactional(readOnly = true)
     public Page<ProductDto> getAllProducts(Pageable pageable) {
-        Page<Product> products = productRepository.findAll(pageable);
-        return products.map(this::convertToDto);
+        Page<ProductDto> products = productRepository.findAllDtos(pageable);
+        attachImages(products.getContent());
+        return products;
     }
 
+    // Cached reads are taken from the primary: a replica up to max-lag behind would otherwise put the row from
+    // before a write back into the cache right after that write's eviction, and it would be served for the whole TTL
     @Transactional(readOnly = true)
+    @Cacheable(CacheConfig.ALL_PRODUCTS)
     public List<ProductDto> getAllProducts() {
-        List<Product> products = productRepository.findAllWithImages();
+        List<Product> products = DataSourceRouting.onPrimary(productRepository::findAllWithImages);
         return products.stream()
-                .map(this::convertToDto)
+                .map(productMapper::toDto)
                 .collect(Collectors.toList());
     }
 
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.PRODUCTS, key = "#id")
     public ProductDto getProductById(Long id) {
-        Product product = productRepository.findByIdWithImages(id)
+        Product product = DataSourceRouting.onPrimary(() -> productRepository.findByIdWithImages(id))
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
-        return convertToDto(product);
+        return productMapper.toDto(product);
+    }
+
+    // Served from the second-level cache in steady state, so conditional requests skip the DTO path entirely;
+    // the entity that fills it is loaded from the primary for the same reason as the cached reads above
+    @Transactional(readOnly = true)
+    public Instant getProductLastModified(Long id) {
+        Product product = DataSourceRouting.onPrimary(() -> productRepository.findById(id))
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
+        LocalDateTime lastModified = product.getUpdatedAt() != null ? product.getUpdatedAt() : product.getCreatedAt();
+        for (ProductImage image : product.getImages()) {
+            if (image.getUpdatedAt() != null && (lastModified == null || image.getUpdatedAt().isAfter(lastModified))) {
+                lastModified = image.getUpdatedAt();
+            }
+        }
+        return lastModified != null ? lastModified.atZone(ZoneId.systemDefault()).toInstant() : Instant.EPOCH;
     }
 
     @Transactional(readOnly = true)
     public List<ProductDto> getRandomProducts(int limit) {
-        List<Product> products = productRepository.findRandomProductsWithImages(limit);
-        return products.stream()
-                .map(product -> {
-                    Product productWithImages = productRepository.findByIdWithImages(product.getId()).orElse(product);
-                    return convertToDto(productWithImages);
-                })
+        return getRandomProducts(limit, null, null);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProductDto> getRandomProducts(int limit, Long categoryId, Long seed) {
+        long[] ids = productSampler.sample(limit, categoryId, seed);
+        if (ids.length == 0) {
+            return new ArrayList<>();
+        }
+
+        return getProductsInOrder(Arrays.stream(ids).boxed().collect(Collectors.toList()));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<ProductDto> getProductsAfter(String after, String sort, String direction, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        ProductCursor cursor = after != null && !after.isBlank() ? ProductCursor.decode(after) : null;
+        ProductSortKey sortKey = cursor != null ? cursor.getSortKey() : parseSortKey(sort);
+        boolean ascending = cursor != null ? cursor.isAscending() : !"desc".equalsIgnoreCase(direction);
+
+        List<Product> rows = productRepository.findPageAfter(sortKey, ascending,
+                cursor != null ? cursor.getValue() : null,
+                cursor != null ? cursor.getId() : null,
+                pageSize + 1);
+        boolean hasNext = rows.size() > pageSize;
+        List<Product> products = hasNext ? rows.subList(0, pageSize) : rows;
+        if (products.isEmpty()) {
+            return new CursorPage<>(new ArrayList<>(), pageSize, null);
+        }
+
+        // Initializes the images of the already managed page rows in a single query
+        productRepository.findAllWithImagesByIdIn(products.stream().map(Product::getId).collect(Collectors.toList()));
+
+        Product last = products.get(products.size() - 1);
+        String nextCursor = hasNext
+                ? new ProductCursor(sortKey, ascending, last.getId(), sortKey.valueOf(last)).encode()
+                : null;
+        List<ProductDto> content = products.stream()
+                .map(productMapper::toDto)
                 .collect(Collectors.toList());
+        return new CursorPage<>(content, pageSize, nextCursor);
     }
 
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.PRODUCTS_BY_CATEGORY, key = "#categoryId")
     public List<ProductDto> getProductsByCategory(Long categoryId) {
-        List<Product> products = productRepository.findByCategoryId(categoryId);
-        return products.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return DataSourceRouting.onPrimary(() -> {
+            List<ProductDto> products = productRepository.findDtosByCategoryId(categoryId);
+            attachImages(products);
+            return products;
+        });
     }
 
     public ProductDto updateProduct(Long id, ProductDto productDto) {
+        if (productDto.getVersion() == null) {
+            throw new BadRequestException("version is required; send the version from the product you read");
+        }
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
+        // A full update replaces the stock too, so it must be built from the current state: anything that
+        // committed since the client's read (a reservation, a restock) has moved the version on
+        if (product.getVersion() != productDto.getVersion()) {
+            throw new ConflictException("Product " + id + " was modified since version " + productDto.getVersion()
+                    + ", reload and retry");
+        }
 
         if (productRepository.existsByNameAndIdNot(productDto.getName(), id)) {
             throw new DuplicateResourceException("Product with name '" + productDto.getName() + "' already exists");
@@ -108,8 +231,26 @@ public class ProductService {
         product.setBrand(productDto.getBrand());
         product.setFlavor(productDto.getFlavor());
 
-        Product updatedProduct = productRepository.save(product);
-        return convertToDto(updatedProduct);
+        // Catches a change that commits between the check above and this flush
+        Product updatedProduct;
+        try {
+            updatedProduct = productRepository.saveAndFlush(product);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new ConflictException("Product " + id + " was modified concurrently, reload and retry", e);
+        }
+        eventPublisher.publishEvent(new ProductChangedEvent(id, category.getId(), ChangeType.UPDATED));
+        return productMapper.toDto(updatedProduct);
+    }
+
+    private ProductSortKey parseSortKey(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return ProductSortKey.CREATED_AT;
+        }
+        try {
+            return ProductSortKey.fromParameter(sort);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage(), e);
+        }
     }
 
     public void deleteProduct(Long id) {
@@ -117,39 +258,73 @@ public class ProductService {
             throw new ResourceNotFoundException("Product not found with id: " + id);
         }
         productRepository.deleteById(id);
+        eventPublisher.publishEvent(new ProductChangedEvent(id, null, ChangeType.DELETED));
     }
 
     @Transactional(readOnly = true)
     public List<ProductDto> searchProductsByName(String name) {
-        List<Product> products = productRepository.findByNameContainingIgnoreCase(name);
-        return products.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        SearchHits hits = productSearchIndex.search(name, 0, Integer.MAX_VALUE);
+        return getProductsInOrder(hits.getIds());
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ProductDto> searchProducts(String query, Pageable pageable) {
+        SearchHits hits = productSearchIndex.search(query, (int) pageable.getOffset(), pageable.getPageSize());
+        return new PageImpl<>(getProductsInOrder(hits.getIds()), pageable, hits.getTotal());
     }
 
-    private ProductDto convertToDto(Product product) {
-        ProductDto dto = new ProductDto();
-        dto.setId(product.getId());
-        dto.setName(product.getName());
-        dto.setDescription(product.getDescription());
-        dto.setPrice(product.getPrice());
-        dto.setStock(product.getStock());
-        dto.setCategoryId(product.getCategory().getId());
-        dto.setBrand(product.getBrand());
-        dto.setFlavor(product.getFlavor());
-        
-        if (product.getImages() != null && !product.getImages().isEmpty()) {
-            dto.setImages(product.getImages().stream()
-                .map(image -> {
-                    com.sportcore.dto.ProductImageDto imageDto = new com.sportcore.dto.ProductImageDto();
-                    imageDto.setId(image.getId());
-                    imageDto.setUrl(image.getUrl());
-                    imageDto.setAltText(image.getAltText());
-                    return imageDto;
-                })
-                .collect(Collectors.toList()));
-        }
-        
+    @Transactional(readOnly = true)
+    public ProductQueryResultDto queryProducts(ProductFilter filter, Pageable pageable) {
+        Sort.Order priceOrder = pageable.getSort().getOrderFor("price");
+        Sort.Order idOrder = pageable.getSort().getOrderFor("id");
+        boolean descending = priceOrder != null ? priceOrder.isDescending() : idOrder != null && idOrder.isDescending();
+        FacetResult result = productFacetIndex.query(filter, (int) pageable.getOffset(), pageable.getPageSize(),
+                priceOrder != null, descending);
+
+        ProductQueryResultDto dto = new ProductQueryResultDto();
+        dto.setContent(getProductsInOrder(result.getIds()));
+        dto.setPage(pageable.getPageNumber());
+        dto.setSize(pageable.getPageSize());
+        dto.setTotalElements(result.getTotal());
+        dto.setTotalPages((result.getTotal() + pageable.getPageSize() - 1) / pageable.getPageSize());
+        dto.setFacets(result.getFacets());
         return dto;
     }
+
+    private List<ProductDto> getProductsInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, ProductDto> productsById = new HashMap<>();
+        for (List<Long> chunk : partition(ids)) {
+            productRepository.findDtosByIdIn(chunk).forEach(product -> productsById.put(product.getId(), product));
+        }
+        List<ProductDto> products = ids.stream()
+                .map(productsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        attachImages(products);
+        return products;
+    }
+
+    private void attachImages(List<ProductDto> products) {
+        if (products.isEmpty()) {
+            return;
+        }
+        List<Long> productIds = products.stream().map(ProductDto::getId).collect(Collectors.toList());
+        Map<Long, List<ProductImageDto>> imagesByProduct = new HashMap<>();
+        for (List<Long> chunk : partition(productIds)) {
+            productImageRepository.findDtosByProductIdIn(chunk).forEach(image ->
+                    imagesByProduct.computeIfAbsent(image.getProductId(), id -> new ArrayList<>()).add(image));
+        }
+        products.forEach(product -> product.setImages(imagesByProduct.get(product.getId())));
+    }
+
+    private static List<List<Long>> partition(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += IN_LIST_SIZE) {
+            chunks.add(ids.subList(from, Math.min(from + IN_LIST_SIZE, ids.size())));
+        }
+        return chunks;
+    }
 }
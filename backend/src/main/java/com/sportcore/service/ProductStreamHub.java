@@ -0,0 +1,544 @@
+package com.sportcore.service;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sportcore.config.DataSourceRouting;
+import com.sportcore.dto.ProductDeltaDto;
+import com.sportcore.event.CatalogReloadedEvent;
+import com.sportcore.event.CategoryChangedEvent;
+import com.sportcore.event.ChangeType;
+import com.sportcore.event.ProductChangedEvent;
+import com.sportcore.event.StockChangedEvent;
+import com.sportcore.exception.BadRequestException;
+import com.sportcore.exception.ServiceUnavailableException;
+import com.sportcore.repository.ProductRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Live price and stock feed behind GET /products/stream. Commits only mark products dirty; every
+// app.stream.coalesce-ms one thread reads the dirty products' price and stock in one query, keeps the fields
+// that differ from what was last sent and queues one event per subscriber, so a burst of orders on a product
+// becomes a single delta per tick. Events are written with the servlet non-blocking API: frames wait in a
+// small per-subscriber buffer while the socket is not ready, and a subscriber whose buffer fills is dropped,
+// so a slow client costs memory up to its buffer but never a thread.
+@Component
+public class ProductStreamHub {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductStreamHub.class);
+
+    private static final int QUERY_CHUNK = 1000;
+
+    private static final byte[] HEARTBEAT = ":\n\n".getBytes(StandardCharsets.UTF_8);
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.stream.max-subscribers:50000}")
+    private int maxSubscribers;
+
+    @Value("${app.stream.max-filter-ids:100}")
+    private int maxFilterIds;
+
+    @Value("${app.stream.coalesce-ms:250}")
+    private long coalesceMs;
+
+    // Events a subscriber may have waiting for its socket before it is dropped
+    @Value("${app.stream.buffer-size:32}")
+    private int bufferSize;
+
+    @Value("${app.stream.sender-threads:2}")
+    private int senderThreads;
+
+    @Value("${app.stream.heartbeat:25s}")
+    private Duration heartbeat;
+
+    // Clients reconnect on their own (EventSource); 0 keeps connections open until the client leaves
+    @Value("${app.stream.connection-timeout:30m}")
+    private Duration connectionTimeout;
+
+    @Value("${app.stream.retry:3s}")
+    private Duration retry;
+
+    // Price, stock and category as last sent, to compute deltas and the snapshot for new subscribers
+    private final Map<Long, ProductState> states = new ConcurrentHashMap<>();
+
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+    private final AtomicBoolean reloadRequested = new AtomicBoolean();
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final Set<Subscriber> unfiltered = ConcurrentHashMap.newKeySet();
+
+    private final Map<Long, Set<Subscriber>> byProduct = new ConcurrentHashMap<>();
+
+    private final Map<Long, Set<Subscriber>> byCategory = new ConcurrentHashMap<>();
+
+    private final AtomicInteger admitted = new AtomicInteger();
+
+    private final AtomicLong eventIds = new AtomicLong();
+
+    private final MeterRegistry meterRegistry;
+
+    private final Counter deltasPublished;
+
+    private ScheduledExecutorService ticker;
+
+    private ExecutorService senders;
+
+    public ProductStreamHub(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.deltasPublished = Counter.builder("sportcore.stream.deltas")
+                .description("Product deltas published to the live feed")
+                .register(meterRegistry);
+        Gauge.builder("sportcore.stream.subscribers", subscribers, Set::size)
+                .description("Open live feed connections")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        List<Object[]> rows = DataSourceRouting.onPrimary(productRepository::findAllStreamStates);
+        diff(rows, List.of());
+        AtomicInteger senderIds = new AtomicInteger();
+        senders = Executors.newFixedThreadPool(senderThreads, task -> {
+            Thread thread = new Thread(task, "stream-sender-" + senderIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "stream-hub");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleWithFixedDelay(this::publish, coalesceMs, coalesceMs, TimeUnit.MILLISECONDS);
+        ticker.scheduleWithFixedDelay(this::sendHeartbeats, 1, 1, TimeUnit.SECONDS);
+        log.info("Product stream hub tracking {} products", rows.size());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+        subscribers.forEach(subscriber -> subscriber.close(null));
+        if (senders != null) {
+            senders.shutdownNow();
+        }
+    }
+
+    // Subscribes to the given products or category, or to everything when neither is given. Product
+    // subscriptions start with a snapshot event of their current price and stock.
+    public void subscribe(List<Long> productIds, Long categoryId, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        Set<Long> ids = productIds != null ? new HashSet<>(productIds) : Set.of();
+        if (ids.size() > maxFilterIds) {
+            throw new BadRequestException("At most " + maxFilterIds + " product ids per stream");
+        }
+        if (admitted.incrementAndGet() > maxSubscribers) {
+            admitted.decrementAndGet();
+            throw new ServiceUnavailableException("Too many live feed connections, retry later");
+        }
+
+        response.setContentType(MediaType.TEXT_EVENT_STREAM_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader("Cache-Control", "no-cache");
+        // Stops nginx-style proxies from buffering the stream
+        response.setHeader("X-Accel-Buffering", "no");
+
+        AsyncContext asyncContext = request.startAsync(request, response);
+        asyncContext.setTimeout(connectionTimeout.toMillis());
+        Subscriber subscriber = new Subscriber(asyncContext, response.getOutputStream(), ids, categoryId);
+        asyncContext.addListener(subscriber);
+        subscriber.out.setWriteListener(subscriber);
+
+        subscriber.offer(("retry: " + retry.toMillis() + "\n\n").getBytes(StandardCharsets.UTF_8));
+        if (!ids.isEmpty()) {
+            List<ProductDeltaDto> snapshot = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                ProductState state = states.get(id);
+                if (state != null) {
+                    snapshot.add(new ProductDeltaDto(id, state.price, state.stock, state.categoryId, null));
+                }
+            }
+            subscriber.offer(frame(eventIds.get(), "snapshot", snapshot));
+        }
+        register(subscriber);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        dirty.add(event.getProductId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        dirty.add(event.getProductId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        // Deleting a category cascades to its products
+        if (event.getChangeType() == ChangeType.DELETED) {
+            reloadRequested.set(true);
+        }
+    }
+
+    // Bulk changes do not say which products they touched; the next tick compares the whole catalog
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogReloaded(CatalogReloadedEvent event) {
+        reloadRequested.set(true);
+    }
+
+    private void publish() {
+        try {
+            List<Change> changes = collectChanges();
+            if (!changes.isEmpty()) {
+                fanOut(changes);
+                deltasPublished.increment(changes.size());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Live feed tick failed: {}", e.getMessage());
+        }
+    }
+
+    private List<Change> collectChanges() {
+        if (reloadRequested.getAndSet(false)) {
+            dirty.clear();
+            return diff(DataSourceRouting.onPrimary(productRepository::findAllStreamStates), null);
+        }
+        if (dirty.isEmpty()) {
+            return List.of();
+        }
+        // Removed before reading, so a change committed meanwhile is either in this read or marks the id again
+        List<Long> ids = new ArrayList<>(dirty.size());
+        for (Iterator<Long> it = dirty.iterator(); it.hasNext(); ) {
+            ids.add(it.next());
+            it.remove();
+        }
+        List<Object[]> rows = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += QUERY_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(from + QUERY_CHUNK, ids.size()));
+            rows.addAll(DataSourceRouting.onPrimary(() -> productRepository.findStreamStatesByIdIn(chunk)));
+        }
+        return diff(rows, ids);
+    }
+
+    // checkedIds are the products the rows were read for; any of them without a row was deleted. Null means
+    // the rows are the whole catalog.
+    private List<Change> diff(List<Object[]> rows, Collection<Long> checkedIds) {
+        List<Change> changes = new ArrayList<>();
+        Set<Long> present = new HashSet<>(rows.size() * 2);
+        for (Object[] row : rows) {
+            Long id = (Long) row[0];
+            ProductState current = new ProductState((Long) row[1], (BigDecimal) row[2], (Integer) row[3]);
+            present.add(id);
+            ProductState previous = states.put(id, current);
+            if (previous == null) {
+                changes.add(new Change(current.categoryId, null,
+                        new ProductDeltaDto(id, current.price, current.stock, current.categoryId, null)));
+                continue;
+            }
+            boolean priceChanged = previous.price.compareTo(current.price) != 0;
+            boolean stockChanged = !Objects.equals(previous.stock, current.stock);
+            boolean categoryChanged = !Objects.equals(previous.categoryId, current.categoryId);
+            if (priceChanged || stockChanged || categoryChanged) {
+                changes.add(new Change(current.categoryId, categoryChanged ? previous.categoryId : null,
+                        new ProductDeltaDto(id, priceChanged ? current.price : null, stockChanged ? current.stock : null,
+                                categoryChanged ? current.categoryId : null, null)));
+            }
+        }
+        for (Long id : checkedIds != null ? checkedIds : new ArrayList<>(states.keySet())) {
+            if (!present.contains(id)) {
+                ProductState removed = states.remove(id);
+                if (removed != null) {
+                    changes.add(new Change(removed.categoryId, null, new ProductDeltaDto(id, null, null, null, Boolean.TRUE)));
+                }
+            }
+        }
+        return changes;
+    }
+
+    private void fanOut(List<Change> changes) {
+        long eventId = eventIds.incrementAndGet();
+        if (!unfiltered.isEmpty()) {
+            List<ProductDeltaDto> all = new ArrayList<>(changes.size());
+            changes.forEach(change -> all.add(change.delta));
+            byte[] frame = frame(eventId, "delta", all);
+            unfiltered.forEach(subscriber -> subscriber.offer(frame));
+        }
+
+        Map<Subscriber, Set<ProductDeltaDto>> matched = new IdentityHashMap<>();
+        for (Change change : changes) {
+            match(byProduct.get(change.delta.getId()), change, matched);
+            match(byCategory.get(change.categoryId), change, matched);
+            if (change.previousCategoryId != null) {
+                match(byCategory.get(change.previousCategoryId), change, matched);
+            }
+        }
+        // Subscribers with the same filter get the same deltas in the same order, so each distinct list is
+        // serialized once
+        Map<List<ProductDeltaDto>, byte[]> frames = new HashMap<>();
+        matched.forEach((subscriber, deltas) -> subscriber.offer(
+                frames.computeIfAbsent(new ArrayList<>(deltas), list -> frame(eventId, "delta", list))));
+    }
+
+    private static void match(Set<Subscriber> candidates, Change change, Map<Subscriber, Set<ProductDeltaDto>> matched) {
+        if (candidates != null) {
+            candidates.forEach(subscriber -> matched.computeIfAbsent(subscriber, s -> new LinkedHashSet<>()).add(change.delta));
+        }
+    }
+
+    private void sendHeartbeats() {
+        long idleSince = System.currentTimeMillis() - heartbeat.toMillis();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.lastWriteAt < idleSince) {
+                subscriber.offer(HEARTBEAT);
+            }
+        }
+    }
+
+    private byte[] frame(long eventId, String eventName, List<ProductDeltaDto> deltas) {
+        try {
+            return ("id: " + eventId + "\nevent: " + eventName + "\ndata: " + objectMapper.writeValueAsString(deltas) + "\n\n")
+                    .getBytes(StandardCharsets.UTF_8);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize product deltas", e);
+        }
+    }
+
+    private void register(Subscriber subscriber) {
+        subscribers.add(subscriber);
+        if (subscriber.productIds.isEmpty() && subscriber.categoryId == null) {
+            unfiltered.add(subscriber);
+            return;
+        }
+        subscriber.productIds.forEach(id -> addTo(byProduct, id, subscriber));
+        if (subscriber.categoryId != null) {
+            addTo(byCategory, subscriber.categoryId, subscriber);
+        }
+    }
+
+    private void unregister(Subscriber subscriber) {
+        if (!subscribers.remove(subscriber)) {
+            return;
+        }
+        admitted.decrementAndGet();
+        unfiltered.remove(subscriber);
+        subscriber.productIds.forEach(id -> removeFrom(byProduct, id, subscriber));
+        if (subscriber.categoryId != null) {
+            removeFrom(byCategory, subscriber.categoryId, subscriber);
+        }
+    }
+
+    // Adds and removes go through compute so a set emptied by one never loses the other's subscriber
+    private static void addTo(Map<Long, Set<Subscriber>> index, Long key, Subscriber subscriber) {
+        index.compute(key, (k, set) -> {
+            Set<Subscriber> subscribersOfKey = set != null ? set : ConcurrentHashMap.newKeySet();
+            subscribersOfKey.add(subscriber);
+            return subscribersOfKey;
+        });
+    }
+
+    private static void removeFrom(Map<Long, Set<Subscriber>> index, Long key, Subscriber subscriber) {
+        index.computeIfPresent(key, (k, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private static final class ProductState {
+
+        private final Long categoryId;
+
+        private final BigDecimal price;
+
+        private final Integer stock;
+
+        private ProductState(Long categoryId, BigDecimal price, Integer stock) {
+            this.categoryId = categoryId;
+            this.price = price;
+            this.stock = stock;
+        }
+    }
+
+    private static final class Change {
+
+        private final Long categoryId;
+
+        // Set when the product moved category, so subscribers of the old one see it leave
+        private final Long previousCategoryId;
+
+        private final ProductDeltaDto delta;
+
+        private Change(Long categoryId, Long previousCategoryId, ProductDeltaDto delta) {
+            this.categoryId = categoryId;
+            this.previousCategoryId = previousCategoryId;
+            this.delta = delta;
+        }
+    }
+
+    private final class Subscriber implements WriteListener, AsyncListener {
+
+        private final AsyncContext asyncContext;
+
+        private final ServletOutputStream out;
+
+        private final Set<Long> productIds;
+
+        private final Long categoryId;
+
+        private final ArrayDeque<byte[]> frames = new ArrayDeque<>();
+
+        private final AtomicBoolean drainScheduled = new AtomicBoolean();
+
+        private boolean flushPending;
+
+        private volatile boolean closed;
+
+        private volatile long lastWriteAt = System.currentTimeMillis();
+
+        private Subscriber(AsyncContext asyncContext, ServletOutputStream out, Set<Long> productIds, Long categoryId) {
+            this.asyncContext = asyncContext;
+            this.out = out;
+            this.productIds = productIds;
+            this.categoryId = categoryId;
+        }
+
+        void offer(byte[] frame) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                if (frames.size() >= bufferSize) {
+                    close("slow");
+                    return;
+                }
+                frames.add(frame);
+            }
+            if (senders != null && drainScheduled.compareAndSet(false, true)) {
+                senders.execute(() -> {
+                    drainScheduled.set(false);
+                    drain();
+                });
+            }
+        }
+
+        // Writes only while the container says the socket can take more; otherwise onWritePossible resumes
+        synchronized void drain() {
+            try {
+                while (!closed && out.isReady()) {
+                    byte[] frame = frames.poll();
+                    if (frame == null) {
+                        if (!flushPending) {
+                            return;
+                        }
+                        flushPending = false;
+                        out.flush();
+                        continue;
+                    }
+                    out.write(frame);
+                    flushPending = true;
+                    lastWriteAt = System.currentTimeMillis();
+                }
+            } catch (IOException | IllegalStateException e) {
+                close("disconnected");
+            }
+        }
+
+        synchronized void close(String reason) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            frames.clear();
+            unregister(this);
+            if (reason != null) {
+                meterRegistry.counter("sportcore.stream.dropped", "reason", reason).increment();
+            }
+            try {
+                asyncContext.complete();
+            } catch (IllegalStateException e) {
+                // Already completed by the container
+            }
+        }
+
+        @Override
+        public void onWritePossible() {
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            close("disconnected");
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            close(null);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            close(null);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            close("disconnected");
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
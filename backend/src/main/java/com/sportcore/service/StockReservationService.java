@@ -0,0 +1,241 @@
+package com.sportcore.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sportcore.config.MetricsConfig;
+import com.sportcore.dto.StockReservationDto;
+import com.sportcore.dto.StockReservationRequestDto;
+import com.sportcore.entity.ReservationStatus;
+import com.sportcore.entity.StockReservation;
+import com.sportcore.event.StockChangedEvent;
+import com.sportcore.exception.ConflictException;
+import com.sportcore.exception.ResourceNotFoundException;
+import com.sportcore.repository.StockRepository;
+import com.sportcore.repository.StockReservationRepository;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Service
+@Transactional
+@Timed(MetricsConfig.SERVICE_TIMER)
+public class StockReservationService {
+
+    private static final Logger log = LoggerFactory.getLogger(StockReservationService.class);
+
+    private static final int EXPIRY_BATCH_SIZE = 500;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private StockReservationRepository reservationRepository;
+
+    @Autowired
+    private HotStockCounters hotStockCounters;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.stock.reservation-ttl:10m}")
+    private Duration reservationTtl;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public StockReservationService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public StockReservationDto reserve(Long productId, int quantity) {
+        return reserveAll(List.of(new StockReservationRequestDto(productId, quantity))).get(0);
+    }
+
+    // All lines are held or none is. Not transactional itself: a hot counter refill takes its own connection,
+    // and queueing for a stripe lock while already holding one from the pool could starve it.
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<StockReservationDto> reserveAll(List<StockReservationRequestDto> lines) {
+        Map<Long, HotStockCounter> hot = new HashMap<>();
+        List<StockReservationRequestDto> takenHot = new ArrayList<>();
+        try {
+            for (StockReservationRequestDto line : lines) {
+                HotStockCounter counter = hotStockCounters.get(line.getProductId());
+                if (counter != null && !counter.isClosed()) {
+                    hot.put(line.getProductId(), counter);
+                    if (!counter.tryReserve(line.getQuantity())) {
+                        throw outOfStock(line.getProductId(), line.getQuantity());
+                    }
+                    takenHot.add(line);
+                }
+            }
+            List<StockReservationDto> reservations = transactionTemplate.execute(status -> hold(lines, hot.keySet()));
+            meterRegistry.counter("sportcore.stock.reservations", "outcome", "held").increment(lines.size());
+            return reservations;
+        } catch (RuntimeException e) {
+            // The units came out of memory, so they go back there
+            takenHot.forEach(line -> hot.get(line.getProductId()).giveBack(line.getQuantity()));
+            throw e;
+        }
+    }
+
+    private List<StockReservationDto> hold(List<StockReservationRequestDto> lines, Set<Long> hotProducts) {
+        // The holds are written first so product rows stay locked only from the decrements to the commit
+        LocalDateTime expiresAt = LocalDateTime.now().plus(reservationTtl);
+        List<StockReservation> holds = reservationRepository.saveAllAndFlush(lines.stream()
+                .map(line -> new StockReservation(line.getProductId(), line.getQuantity(), expiresAt))
+                .collect(Collectors.toList()));
+
+        // Rows are locked in id order so two multi-line reservations cannot deadlock on each other
+        Map<Long, Integer> decrements = new TreeMap<>();
+        lines.stream()
+                .filter(line -> !hotProducts.contains(line.getProductId()))
+                .forEach(line -> decrements.merge(line.getProductId(), line.getQuantity(), Integer::sum));
+        decrements.forEach((productId, quantity) -> {
+            if (!stockRepository.decrement(productId, quantity)) {
+                if (stockRepository.findStock(productId) == null) {
+                    throw new ResourceNotFoundException("Product not found with id: " + productId);
+                }
+                throw outOfStock(productId, quantity);
+            }
+            Integer remaining = stockRepository.findStock(productId);
+            eventPublisher.publishEvent(new StockChangedEvent(productId, remaining, remaining == 0));
+        });
+        return holds.stream().map(this::toDto).collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public StockReservationDto getReservation(Long id) {
+        return toDto(findReservation(id));
+    }
+
+    public StockReservationDto confirm(Long id) {
+        StockReservation reservation = findReservation(id);
+        if (reservationRepository.confirmHeld(id, LocalDateTime.now()) == 0) {
+            throw notHeld(reservation);
+        }
+        count("confirmed");
+        reservation.setStatus(ReservationStatus.CONFIRMED);
+        return toDto(reservation);
+    }
+
+    public void release(Long id) {
+        StockReservation reservation = findReservation(id);
+        if (reservationRepository.updateStatus(id, ReservationStatus.HELD, ReservationStatus.RELEASED, LocalDateTime.now()) == 0) {
+            throw notHeld(reservation);
+        }
+        restock(reservation.getProductId(), reservation.getQuantity());
+        count("released");
+    }
+
+    // For callers undoing their own holds: ones that already expired or were confirmed are left as they are
+    public void releaseHeld(Collection<Long> ids) {
+        LocalDateTime now = LocalDateTime.now();
+        for (StockReservation reservation : reservationRepository.findAllById(ids)) {
+            if (reservationRepository.updateStatus(reservation.getId(), ReservationStatus.HELD, ReservationStatus.RELEASED, now) == 1) {
+                restock(reservation.getProductId(), reservation.getQuantity());
+                count("released");
+            }
+        }
+    }
+
+    // Holds are expired by a compare-and-set per row, so one that gets confirmed meanwhile is left alone
+    @Scheduled(fixedDelayString = "${app.stock.expiry-sweep-interval-ms:5000}")
+    public void expireHolds() {
+        LocalDateTime now = LocalDateTime.now();
+        List<StockReservation> expired = reservationRepository.findExpiredHolds(now, PageRequest.of(0, EXPIRY_BATCH_SIZE));
+        if (expired.isEmpty()) {
+            return;
+        }
+
+        List<StockReservation> transitioned = expired.stream()
+                .filter(r -> reservationRepository.updateStatus(r.getId(), ReservationStatus.HELD, ReservationStatus.EXPIRED, now) == 1)
+                .collect(Collectors.toList());
+        Map<Long, Integer> restocked = transitioned.stream()
+                .collect(Collectors.groupingBy(StockReservation::getProductId, Collectors.summingInt(StockReservation::getQuantity)));
+        restocked.forEach(this::restock);
+        meterRegistry.counter("sportcore.stock.reservations", "outcome", "expired").increment(transitioned.size());
+        log.info("Expired {} stock holds across {} products", transitioned.size(), restocked.size());
+    }
+
+    private void restock(Long productId, int quantity) {
+        // Hot products take returned units into memory; the counter flushes them back to the table when closed.
+        // They only go back once the status change commits, or a rollback would leave them sellable twice.
+        HotStockCounter hot = hotStockCounters.get(productId);
+        if (hot != null && !hot.isClosed()) {
+            afterCommit(() -> hot.giveBack(quantity));
+            return;
+        }
+        if (stockRepository.increment(productId, quantity)) {
+            Integer stock = stockRepository.findStock(productId);
+            eventPublisher.publishEvent(new StockChangedEvent(productId, stock, stock == quantity));
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private StockReservation findReservation(Long id) {
+        return reservationRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Stock reservation not found with id: " + id));
+    }
+
+    private ConflictException outOfStock(Long productId, int quantity) {
+        count("rejected");
+        return new ConflictException("Insufficient stock for product " + productId + " to reserve " + quantity);
+    }
+
+    private ConflictException notHeld(StockReservation reservation) {
+        if (reservation.getStatus() == ReservationStatus.HELD) {
+            return new ConflictException("Stock reservation " + reservation.getId() + " expired at " + reservation.getExpiresAt());
+        }
+        return new ConflictException("Stock reservation " + reservation.getId() + " is already " + reservation.getStatus());
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter("sportcore.stock.reservations", "outcome", outcome).increment();
+    }
+
+    private StockReservationDto toDto(StockReservation reservation) {
+        StockReservationDto dto = new StockReservationDto();
+        dto.setId(reservation.getId());
+        dto.setProductId(reservation.getProductId());
+        dto.setQuantity(reservation.getQuantity());
+        dto.setStatus(reservation.getStatus());
+        dto.setExpiresAt(reservation.getExpiresAt());
+        dto.setCreatedAt(reservation.getCreatedAt());
+        return dto;
+    }
+}
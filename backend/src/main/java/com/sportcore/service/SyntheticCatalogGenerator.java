@@ -0,0 +1,121 @@
+package com.sportcore.service;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.sportcore.event.CatalogReloadedEvent;
+
+@Service
+public class SyntheticCatalogGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticCatalogGenerator.class);
+
+    private static final int BATCH_SIZE = 5_000;
+
+    private static final String[] TYPES = {"Whey Protein", "Whey Isolate", "Casein", "Creatine", "Pre-Workout", "BCAA",
+            "Glutamine", "Multivitamin", "Omega 3", "Fat Burner", "Mass Gainer", "Electrolytes", "Protein Bar", "Collagen"};
+    private static final String[] FLAVORS = {"Vanilla", "Chocolate", "Strawberry", "Cookies & Cream", "Banana", "Unflavored",
+            "Mango", "Coffee", "Peanut Butter", "Blue Raspberry", "Lemon", "Fruit Punch"};
+    private static final String[] BRANDS = {"SportCore", "Optimum", "MuscleTech", "Dymatize", "BSN", "Cellucor", "Myprotein",
+            "Isopure", "Ghost", "Transparent Labs", "Rule One", "Kaged", "Nutrex", "Universal", "Scitec", "Star Nutrition"};
+    private static final String[] SIZES = {"1 lb", "2 lb", "5 lb", "10 lb", "30 servings", "60 servings", "120 caps"};
+    private static final String[] CLAIMS = {"fast absorbing", "third-party tested", "low sugar", "gluten free",
+            "high protein", "keto friendly", "vegan", "clinically dosed", "no fillers", "great mixability"};
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private IdSequences idSequences;
+
+    public void generate(int categoryCount, int productCount, int maxImagesPerProduct, long seed) {
+        Random random = new Random(seed);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        long started = System.nanoTime();
+
+        long firstCategoryId = idSequences.nextFreeId("categories");
+        List<Object[]> categories = new ArrayList<>();
+        for (int i = 0; i < categoryCount; i++) {
+            long id = firstCategoryId + i;
+            categories.add(new Object[] {id, "Category " + id, "Synthetic category " + id, now, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO categories (id, name, description, created_at, updated_at) VALUES (?, ?, ?, ?, ?)",
+                categories);
+
+        long firstProductId = idSequences.nextFreeId("products");
+        long firstImageId = idSequences.nextFreeId("product_images");
+        long nextImageId = firstImageId;
+        List<Object[]> products = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> images = new ArrayList<>(BATCH_SIZE * Math.max(1, maxImagesPerProduct));
+        for (long id = firstProductId; id < firstProductId + productCount; id++) {
+            String type = TYPES[random.nextInt(TYPES.length)];
+            String flavor = FLAVORS[random.nextInt(FLAVORS.length)];
+            // Brands and categories are skewed: a few of them own most of the catalog
+            String brand = BRANDS[skewed(random, BRANDS.length)];
+            long categoryId = firstCategoryId + skewed(random, categoryCount);
+            String name = brand + " " + type + " " + flavor + " " + SIZES[random.nextInt(SIZES.length)] + " #" + id;
+            int stock = random.nextInt(10) == 0 ? 0 : random.nextInt(500);
+            BigDecimal price = BigDecimal.valueOf(999 + random.nextInt(19_000), 2);
+            products.add(new Object[] {id, name, description(random, type, flavor), price, stock, brand, flavor,
+                    categoryId, now, now});
+
+            int imageCount = maxImagesPerProduct <= 0 ? 0 : 1 + random.nextInt(maxImagesPerProduct);
+            for (int i = 0; i < imageCount; i++) {
+                images.add(new Object[] {nextImageId++, id, "https://cdn.sportcore.test/products/" + id + "/" + i + ".jpg",
+                        name, i == 0, now, now});
+            }
+            if (products.size() == BATCH_SIZE) {
+                flush(products, images);
+            }
+        }
+        flush(products, images);
+
+        long imageCount = nextImageId - firstImageId;
+        // Rows were inserted with explicit ids, so move the sequences past them for later JPA inserts
+        idSequences.moveAfter("categories", firstCategoryId + categoryCount - 1);
+        idSequences.moveAfter("products", firstProductId + productCount - 1);
+        idSequences.moveAfter("product_images", nextImageId - 1);
+        eventPublisher.publishEvent(new CatalogReloadedEvent("synthetic-generator"));
+
+        log.info("Generated {} categories, {} products and {} images in {} ms", categoryCount, productCount,
+                imageCount, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    // Roughly Zipf-distributed index in [0, size): low indexes are picked far more often
+    private static int skewed(Random random, int size) {
+        return Math.min(size - 1, (int) Math.floor(Math.pow(size + 1, random.nextDouble())) - 1);
+    }
+
+    private static String description(Random random, String type, String flavor) {
+        StringBuilder description = new StringBuilder(type).append(" in ").append(flavor).append(" flavor.");
+        int claims = 2 + random.nextInt(8);
+        for (int i = 0; i < claims; i++) {
+            String claim = CLAIMS[random.nextInt(CLAIMS.length)];
+            description.append(' ').append(Character.toUpperCase(claim.charAt(0))).append(claim.substring(1)).append('.');
+        }
+        return description.toString();
+    }
+
+    private void flush(List<Object[]> products, List<Object[]> images) {
+        jdbcTemplate.batchUpdate("INSERT INTO products (id, name, description, price, stock, brand, flavor, category_id, "
+                + "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", products);
+        jdbcTemplate.batchUpdate("INSERT INTO product_images (id, product_id, url, alt_text, is_primary, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?)", images);
+        products.clear();
+        images.clear();
+    }
+}
@@ -0,0 +1,104 @@
+package com.sportcore.config;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sportcore.dto.CategoryDto;
+import com.sportcore.dto.ProductDto;
+import com.sportcore.service.CategoryService;
+import com.sportcore.service.ProductService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The replica is a copy of the primary taken before a write, with a fresh heartbeat so the monitor routes
+// read-only transactions to it. The service's cached reads must still return the written values.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:cached-reads-primary",
+        "app.datasource.replica.enabled=true",
+        "app.datasource.replica.url=jdbc:h2:mem:cached-reads-replica",
+        "app.datasource.replica.check-interval-ms=3600000"
+})
+@ActiveProfiles("test")
+class CachedReadsOnPrimaryTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ReplicaHealthMonitor replicaHealthMonitor;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void cachedReadsAreNotFilledFromALaggingReplica() throws Exception {
+        ProductDto product = productService.getProductById(3L);
+        CategoryDto category = categoryService.getCategoryById(1L);
+        BigDecimal oldPrice = product.getPrice();
+        copyPrimaryToReplica();
+
+        product.setPrice(oldPrice.add(new BigDecimal("10.00")));
+        productService.updateProduct(3L, product);
+        category.setDescription("Written after the replica copy");
+        categoryService.updateCategory(1L, category);
+
+        new JdbcTemplate(replicaDataSource).update("UPDATE replica_heartbeat SET beat_at = ? WHERE id = 1",
+                Timestamp.from(Instant.now()));
+        replicaHealthMonitor.check();
+        assertThat(replicaHealthMonitor.isAvailable()).isTrue();
+        assertThat(replicaPrice()).as("plain read-only query").isEqualByComparingTo(oldPrice);
+
+        assertThat(productService.getProductById(3L).getPrice()).isEqualByComparingTo(oldPrice.add(new BigDecimal("10.00")));
+        assertThat(productService.getAllProducts())
+                .filteredOn(p -> p.getId() == 3L)
+                .singleElement()
+                .satisfies(p -> assertThat(p.getPrice()).isEqualByComparingTo(oldPrice.add(new BigDecimal("10.00"))));
+        assertThat(categoryService.getCategoryById(1L).getDescription()).isEqualTo("Written after the replica copy");
+    }
+
+    private BigDecimal replicaPrice() {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return readOnly.execute(status -> new JdbcTemplate(dataSource)
+                .queryForObject("SELECT price FROM products WHERE id = 3", BigDecimal.class));
+    }
+
+    // Stands in for replication up to this point; the heartbeat table exists once the monitor has run
+    private void copyPrimaryToReplica() throws Exception {
+        replicaHealthMonitor.check();
+        File script = File.createTempFile("cached-reads-primary", ".sql");
+        try {
+            new JdbcTemplate(primaryDataSource).execute("SCRIPT TO '" + script.getAbsolutePath() + "'");
+            new JdbcTemplate(replicaDataSource).execute("RUNSCRIPT FROM '" + script.getAbsolutePath() + "'");
+        } finally {
+            script.delete();
+        }
+    }
+}
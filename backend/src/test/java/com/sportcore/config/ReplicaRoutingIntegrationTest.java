@@ -0,0 +1,159 @@
+package com.sportcore.config;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Two H2 instances wired the way ReplicaDataSourceConfig wires the pools. Each holds a row naming itself,
+// so a query shows which one a transaction was routed to. Replication is played by hand: the test copies
+// the primary's heartbeat to the replica, or leaves it stale to simulate lag.
+class ReplicaRoutingIntegrationTest {
+
+    private static final Duration MAX_LAG = Duration.ofSeconds(5);
+
+    private static int instance;
+
+    private HikariDataSource primaryPool;
+    private HikariDataSource replicaPool;
+    private ReplicaHealthMonitor monitor;
+    private JdbcTemplate jdbcTemplate;
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        instance++;
+        primaryPool = pool("jdbc:h2:mem:routing-primary-" + instance, "primary");
+        replicaPool = pool("jdbc:h2:mem:routing-replica-" + instance, "replica");
+        primary = new JdbcTemplate(primaryPool);
+        replica = new JdbcTemplate(replicaPool);
+        for (JdbcTemplate database : new JdbcTemplate[] {primary, replica}) {
+            database.execute("CREATE TABLE node (name VARCHAR(20))");
+            database.execute("CREATE TABLE orders (id INT PRIMARY KEY)");
+            database.execute("CREATE TABLE replica_heartbeat (id INT PRIMARY KEY, beat_at TIMESTAMP NOT NULL)");
+        }
+        primary.update("INSERT INTO node VALUES ('primary')");
+        replica.update("INSERT INTO node VALUES ('replica')");
+
+        monitor = new ReplicaHealthMonitor(primaryPool, replicaPool, MAX_LAG, new SimpleMeterRegistry());
+        DataSource routing = new ReplicaDataSourceConfig().dataSource(primaryPool, replicaPool, monitor);
+        jdbcTemplate = new JdbcTemplate(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        primaryPool.close();
+        replicaPool.close();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToAFreshReplica() {
+        replicate(Instant.now());
+        monitor.check();
+
+        assertThat(monitor.isAvailable()).isTrue();
+        assertThat(readOnlyNode()).isEqualTo("replica");
+        assertThat(readWriteNode()).isEqualTo("primary");
+        assertThat(node()).as("outside a transaction").isEqualTo("primary");
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhileTheReplicaLags() {
+        replicate(Instant.now().minus(MAX_LAG.multipliedBy(3)));
+        monitor.check();
+
+        assertThat(monitor.isAvailable()).isFalse();
+        assertThat(readOnlyNode()).isEqualTo("primary");
+
+        // Replication catches up
+        replicate(Instant.now());
+        monitor.check();
+
+        assertThat(monitor.isAvailable()).isTrue();
+        assertThat(readOnlyNode()).isEqualTo("replica");
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhenTheReplicaIsDown() {
+        replicate(Instant.now());
+        monitor.check();
+        assertThat(monitor.isAvailable()).isTrue();
+
+        replicaPool.close();
+        monitor.check();
+
+        assertThat(monitor.isAvailable()).isFalse();
+        assertThat(readOnlyNode()).isEqualTo("primary");
+    }
+
+    @Test
+    void readsThatMustSeeAWriteStayOnThePrimary() {
+        replicate(Instant.now());
+        monitor.check();
+
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("INSERT INTO orders VALUES (1)"));
+
+        // The write has not reached the replica yet
+        assertThat(readOnlyOrderCount(false)).isZero();
+        assertThat(readOnlyOrderCount(true)).isEqualTo(1);
+        String forced = readOnly.execute(status -> DataSourceRouting.onPrimary(this::node));
+        assertThat(forced).isEqualTo("primary");
+        assertThat(primary.queryForObject("SELECT COUNT(*) FROM orders", Integer.class)).isEqualTo(1);
+    }
+
+    private String readOnlyNode() {
+        return readOnly.execute(status -> node());
+    }
+
+    private String readWriteNode() {
+        return readWrite.execute(status -> node());
+    }
+
+    private Integer readOnlyOrderCount(boolean onPrimary) {
+        return readOnly.execute(status -> onPrimary ? DataSourceRouting.onPrimary(this::orderCount) : orderCount());
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private Integer orderCount() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders", Integer.class);
+    }
+
+    // Stands in for replication of the heartbeat row the monitor writes on the primary
+    private void replicate(Instant beatAt) {
+        replica.update("MERGE INTO replica_heartbeat (id, beat_at) KEY (id) VALUES (1, ?)", Timestamp.from(beatAt));
+    }
+
+    private static HikariDataSource pool(String url, String name) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl(url + ";DB_CLOSE_DELAY=-1");
+        pool.setUsername("sa");
+        pool.setPoolName(name);
+        pool.setMaximumPoolSize(2);
+        pool.setConnectionTimeout(1000);
+        return pool;
+    }
+}
@@ -0,0 +1,120 @@
+package com.sportcore.controller;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:order-auth-test")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class OrderControllerAuthTest {
+
+    private static final String PASSWORD = "correct-horse";
+
+    // One creatine at the seeded price, naming Ben as the owner
+    private static final String ORDER_FOR_BEN = "{\"userId\": 1002, "
+            + "\"items\": [{\"productId\": 3, \"quantity\": 1, \"price\": 24.99}], "
+            + "\"shippingAddress\": {\"firstName\": \"Ana\", \"lastName\": \"Ruiz\", \"email\": \"ana@example.com\", "
+            + "\"address\": \"1 Main St\", \"city\": \"Springfield\", \"zipCode\": \"62701\", \"country\": \"US\"}, "
+            + "\"paymentInfo\": {\"cardNumber\": \"4242 4242 4242 4242\", \"expiryDate\": \"12/30\", \"cvv\": \"123\", "
+            + "\"cardholderName\": \"Ana Ruiz\"}, "
+            + "\"subtotal\": 24.99, \"shipping\": 9.99, \"tax\": 2.00, \"total\": 36.98}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("INSERT INTO users (id, email, password, first_name, last_name, role, is_active, created_at, updated_at) "
+                + "VALUES (1001, 'ana@example.com', '{noop}" + PASSWORD + "', 'Ana', 'Ruiz', 'CUSTOMER', TRUE, NOW(), NOW()), "
+                + "(1002, 'ben@example.com', '{noop}" + PASSWORD + "', 'Ben', 'Okafor', 'CUSTOMER', TRUE, NOW(), NOW()), "
+                + "(1003, 'ops@example.com', '{noop}" + PASSWORD + "', 'Ops', 'Admin', 'ADMIN', TRUE, NOW(), NOW())");
+        // Orders 1001 and 1002 belong to Ana, 1003 to Ben
+        jdbcTemplate.update("INSERT INTO orders (id, order_number, status, user_id, shipping_first_name, shipping_last_name, "
+                + "shipping_email, shipping_phone, shipping_address, shipping_city, shipping_state, shipping_zip_code, "
+                + "shipping_country, card_last4, subtotal, shipping, tax, total, estimated_delivery, created_at, updated_at) "
+                + "SELECT 1000 + X, 'SC-AUTH-' || X, 'PLACED', CASE WHEN X < 3 THEN 1001 ELSE 1002 END, 'Ana', 'Ruiz', "
+                + "'ana@example.com', '555-0100', '1 Main St', 'Springfield', 'IL', '62701', 'US', '4242', 10, 9.99, 0.80, "
+                + "20.79, NOW(), NOW(), NOW() FROM SYSTEM_RANGE(1, 3)");
+    }
+
+    @Test
+    void anonymousReadsAreRejected() throws Exception {
+        mockMvc.perform(get("/orders/1001")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/orders/user/1001")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/orders/1001").with(httpBasic("ana@example.com", "wrong-password")))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void customersReadOnlyTheirOwnOrders() throws Exception {
+        mockMvc.perform(get("/orders/1001").with(httpBasic("ana@example.com", PASSWORD)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orderNumber").value("SC-AUTH-1"));
+        mockMvc.perform(get("/orders/user/1001").with(httpBasic("ana@example.com", PASSWORD)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].orderNumber").value(containsInAnyOrder("SC-AUTH-1", "SC-AUTH-2")));
+
+        mockMvc.perform(get("/orders/1003").with(httpBasic("ana@example.com", PASSWORD)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/orders/user/1002").with(httpBasic("ana@example.com", PASSWORD)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/orders/1001").with(httpBasic("ben@example.com", PASSWORD)))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void ordersArePlacedForTheCallerWhateverTheBodySays() throws Exception {
+        mockMvc.perform(post("/orders").contentType(MediaType.APPLICATION_JSON).content(ORDER_FOR_BEN))
+                .andExpect(status().isUnauthorized());
+
+        String body = mockMvc.perform(post("/orders").with(httpBasic("ana@example.com", PASSWORD))
+                        .contentType(MediaType.APPLICATION_JSON).content(ORDER_FOR_BEN))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long id = objectMapper.readTree(body).get("id").asLong();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT user_id FROM orders WHERE id = ?", Long.class, id)).isEqualTo(1001L);
+        mockMvc.perform(get("/orders/" + id).with(httpBasic("ben@example.com", PASSWORD)))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/orders/user/1002").with(httpBasic("ben@example.com", PASSWORD)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].id").value(not(hasItem((int) id))));
+    }
+
+    @Test
+    void adminsReadAnyOrder() throws Exception {
+        mockMvc.perform(get("/orders/1003").with(httpBasic("ops@example.com", PASSWORD)))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/orders/user/1002").with(httpBasic("ops@example.com", PASSWORD)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].orderNumber").value(contains("SC-AUTH-3")));
+    }
+}
@@ -0,0 +1,105 @@
+package com.sportcore.controller;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.sportcore.event.CatalogReloadedEvent;
+import com.sportcore.metrics.SqlBudgetFilter;
+import com.sportcore.search.ProductFacetIndex;
+import com.sportcore.search.ProductSearchIndex;
+import com.sportcore.service.ProductSampler;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+// Pins the number of JDBC statements each product read endpoint runs on a cold cache, as reported by the
+// X-Sql-Statements header. Category 6 holds 2,500 products, so listing or searching it spans three IN-list
+// chunks of ids; a query per product (an N+1) or an unbounded IN list changes these numbers.
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:sql-count-test")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ProductControllerSqlCountTest {
+
+    private static final int LARGE_CATEGORY_PRODUCTS = 2_500;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ProductSearchIndex productSearchIndex;
+
+    @Autowired
+    private ProductFacetIndex productFacetIndex;
+
+    @Autowired
+    private ProductSampler productSampler;
+
+    @BeforeAll
+    void insertLargeCategory() {
+        jdbcTemplate.update("INSERT INTO products (id, name, description, price, stock, brand, flavor, category_id, "
+                + "version, created_at, updated_at) "
+                + "SELECT 1000 + X, 'Thermo Burner ' || X, 'Fat burner capsules', 20 + MOD(X, 50), 10, 'Burnlab', "
+                + "'Unflavored', 6, 0, NOW(), NOW() FROM SYSTEM_RANGE(1, " + LARGE_CATEGORY_PRODUCTS + ")");
+        jdbcTemplate.update("INSERT INTO product_images (id, product_id, url, alt_text, is_primary, created_at, updated_at) "
+                + "SELECT 1000 + X, 1000 + X, 'https://cdn.example.com/' || X || '.jpg', 'Burner ' || X, TRUE, NOW(), NOW() "
+                + "FROM SYSTEM_RANGE(1, " + LARGE_CATEGORY_PRODUCTS + ")");
+        CatalogReloadedEvent reloaded = new CatalogReloadedEvent("test");
+        productSearchIndex.onCatalogReloaded(reloaded);
+        productFacetIndex.onCatalogReloaded(reloaded);
+        productSampler.onCatalogReloaded(reloaded);
+    }
+
+    @BeforeEach
+    void clearCaches() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    // category/6 and search?name= read 2,500 products as three chunks of ids and three of images
+    @ParameterizedTest(name = "GET {0} runs {1} statements")
+    @CsvSource({
+            "/products?page=0&size=20, 3",
+            "/products/cursor?size=20, 2",
+            "/products/all, 1",
+            "/products/1, 3",
+            "/products/random?limit=10&seed=7, 3",
+            "/products/category/1, 2",
+            "/products/category/6, 4",
+            "/products/query?categoryId=6&size=20, 3",
+            "/products/suggest?q=thermo, 0",
+            "/products/search?name=burner, 6",
+            "/products/search?q=burner&size=20, 2",
+            "/products/search?q=nothing-matches, 0"
+    })
+    void readEndpointStatementCount(String path, int expected) throws Exception {
+        MvcResult result = mockMvc.perform(get(path)).andReturn();
+
+        assertThat(result.getResponse().getStatus()).isEqualTo(200);
+        assertThat(result.getResponse().getHeader(SqlBudgetFilter.STATEMENTS_HEADER))
+                .as("statements for GET %s", path)
+                .isEqualTo(String.valueOf(expected));
+    }
+}
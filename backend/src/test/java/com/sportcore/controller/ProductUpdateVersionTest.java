@@ -0,0 +1,104 @@
+package com.sportcore.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sportcore.dto.ProductDto;
+import com.sportcore.dto.StockReservationRequestDto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// A PUT replaces the stock along with everything else, so it is only accepted against the version it was read at
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:update-version-test")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ProductUpdateVersionTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void putBuiltFromAStaleReadIsRejected() throws Exception {
+        ProductDto read = read(3L);
+        int stockAtRead = read.getStock();
+
+        StockReservationRequestDto reservation = new StockReservationRequestDto();
+        reservation.setProductId(3L);
+        reservation.setQuantity(5);
+        mockMvc.perform(post("/stock/reservations").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(reservation)))
+                .andExpect(status().isCreated());
+
+        read.setDescription("Edited from a stale read");
+        mockMvc.perform(put("/products/3").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(read)))
+                .andExpect(status().isConflict());
+        assertThat(read(3L).getStock()).isEqualTo(stockAtRead - 5);
+
+        read.setVersion(null);
+        mockMvc.perform(put("/products/3").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(read)))
+                .andExpect(status().isBadRequest());
+
+        ProductDto current = read(3L);
+        current.setDescription("Edited from the current version");
+        mockMvc.perform(put("/products/3").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(current)))
+                .andExpect(status().isOk());
+        ProductDto updated = read(3L);
+        assertThat(updated.getDescription()).isEqualTo("Edited from the current version");
+        assertThat(updated.getStock()).isEqualTo(stockAtRead - 5);
+        assertThat(updated.getVersion()).isGreaterThan(current.getVersion());
+    }
+
+    @Test
+    void batchStockWriteFromAStaleReadIsReportedAsAConflict() throws Exception {
+        ProductDto read = read(2L);
+        int stockAtRead = read.getStock();
+        mockMvc.perform(patch("/products/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"products\": [{\"id\": 2, \"stock\": 99}]}"))
+                .andExpect(status().isBadRequest());
+
+        StockReservationRequestDto reservation = new StockReservationRequestDto(2L, 4);
+        mockMvc.perform(post("/stock/reservations").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(reservation)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(patch("/products/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"products\": [{\"id\": 2, \"stock\": " + stockAtRead + ", \"version\": "
+                                + read.getVersion() + "}, {\"id\": 424242, \"price\": 10}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(0))
+                .andExpect(jsonPath("$.conflicts[0]").value(2))
+                .andExpect(jsonPath("$.notFound[0]").value(424242));
+        assertThat(read(2L).getStock()).isEqualTo(stockAtRead - 4);
+
+        ProductDto current = read(2L);
+        mockMvc.perform(patch("/products/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"products\": [{\"id\": 2, \"stock\": 60, \"version\": " + current.getVersion() + "}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.affected").value(1))
+                .andExpect(jsonPath("$.conflicts").isEmpty());
+        assertThat(read(2L).getStock()).isEqualTo(60);
+    }
+
+    private ProductDto read(Long id) throws Exception {
+        String body = mockMvc.perform(get("/products/" + id)).andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(body, ProductDto.class);
+    }
+}
@@ -0,0 +1,34 @@
+package com.sportcore.dto;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PaymentInfoDtoTest {
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @ParameterizedTest
+    @ValueSource(strings = {"4242424242424242", "4242 4242 4242 4242", "4242 4242 4242 4242 ", "3782 822463 10005",
+            "4242424242424", "4242424242424242424"})
+    void acceptsThirteenToNineteenDigits(String cardNumber) {
+        assertThat(validator.validateProperty(payment(cardNumber), "cardNumber")).isEmpty();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"1            ", "424242424242", "42424242424242424242", " 4242424242424242",
+            "4242  4242 4242 4242", "4242-4242-4242-4242"})
+    void rejectsAnythingElse(String cardNumber) {
+        assertThat(validator.validateProperty(payment(cardNumber), "cardNumber")).isNotEmpty();
+    }
+
+    private static PaymentInfoDto payment(String cardNumber) {
+        PaymentInfoDto payment = new PaymentInfoDto();
+        payment.setCardNumber(cardNumber);
+        return payment;
+    }
+}
@@ -0,0 +1,58 @@
+package com.sportcore.metrics;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+// Only runs on a Java 21 JVM (mvn -Pjava21 test); the default build compiles for 17, hence the reflective executor
+@EnabledForJreRange(min = JRE.JAVA_21)
+class VirtualThreadPinningMonitorTest {
+
+    private final Object lock = new Object();
+
+    @Test
+    void sleepingInsideSynchronizedIsRecordedWithItsSite() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor();
+        ReflectionTestUtils.setField(monitor, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(monitor, "threshold", Duration.ofMillis(10));
+        monitor.start();
+        try {
+            ExecutorService virtualThreads = (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            try {
+                virtualThreads.submit(this::sleepHoldingTheLock).get(10, TimeUnit.SECONDS);
+            } finally {
+                virtualThreads.shutdown();
+            }
+
+            await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+                Timer pinned = meterRegistry.find("sportcore.virtual.pinned").timer();
+                assertThat(pinned).isNotNull();
+                assertThat(pinned.count()).isPositive();
+                assertThat(pinned.getId().getTag("site")).startsWith(VirtualThreadPinningMonitorTest.class.getName());
+            });
+        } finally {
+            monitor.destroy();
+        }
+    }
+
+    private Void sleepHoldingTheLock() throws InterruptedException {
+        synchronized (lock) {
+            Thread.sleep(100);
+        }
+        return null;
+    }
+}
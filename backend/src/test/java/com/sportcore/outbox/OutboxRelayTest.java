@@ -0,0 +1,130 @@
+package com.sportcore.outbox;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.sportcore.event.ChangeType;
+import com.sportcore.event.ProductChangedEvent;
+import com.sun.net.httpserver.HttpServer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+// A webhook receiver that hangs and then fails must not hold back the index and cache consumers: they deliver
+// every message straight away while the webhook retries on its own, and the webhook still gets the messages
+// in order once the receiver recovers
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outbox-relay-test",
+        "app.outbox.relay.poll-interval-ms=100",
+        "app.outbox.relay.initial-backoff=200ms",
+        "app.outbox.relay.max-backoff=1s"
+})
+@ActiveProfiles("test")
+class OutboxRelayTest {
+
+    private static final AtomicBoolean receiverDown = new AtomicBoolean();
+
+    private static final List<Long> received = new CopyOnWriteArrayList<>();
+
+    private static final HttpServer receiver = startReceiver();
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void webhook(DynamicPropertyRegistry registry) {
+        registry.add("app.outbox.webhooks.urls", () -> "http://127.0.0.1:" + receiver.getAddress().getPort() + "/hook");
+    }
+
+    @AfterAll
+    static void stopReceiver() {
+        receiver.stop(0);
+    }
+
+    @Test
+    void failingWebhookDoesNotHoldBackTheOtherConsumers() {
+        receiverDown.set(true);
+        long first = publish();
+        await().atMost(Duration.ofSeconds(2)).untilAsserted(() -> {
+            assertThat(status(first, "index")).isEqualTo("PUBLISHED");
+            assertThat(status(first, "cache")).isEqualTo("PUBLISHED");
+        });
+
+        // The same aggregate again: the webhook holds it behind the failed message, the others do not
+        long second = publish();
+        await().atMost(Duration.ofSeconds(2)).untilAsserted(() -> {
+            assertThat(status(second, "index")).isEqualTo("PUBLISHED");
+            assertThat(status(second, "cache")).isEqualTo("PUBLISHED");
+        });
+        await().atMost(Duration.ofSeconds(5)).until(() -> "PENDING".equals(status(first, "webhooks")));
+        assertThat(status(second, "webhooks")).isNull();
+        assertThat(messageStatus(first)).isEqualTo("PENDING");
+        assertThat(received).doesNotContain(first, second);
+
+        receiverDown.set(false);
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+            assertThat(messageStatus(first)).isEqualTo("PUBLISHED");
+            assertThat(messageStatus(second)).isEqualTo("PUBLISHED");
+        });
+        assertThat(received).containsSubsequence(first, second);
+    }
+
+    private long publish() {
+        eventPublisher.publishEvent(new ProductChangedEvent(1L, 1L, ChangeType.UPDATED));
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM outbox_messages", Long.class);
+    }
+
+    private String status(long messageId, String consumer) {
+        List<String> statuses = jdbcTemplate.queryForList("SELECT status FROM outbox_deliveries "
+                + "WHERE message_id = ? AND consumer = ?", String.class, messageId, consumer);
+        return statuses.isEmpty() ? null : statuses.get(0);
+    }
+
+    private String messageStatus(long messageId) {
+        return jdbcTemplate.queryForObject("SELECT status FROM outbox_messages WHERE id = ?", String.class, messageId);
+    }
+
+    // Hangs for a second and answers 500 while down, the way a struggling receiver times requests out
+    private static HttpServer startReceiver() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            server.createContext("/hook", exchange -> {
+                exchange.getRequestBody().readAllBytes();
+                int status = 200;
+                if (receiverDown.get()) {
+                    try {
+                        Thread.sleep(1_000);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    status = 500;
+                } else {
+                    received.add(Long.valueOf(exchange.getRequestHeaders().getFirst("X-Outbox-Message-Id")));
+                }
+                exchange.sendResponseHeaders(status, -1);
+                exchange.close();
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
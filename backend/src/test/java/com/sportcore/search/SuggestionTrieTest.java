@@ -0,0 +1,112 @@
+package com.sportcore.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SuggestionTrieTest {
+
+    @Test
+    void visitsValuesUnderPrefixHeaviestFirst() {
+        SuggestionTrie<String> trie = new SuggestionTrie<>();
+        Map<String, Long> weights = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 2000; i++) {
+            String key = randomKey(random);
+            long weight = random.nextInt(1000);
+            if (weights.putIfAbsent(key, weight) == null) {
+                trie.insert(key, key, weight);
+            }
+        }
+        // Re-weighting moves values both ways
+        for (String key : new ArrayList<>(weights.keySet()).subList(0, 200)) {
+            long weight = random.nextInt(5000);
+            trie.setWeight(key, key, weight);
+            weights.put(key, weight);
+        }
+
+        for (String prefix : List.of("a", "ab", "ba", "cab", "")) {
+            List<Long> visited = new ArrayList<>();
+            trie.visitByWeight(prefix, (value, weight) -> {
+                assertThat(value).startsWith(prefix);
+                assertThat(weight).isEqualTo(weights.get(value));
+                visited.add(weight);
+                return true;
+            });
+            List<Long> expected = weights.entrySet().stream()
+                    .filter(entry -> entry.getKey().startsWith(prefix))
+                    .map(Map.Entry::getValue)
+                    .sorted(Comparator.reverseOrder())
+                    .toList();
+            assertThat(visited).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void stopsWhenTheVisitorHasEnough() {
+        SuggestionTrie<String> trie = new SuggestionTrie<>();
+        for (int i = 0; i < 100; i++) {
+            trie.insert("protein " + i, "protein " + i, i);
+        }
+        List<String> top = new ArrayList<>();
+        trie.visitByWeight("prot", (value, weight) -> {
+            top.add(value);
+            return top.size() < 3;
+        });
+
+        assertThat(top).containsExactly("protein 99", "protein 98", "protein 97");
+    }
+
+    @Test
+    void removePrunesEmptyAndPassThroughNodes() {
+        SuggestionTrie<String> trie = new SuggestionTrie<>();
+        trie.insert("whey", "whey", 1);
+        int single = trie.getNodeCount();
+        trie.insert("whey isolate", "whey isolate", 2);
+        trie.insert("whey concentrate", "whey concentrate", 3);
+        trie.insert("water", "water", 4);
+
+        trie.remove("whey isolate", "whey isolate");
+        trie.remove("whey concentrate", "whey concentrate");
+        trie.remove("water", "water");
+
+        assertThat(trie.getKeyCount()).isEqualTo(1);
+        assertThat(trie.getNodeCount()).isEqualTo(single);
+        List<String> left = new ArrayList<>();
+        trie.visitByWeight("w", (value, weight) -> left.add(value));
+        assertThat(left).containsExactly("whey");
+
+        trie.remove("whey", "whey");
+        assertThat(trie.getKeyCount()).isZero();
+        assertThat(trie.getNodeCount()).isEqualTo(1);
+    }
+
+    @Test
+    void removeKeepsSubtreeWeightsCurrent() {
+        SuggestionTrie<String> trie = new SuggestionTrie<>();
+        trie.insert("creatine", "creatine", 10);
+        trie.insert("creatine hcl", "creatine hcl", 50);
+        trie.insert("casein", "casein", 20);
+        trie.remove("creatine hcl", "creatine hcl");
+
+        List<String> order = new ArrayList<>();
+        trie.visitByWeight("c", (value, weight) -> order.add(value));
+        assertThat(order).containsExactly("casein", "creatine");
+    }
+
+    private static String randomKey(Random random) {
+        StringBuilder key = new StringBuilder();
+        int length = 1 + random.nextInt(8);
+        for (int i = 0; i < length; i++) {
+            key.append((char) ('a' + random.nextInt(3)));
+        }
+        return key.toString();
+    }
+}
@@ -0,0 +1,25 @@
+package com.sportcore.service;
+
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogVersionTest {
+
+    @Test
+    void everyChangeMovesLastModifiedEvenWithinOneSecond() {
+        CatalogVersion catalogVersion = new CatalogVersion();
+        Instant previous = catalogVersion.getLastModified();
+        for (int i = 0; i < 5; i++) {
+            String tag = catalogVersion.getTag();
+            catalogVersion.increment();
+
+            assertThat(catalogVersion.getLastModified()).isAfter(previous);
+            assertThat(catalogVersion.getLastModified().getNano()).isZero();
+            assertThat(catalogVersion.getTag()).isNotEqualTo(tag);
+            previous = catalogVersion.getLastModified();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.sportcore.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.sportcore.entity.Order;
+import com.sportcore.entity.OrderItem;
+import com.sportcore.entity.ShippingAddress;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The writer waits long enough here that orders submitted back to back share one batch
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:order-batch-writer-test",
+        "app.orders.batch.max-wait-ms=500"
+})
+@ActiveProfiles("test")
+class OrderBatchWriterTest {
+
+    @Autowired
+    private OrderBatchWriter orderBatchWriter;
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void orderFailingAtFlushOnlyFailsItself() throws Exception {
+        submit("SC-BATCH-1").get(10, TimeUnit.SECONDS);
+
+        // The second order reuses a stored order number, so the batch's flush hits the unique constraint
+        CompletableFuture<Order> first = submit("SC-BATCH-2");
+        CompletableFuture<Order> clash = submit("SC-BATCH-1");
+        CompletableFuture<Order> third = submit("SC-BATCH-3");
+
+        assertThat(first.get(10, TimeUnit.SECONDS).getId()).isNotNull();
+        assertThat(third.get(10, TimeUnit.SECONDS).getId()).isNotNull();
+        assertThat(clash).failsWithin(10, TimeUnit.SECONDS);
+        assertThat(orderNumbers()).containsExactlyInAnyOrder("SC-BATCH-1", "SC-BATCH-2", "SC-BATCH-3");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM order_items", Integer.class)).isEqualTo(3);
+    }
+
+    private CompletableFuture<Order> submit(String orderNumber) {
+        Long reservationId = stockReservationService.reserve(1L, 1).getId();
+        Order order = new Order();
+        order.setOrderNumber(orderNumber);
+        order.setShippingAddress(address());
+        order.setSubtotal(new BigDecimal("10.00"));
+        order.setShipping(new BigDecimal("9.99"));
+        order.setTax(new BigDecimal("0.80"));
+        order.setTotal(new BigDecimal("20.79"));
+        order.setEstimatedDelivery(LocalDateTime.now().plusDays(5));
+        order.addItem(new OrderItem(1L, 1, new BigDecimal("10.00"), reservationId));
+        return orderBatchWriter.submit(order, List.of(reservationId));
+    }
+
+    private static ShippingAddress address() {
+        ShippingAddress address = new ShippingAddress();
+        address.setFirstName("Ana");
+        address.setLastName("Ruiz");
+        address.setEmail("ana@example.com");
+        address.setPhone("555-0100");
+        address.setAddress("1 Main St");
+        address.setCity("Springfield");
+        address.setState("IL");
+        address.setZipCode("62701");
+        address.setCountry("US");
+        return address;
+    }
+
+    private List<String> orderNumbers() {
+        return jdbcTemplate.queryForList("SELECT order_number FROM orders", String.class);
+    }
+}
@@ -0,0 +1,174 @@
+package com.sportcore.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.sportcore.dto.CreateOrderRequestDto;
+import com.sportcore.dto.OrderItemDto;
+import com.sportcore.dto.PaymentInfoDto;
+import com.sportcore.dto.ShippingAddressDto;
+import com.sportcore.exception.ConflictException;
+import com.sportcore.repository.StockRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Checkout under contention: far more units are ordered than exist, some requests are retried with their
+// idempotency key, and the units in stored orders plus the units left must still equal the starting stock
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:order-service-test")
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class OrderServiceTest {
+
+    private static final int STARTING_STOCK = 150;
+    private static final int THREADS = 16;
+    private static final int ORDERS_PER_THREAD = 25;
+    private static final BigDecimal PRICE = new BigDecimal("30.00");
+
+    private static final long DATABASE_PRODUCT = 1000L;
+    private static final long HOT_PRODUCT = 1001L;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private HotStockCounters hotStockCounters;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private ExecutorService executor;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("INSERT INTO products (id, name, description, price, stock, brand, flavor, category_id, "
+                + "version, created_at, updated_at) "
+                + "SELECT 999 + X, 'Launch Day Pre-Workout ' || X, 'Limited run', " + PRICE + ", " + STARTING_STOCK
+                + ", 'Flashlab', 'Citrus', 3, 0, NOW(), NOW() FROM SYSTEM_RANGE(1, 2)");
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterAll
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void ordersAgainstTheTableNeverOversell() throws Exception {
+        int ordered = placeConcurrently(DATABASE_PRODUCT);
+
+        assertThat(ordered).isPositive();
+        assertThat(orderedInTable(DATABASE_PRODUCT)).isEqualTo(ordered);
+        assertThat(ordered + stockRepository.findStock(DATABASE_PRODUCT)).isEqualTo(STARTING_STOCK);
+        assertThat(heldInTable(DATABASE_PRODUCT)).isZero();
+    }
+
+    @Test
+    void ordersAgainstAHotCounterNeverOversell() throws Exception {
+        hotStockCounters.enable(HOT_PRODUCT);
+        int ordered = placeConcurrently(HOT_PRODUCT);
+        hotStockCounters.disable(HOT_PRODUCT);
+
+        assertThat(ordered).isPositive();
+        assertThat(orderedInTable(HOT_PRODUCT)).isEqualTo(ordered);
+        assertThat(ordered + stockRepository.findStock(HOT_PRODUCT)).isEqualTo(STARTING_STOCK);
+        assertThat(heldInTable(HOT_PRODUCT)).isZero();
+    }
+
+    // Returns the units in orders that were placed, counting each replayed request once
+    private int placeConcurrently(long productId) throws Exception {
+        List<Callable<Integer>> buyers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int buyer = t;
+            buyers.add(() -> {
+                int ordered = 0;
+                for (int i = 0; i < ORDERS_PER_THREAD; i++) {
+                    CreateOrderRequestDto request = request(productId, (buyer + i) % 3 + 1);
+                    String key = UUID.randomUUID().toString();
+                    try {
+                        OrderPlacement placed = orderService.placeOrder(request, 1000L + buyer, key);
+                        ordered += request.getItems().get(0).getQuantity();
+                        assertThat(placed.isReplayed()).isFalse();
+                        // A client retry after a lost response must not take stock again
+                        if (i % 5 == 0) {
+                            assertThat(orderService.placeOrder(request, 1000L + buyer, key).isReplayed()).isTrue();
+                        }
+                    } catch (ConflictException e) {
+                        // Sold out for this quantity
+                    }
+                }
+                return ordered;
+            });
+        }
+        int ordered = 0;
+        for (Future<Integer> result : executor.invokeAll(buyers)) {
+            ordered += result.get();
+        }
+        return ordered;
+    }
+
+    // Totals follow the default shipping and tax settings
+    private static CreateOrderRequestDto request(long productId, int quantity) {
+        OrderItemDto item = new OrderItemDto();
+        item.setProductId(productId);
+        item.setQuantity(quantity);
+        item.setPrice(PRICE);
+
+        BigDecimal subtotal = PRICE.multiply(BigDecimal.valueOf(quantity)).setScale(2, RoundingMode.HALF_UP);
+        BigDecimal shipping = subtotal.compareTo(new BigDecimal("50")) >= 0 ? new BigDecimal("0.00") : new BigDecimal("9.99");
+        BigDecimal tax = subtotal.multiply(new BigDecimal("0.08")).setScale(2, RoundingMode.HALF_UP);
+
+        ShippingAddressDto address = new ShippingAddressDto();
+        address.setFirstName("Ana");
+        address.setLastName("Ruiz");
+        address.setEmail("ana@example.com");
+        address.setAddress("1 Main St");
+        address.setCity("Springfield");
+        address.setZipCode("62701");
+        address.setCountry("US");
+
+        PaymentInfoDto payment = new PaymentInfoDto();
+        payment.setCardNumber("4242 4242 4242 4242");
+        payment.setExpiryDate("12/30");
+        payment.setCvv("123");
+        payment.setCardholderName("Ana Ruiz");
+
+        CreateOrderRequestDto request = new CreateOrderRequestDto();
+        request.setItems(List.of(item));
+        request.setShippingAddress(address);
+        request.setPaymentInfo(payment);
+        request.setSubtotal(subtotal);
+        request.setShipping(shipping);
+        request.setTax(tax);
+        request.setTotal(subtotal.add(shipping).add(tax));
+        return request;
+    }
+
+    private int orderedInTable(long productId) {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(SUM(quantity), 0) FROM order_items WHERE product_id = ?",
+                Integer.class, productId);
+    }
+
+    private int heldInTable(long productId) {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(SUM(quantity), 0) FROM stock_reservations "
+                + "WHERE product_id = ? AND status = 'HELD'", Integer.class, productId);
+    }
+}
@@ -0,0 +1,105 @@
+package com.sportcore.service;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Exports a million products and checks the heap does not grow with the number of rows written: the rows are
+// read through a forward-only cursor and each product is written out as soon as its last image row is seen
+// The insert and the export each hold a connection longer than the pool's leak-detection threshold
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:export-test",
+        "spring.datasource.hikari.leak-detection-threshold=0"
+})
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ProductExportServiceTest {
+
+    private static final int PRODUCTS = 1_000_000;
+
+    private static final long MAX_HEAP_GROWTH = 64L * 1024 * 1024;
+
+    @Autowired
+    private ProductExportService productExportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long seededProducts;
+
+    @BeforeAll
+    void insertCatalog() {
+        seededProducts = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM products", Long.class);
+        jdbcTemplate.update("INSERT INTO products (id, name, description, price, stock, brand, flavor, category_id, "
+                + "version, created_at, updated_at) "
+                + "SELECT 1000 + X, 'Product ' || X, 'Description of product ' || X, 10 + MOD(X, 90), MOD(X, 100), "
+                + "'Brand ' || MOD(X, 50), 'Flavor ' || MOD(X, 7), 1 + MOD(X, 6), 0, NOW(), NOW() "
+                + "FROM SYSTEM_RANGE(1, " + PRODUCTS + ")");
+        // Every tenth product gets two images, so product boundaries fall inside and between image groups
+        jdbcTemplate.update("INSERT INTO product_images (id, product_id, url, alt_text, is_primary, created_at, updated_at) "
+                + "SELECT 1000 + X, 1000 + ((X + 1) / 2) * 10, 'https://cdn.example.com/' || X || '.jpg', 'Image ' || X, "
+                + "MOD(X, 2) = 0, NOW(), NOW() FROM SYSTEM_RANGE(1, " + (PRODUCTS / 5 - 1) + ")");
+    }
+
+    @Test
+    void exportsEveryProductInBoundedHeap() throws Exception {
+        HeapProbe out = new HeapProbe(PRODUCTS / 10);
+
+        long written = productExportService.exportProducts(out, ProductExportService.Format.NDJSON);
+
+        assertThat(written).isEqualTo(seededProducts + PRODUCTS);
+        assertThat(out.lines).isEqualTo(written);
+        assertThat(out.baseline).isPositive();
+        assertThat(out.peak - out.baseline)
+                .as("heap growth between product %d and the end of the export", PRODUCTS / 10)
+                .isLessThan(MAX_HEAP_GROWTH);
+    }
+
+    // Counts NDJSON lines and samples the used heap after a collection every sampleEvery products, so the
+    // figures reflect what the export keeps alive rather than garbage waiting to be collected
+    private static class HeapProbe extends OutputStream {
+
+        private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        private final long sampleEvery;
+        private long lines;
+        private long baseline;
+        private long peak;
+
+        HeapProbe(long sampleEvery) {
+            this.sampleEvery = sampleEvery;
+        }
+
+        @Override
+        public void write(int b) {
+            if (b == '\n' && ++lines % sampleEvery == 0) {
+                sample();
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                write(b[i]);
+            }
+        }
+
+        private void sample() {
+            System.gc();
+            long used = memory.getHeapMemoryUsage().getUsed();
+            if (baseline == 0) {
+                baseline = used;
+            }
+            peak = Math.max(peak, used);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.sportcore.service;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.sportcore.dto.BulkImportErrorDto;
+import com.sportcore.dto.BulkImportResultDto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:product-import-test")
+@ActiveProfiles("test")
+class ProductImportServiceTest {
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void rowFailingAtFlushOnlyFailsItself() throws Exception {
+        // Passes validation and the duplicate checks, so only the insert can reject it
+        jdbcTemplate.execute("ALTER TABLE products ADD CONSTRAINT import_test_check CHECK (name <> 'Flush Breaker')");
+        String csv = """
+                name,price,stock,categoryId
+                Import Row One,10.00,5,1
+                Flush Breaker,11.00,5,1
+                Import Row Three,12.00,5,1
+                Import Row One,13.00,5,1
+                X,14.00,5,1
+                """;
+
+        BulkImportResultDto result = productImportService.importProducts(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), ProductImportReader.Format.CSV);
+
+        assertThat(result.getReceived()).isEqualTo(5);
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(3);
+        assertThat(result.getErrors()).extracting(BulkImportErrorDto::getLine).containsExactly(3L, 5L, 6L);
+        assertThat(result.getErrors().get(0).getMessage()).startsWith("Rejected by the database: ");
+        assertThat(result.getErrors().get(1).getMessage()).isEqualTo("Product with name 'Import Row One' already exists");
+        assertThat(result.getErrors().get(2).getMessage()).contains("between 2 and 200 characters");
+        assertThat(jdbcTemplate.queryForList("SELECT name FROM products WHERE name LIKE 'Import Row %'", String.class))
+                .containsExactlyInAnyOrder("Import Row One", "Import Row Three");
+    }
+}
@@ -0,0 +1,154 @@
+package com.sportcore.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.sportcore.dto.StockReservationDto;
+import com.sportcore.exception.ConflictException;
+import com.sportcore.repository.StockRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Many threads reserve more units than exist; whatever interleaving they hit, units held plus units left
+// must add up to the starting stock, both against products.stock and through a hot counter
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:stock-reservation-test")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class StockReservationServiceTest {
+
+    private static final int STARTING_STOCK = 200;
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 40;
+
+    private static final long DATABASE_PRODUCT = 1000L;
+    private static final long HOT_PRODUCT = 1001L;
+    private static final long ROLLBACK_PRODUCT = 1002L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    @Autowired
+    private StockRepository stockRepository;
+
+    @Autowired
+    private HotStockCounters hotStockCounters;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ExecutorService executor;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("INSERT INTO products (id, name, description, price, stock, brand, flavor, category_id, "
+                + "version, created_at, updated_at) "
+                + "SELECT 999 + X, 'Flash Sale Whey ' || X, 'Limited run', 30, " + STARTING_STOCK + ", 'Flashlab', "
+                + "'Vanilla', 1, 0, NOW(), NOW() FROM SYSTEM_RANGE(1, 3)");
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterAll
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void databaseReservationsNeverOversell() throws Exception {
+        int held = reserveConcurrently(DATABASE_PRODUCT);
+
+        assertThat(held).isPositive();
+        assertThat(held + stockRepository.findStock(DATABASE_PRODUCT)).isEqualTo(STARTING_STOCK);
+        assertThat(heldInTable(DATABASE_PRODUCT)).isEqualTo(held);
+    }
+
+    @Test
+    void hotCounterReservationsNeverOversell() throws Exception {
+        mockMvc.perform(put("/admin/stock/hot/" + HOT_PRODUCT)).andExpect(status().isOk());
+        int held = reserveConcurrently(HOT_PRODUCT);
+        int inCounter = hotStockCounters.get(HOT_PRODUCT).getHeldUnits();
+
+        assertThat(held + inCounter + stockRepository.findStock(HOT_PRODUCT)).isEqualTo(STARTING_STOCK);
+
+        // Closing the counter hands its unsold units back to the table
+        mockMvc.perform(delete("/admin/stock/hot/" + HOT_PRODUCT)).andExpect(status().isNoContent());
+        assertThat(held).isPositive();
+        assertThat(held + stockRepository.findStock(HOT_PRODUCT)).isEqualTo(STARTING_STOCK);
+        assertThat(heldInTable(HOT_PRODUCT)).isEqualTo(held);
+    }
+
+    @Test
+    void releaseThatRollsBackLeavesTheHotCounterAlone() throws Exception {
+        mockMvc.perform(put("/admin/stock/hot/" + ROLLBACK_PRODUCT)).andExpect(status().isOk());
+        StockReservationDto reservation = stockReservationService.reserve(ROLLBACK_PRODUCT, 10);
+        int inCounter = hotStockCounters.get(ROLLBACK_PRODUCT).getHeldUnits();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            stockReservationService.release(reservation.getId());
+            status.setRollbackOnly();
+        });
+        assertThat(hotStockCounters.get(ROLLBACK_PRODUCT).getHeldUnits()).isEqualTo(inCounter);
+
+        stockReservationService.release(reservation.getId());
+        assertThat(hotStockCounters.get(ROLLBACK_PRODUCT).getHeldUnits()).isEqualTo(inCounter + 10);
+
+        mockMvc.perform(delete("/admin/stock/hot/" + ROLLBACK_PRODUCT)).andExpect(status().isNoContent());
+        assertThat(stockRepository.findStock(ROLLBACK_PRODUCT)).isEqualTo(STARTING_STOCK);
+    }
+
+    // Demand is several times the stock, so the product sells out partway through
+    private int reserveConcurrently(long productId) throws Exception {
+        List<Callable<Integer>> buyers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int buyer = t;
+            buyers.add(() -> {
+                int held = 0;
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    int quantity = (buyer + i) % 3 + 1;
+                    try {
+                        held += stockReservationService.reserve(productId, quantity).getQuantity();
+                    } catch (ConflictException e) {
+                        // Out of stock for this quantity
+                    }
+                }
+                return held;
+            });
+        }
+        int held = 0;
+        for (Future<Integer> result : executor.invokeAll(buyers)) {
+            held += result.get();
+        }
+        return held;
+    }
+
+    private int heldInTable(long productId) {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(SUM(quantity), 0) FROM stock_reservations "
+                + "WHERE product_id = ? AND status = 'HELD'", Integer.class, productId);
+    }
+}
@@ -1,5 +1,5 @@
 import React, { createContext, useContext, useReducer, useEffect, ReactNode } from 'react';
-import { ProductDto } from '../services/productApiService';
+import { imageUrl, ProductDto } from '../services/productApiService';
 
 // Cart Item interface
 export interface CartItem {
@@ -154,7 +154,7 @@ export const CartProvider: React.FC<CartProviderProps> = ({ children }) => {
         id: product.id!,
         name: product.name,
         price: product.price,
-        image: product.images?.[0]?.url,
+        image: imageUrl(product.images?.[0], 'thumbnail'),
         brand: product.brand,
         flavor: product.flavor,
         quantity,
@@ -37,12 +37,16 @@ const AddProduct: React.FC = () => {
         categoryId: parseInt(data.category),
         brand: data.brand,
         flavor: data.flavor || undefined,
-        // Note: Images would need to be uploaded separately in a real implementation
         images: []
       };
 
       // Call the real API
       const createdProduct = await productApiService.createProduct(productData);
+
+      // Images are uploaded one by one once the product exists; the first one becomes the primary image
+      for (const [index, file] of data.images.entries()) {
+        await productApiService.uploadProductImage(createdProduct.id!, file, data.name, index === 0);
+      }
       
       console.log('Product created successfully:', createdProduct);
       
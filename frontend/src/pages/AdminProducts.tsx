@@ -2,7 +2,7 @@ import React, { useEffect, useState } from 'react';
 import { useTranslation } from 'react-i18next';
 import { FaArrowLeft, FaEdit, FaEye, FaPlus, FaTrash } from 'react-icons/fa';
 import { Link } from 'react-router-dom';
-import { productApiService, ProductDto } from '../services/productApiService';
+import { imageUrl, productApiService, ProductDto } from '../services/productApiService';
 
 const AdminProducts: React.FC = () => {
   const { t } = useTranslation();
@@ -124,7 +124,7 @@ const AdminProducts: React.FC = () => {
                 <div className="h-48 bg-gradient-to-br from-gray-100 to-gray-200 flex items-center justify-center relative overflow-hidden">
                   {product.images?.[0]?.url ? (
                     <img 
-                      src={product.images[0].url} 
+                      src={imageUrl(product.images[0], 'card')} 
                       alt={product.name}
                       className="w-full h-full object-cover group-hover:scale-110 transition-transform duration-700 ease-out"
                     />
@@ -1,4 +1,4 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useRef } from 'react';
 import { useTranslation } from 'react-i18next';
 import { useNavigate } from 'react-router-dom';
 import { FaArrowLeft, FaCheck, FaCreditCard, FaTruck } from 'react-icons/fa';
@@ -20,6 +20,8 @@ const Checkout: React.FC = () => {
   const [paymentData, setPaymentData] = useState<PaymentInfo | null>(null);
   const [isLoading, setIsLoading] = useState(false);
   const [error, setError] = useState<string | null>(null);
+  // Kept across retries of the same order so a resent request cannot place it twice; new details get a new key
+  const idempotencyKey = useRef<string>(crypto.randomUUID());
 
   // Redirect if cart is empty
   useEffect(() => {
@@ -30,6 +32,7 @@ const Checkout: React.FC = () => {
 
   const handleShippingSubmit = (data: ShippingAddress) => {
     setShippingData(data);
+    idempotencyKey.current = crypto.randomUUID();
     setCurrentStep('payment');
   };
 
@@ -47,6 +50,7 @@ const Checkout: React.FC = () => {
       }
 
       setPaymentData(data);
+      idempotencyKey.current = crypto.randomUUID();
       setCurrentStep('review');
     } catch (err) {
       setError(t('checkout.paymentValidationError'));
@@ -80,7 +84,7 @@ const Checkout: React.FC = () => {
         total
       };
 
-      const order = await orderApiService.createOrder(orderData);
+      const order = await orderApiService.createOrder(orderData, idempotencyKey.current);
       
       // Clear cart and redirect to confirmation
       clearCart();
@@ -6,7 +6,7 @@ import { useNavigate } from 'react-router-dom';
 import ProductCard from '../components/molecules/ProductCard';
 import SearchBar from '../components/molecules/SearchBar';
 import { useCart } from '../contexts/CartContext';
-import { categoryApiService, CategoryDto, productApiService, ProductDto } from '../services/productApiService';
+import { categoryApiService, CategoryDto, imageUrl, productApiService, ProductDto } from '../services/productApiService';
 
 const Home: React.FC = () => {
   const { t } = useTranslation();
@@ -125,7 +125,7 @@ const Home: React.FC = () => {
                   name={product.name}
                   description={product.description || ''}
                   price={product.price}
-                  image={product.images?.[0]?.url}
+                  image={imageUrl(product.images?.[0], 'card')}
                   onAddToCart={handleAddToCart}
                   onViewDetails={handleViewDetails}
                 />
@@ -185,7 +185,7 @@ const Home: React.FC = () => {
                   name={product.name}
                   description={product.description || ''}
                   price={product.price}
-                  image={product.images?.[0]?.url}
+                  image={imageUrl(product.images?.[0], 'card')}
                   onAddToCart={handleAddToCart}
                   onViewDetails={handleViewDetails}
                 />
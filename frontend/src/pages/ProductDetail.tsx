@@ -6,7 +6,7 @@ import LazyImage from '../components/atoms/LazyImage';
 import ThumbnailGallery from '../components/molecules/ThumbnailGallery';
 import ImageGallery from '../components/organisms/ImageGallery';
 import { useCart } from '../contexts/CartContext';
-import { productApiService, ProductDto } from '../services/productApiService';
+import { imageUrl, productApiService, ProductDto } from '../services/productApiService';
 
 const ProductDetail: React.FC = () => {
   const { id } = useParams<{ id: string }>();
@@ -42,6 +42,20 @@ const ProductDetail: React.FC = () => {
     fetchProduct();
   }, [id]);
 
+  useEffect(() => {
+    if (!id) return;
+
+    return productApiService.subscribeToProductChanges([parseInt(id)], (delta) => {
+      setProduct(current => current && current.id === delta.id && !delta.deleted
+        ? {
+            ...current,
+            price: delta.price ?? current.price,
+            stock: delta.stock ?? current.stock,
+          }
+        : current);
+    });
+  }, [id]);
+
   const handleAddToCart = async () => {
     if (!product) return;
     
@@ -132,8 +146,8 @@ const ProductDetail: React.FC = () => {
     );
   }
 
-  const primaryImage = product.images?.[0]?.url || 'https://images.unsplash.com/photo-1593095948071-474c5cc2989d?w=800&h=600&fit=crop';
-  const allImages = product.images?.map(img => img.url) || [primaryImage];
+  const primaryImage = imageUrl(product.images?.[0], 'detail') || 'https://images.unsplash.com/photo-1593095948071-474c5cc2989d?w=800&h=600&fit=crop';
+  const allImages = product.images?.map(img => imageUrl(img, 'detail')!) || [primaryImage];
 
   return (
     <div className="min-h-screen bg-gray-50 py-8">
@@ -1,7 +1,7 @@
 import React, { useState, useEffect } from 'react';
 import { useTranslation } from 'react-i18next';
 import { FaFilter, FaSort, FaSearch, FaTh, FaList, FaTimes } from 'react-icons/fa';
-import { productApiService, ProductDto, PaginatedResponse } from '../services/productApiService';
+import { imageUrl, productApiService, ProductDto, PaginatedResponse } from '../services/productApiService';
 import { categoryApiService, CategoryDto } from '../services/categoryApiService';
 import ProductCard from '../components/molecules/ProductCard';
 import Pagination from '../components/molecules/Pagination';
@@ -336,7 +336,7 @@ const Products: React.FC = () => {
                 name={product.name}
                 description={product.description || ''}
                 price={product.price}
-                image={product.images?.[0]?.url}
+                image={imageUrl(product.images?.[0], 'card')}
                 onAddToCart={handleAddToCart}
                 onViewDetails={handleViewDetails}
                 viewMode={viewMode}
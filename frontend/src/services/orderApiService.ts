@@ -55,9 +55,11 @@ export interface OrderResponse {
 
 export const orderApiService = {
   // Create a new order
-  createOrder: async (orderData: CreateOrderRequest): Promise<OrderResponse> => {
+  createOrder: async (orderData: CreateOrderRequest, idempotencyKey?: string): Promise<OrderResponse> => {
     try {
-      const response = await axios.post(`${API_BASE_URL}/orders`, orderData);
+      const response = await axios.post(`${API_BASE_URL}/orders`, orderData, {
+        headers: idempotencyKey ? { 'Idempotency-Key': idempotencyKey } : undefined
+      });
       return response.data;
     } catch (error) {
       console.error('Error creating order:', error);
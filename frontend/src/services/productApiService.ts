@@ -12,14 +12,29 @@ export interface ProductDto {
   brand: string;
   flavor?: string;
   images?: ProductImageDto[];
+  // Returned on reads; PUT /products/{id} requires the version the edit was based on
+  version?: number;
 }
 
 export interface ProductImageDto {
   id?: number;
   url: string;
   altText?: string;
+  isPrimary?: boolean;
+  // Resized copies of uploaded images, filled in once the server has generated them
+  thumbnailUrl?: string;
+  cardUrl?: string;
+  detailUrl?: string;
 }
 
+export type ImageVariant = 'thumbnail' | 'card' | 'detail';
+
+// Picks the requested variant when the server has one, else the original; uploaded images have server-relative urls
+export const imageUrl = (image: ProductImageDto | undefined, variant: ImageVariant): string | undefined => {
+  const url = image?.[`${variant}Url` as const] || image?.url;
+  return url?.startsWith('/') ? `${API_BASE_URL}${url}` : url;
+};
+
 export interface CategoryDto {
   id: number;
   name: string;
@@ -38,6 +53,15 @@ export interface PaginatedResponse<T> {
   empty: boolean;
 }
 
+// Live feed entry: only the fields that changed are present
+export interface ProductDeltaDto {
+  id: number;
+  price?: number;
+  stock?: number;
+  categoryId?: number;
+  deleted?: boolean;
+}
+
 export interface PaginationParams {
   page?: number;
   size?: number;
@@ -80,6 +104,17 @@ export const productApiService = {
     return response.data;
   },
 
+  uploadProductImage: async (productId: number, file: File, altText?: string, primary = false): Promise<ProductImageDto> => {
+    const form = new FormData();
+    form.append('file', file);
+    if (altText) {
+      form.append('altText', altText);
+    }
+    form.append('primary', String(primary));
+    const response = await axios.post(`${API_BASE_URL}/products/${productId}/images`, form);
+    return response.data;
+  },
+
   deleteProduct: async (id: number): Promise<void> => {
     await axios.delete(`${API_BASE_URL}/products/${id}`);
   },
@@ -97,6 +132,17 @@ export const productApiService = {
   getProductsByCategory: async (categoryId: number): Promise<ProductDto[]> => {
     const response = await axios.get(`${API_BASE_URL}/products/category/${categoryId}`);
     return response.data;
+  },
+
+  // Price and stock changes pushed by the server; EventSource reconnects by itself. Returns the unsubscribe function.
+  subscribeToProductChanges: (ids: number[], onChange: (delta: ProductDeltaDto) => void): (() => void) => {
+    const source = new EventSource(`${API_BASE_URL}/products/stream?ids=${ids.join(',')}`);
+    const handle = (event: MessageEvent) => {
+      (JSON.parse(event.data) as ProductDeltaDto[]).forEach(onChange);
+    };
+    source.addEventListener('snapshot', handle as EventListener);
+    source.addEventListener('delta', handle as EventListener);
+    return () => source.close();
   }
 };
 
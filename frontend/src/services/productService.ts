@@ -10,6 +10,7 @@ export interface Product {
   brand?: string;
   flavor?: string;
   images?: ProductImage[];
+  version?: number;
 }
 
 export interface ProductImage {
@@ -85,8 +86,8 @@ export const productService = {
     return response.data;
   },
 
-  // Update product
-  updateProduct: async (id: number, product: CreateProductDto): Promise<Product> => {
+  // Update product; version is the one read with the product, a stale one gets 409
+  updateProduct: async (id: number, product: CreateProductDto & { version: number }): Promise<Product> => {
     const response = await api.put(`/products/${id}`, product);
     return response.data;
   },